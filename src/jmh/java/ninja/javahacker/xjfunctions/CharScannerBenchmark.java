@@ -0,0 +1,94 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CharScanner} over a megabyte of log-like text, with a
+ * composed lambda predicate and with the same predicate materialized as a
+ * {@link CharClass}, against a hand-written loop.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CharScannerBenchmark {
+
+    private static final String LINE = "2024-01-01T00:00:00.000Z INFO [main] request handled in 12 ms, status=200\n";
+
+    private final char[] text;
+    private final String string;
+
+    private final CharPredicate lambda = ((CharPredicate) c -> c == ' ')
+            .or(c -> c == '\t')
+            .or(c -> c == ',')
+            .or(c -> c == '=');
+    private final CharClass table = CharClass.of(lambda);
+    private final CharPredicate notFound = ((CharPredicate) c -> c == '#').or(c -> c == '!');
+    private final CharClass notFoundTable = CharClass.of(notFound);
+
+    public CharScannerBenchmark() {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 1 << 20) {
+            sb.append(LINE);
+        }
+        string = sb.toString();
+        text = string.toCharArray();
+    }
+
+    @Benchmark
+    public int countLoop() {
+        int count = 0;
+        for (char c : text) {
+            if (lambda.test(c)) count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countLambda() {
+        return CharScanner.count(text, lambda);
+    }
+
+    @Benchmark
+    public int countTable() {
+        return CharScanner.count(text, table);
+    }
+
+    @Benchmark
+    public int countTableString() {
+        return CharScanner.count(string, table);
+    }
+
+    @Benchmark
+    public int indexOfLambda() {
+        return CharScanner.indexOf(text, notFound);
+    }
+
+    @Benchmark
+    public int indexOfTable() {
+        return CharScanner.indexOf(text, notFoundTable);
+    }
+
+    @Benchmark
+    public List<String> splitLambda() {
+        return CharScanner.split(text, lambda);
+    }
+
+    @Benchmark
+    public List<String> splitTable() {
+        return CharScanner.split(text, table);
+    }
+}
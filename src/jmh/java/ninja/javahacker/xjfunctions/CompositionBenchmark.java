@@ -0,0 +1,239 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@code andThen}/{@code compose}/{@code and}/{@code or}/{@code negate}
+ * chains, called directly and through {@code unchecked()}, against equivalent
+ * chains built with {@link java.util.function}.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompositionBenchmark {
+
+    private String text = "benchmark";
+    private int intValue = 42;
+    private long longValue = 42L;
+    private double doubleValue = 42.0;
+    private char charValue = 'x';
+    private int sink;
+
+    private final Function<String, String> trim = String::trim;
+    private final Function<Integer, Integer> twice = x -> x * 2;
+
+    private final Function<String, Integer> functionBaseline = trim.andThen(String::length).andThen(twice);
+    private final XFunction<String, Integer> functionChain =
+            ((XFunction<String, Integer>) String::length).compose(trim).andThen(twice);
+    private final Function<String, Integer> functionChainUnchecked = functionChain.unchecked();
+
+    private final BiFunction<String, String, Integer> biFunctionBaseline =
+            ((BiFunction<String, String, String>) String::concat).andThen(String::length);
+    private final XBiFunction<String, String, Integer> biFunctionChain =
+            ((XBiFunction<String, String, String>) String::concat).andThen(String::length);
+    private final BiFunction<String, String, Integer> biFunctionChainUnchecked = biFunctionChain.unchecked();
+
+    private final Predicate<String> predicateBaseline =
+            ((Predicate<String>) String::isEmpty).negate().and(s -> s.length() > 3).or(s -> s.startsWith("b"));
+    private final XPredicate<String> predicateChain =
+            ((XPredicate<String>) String::isEmpty).negate().and(s -> s.length() > 3).or(s -> s.startsWith("b"));
+    private final Predicate<String> predicateChainUnchecked = predicateChain.unchecked();
+
+    private final BiPredicate<String, String> biPredicateBaseline =
+            ((BiPredicate<String, String>) String::startsWith).negate().and((a, b) -> a.length() > 3).or(String::endsWith);
+    private final XBiPredicate<String, String> biPredicateChain =
+            ((XBiPredicate<String, String>) String::startsWith).negate().and((a, b) -> a.length() > 3).or(String::endsWith);
+    private final BiPredicate<String, String> biPredicateChainUnchecked = biPredicateChain.unchecked();
+
+    private final IntPredicate intPredicateBaseline = ((IntPredicate) v -> v > 0).negate().and(v -> v < 100).or(v -> v == 42);
+    private final XIntPredicate intPredicateChain = ((XIntPredicate) v -> v > 0).negate().and(v -> v < 100).or(v -> v == 42);
+    private final IntPredicate intPredicateChainUnchecked = intPredicateChain.unchecked();
+
+    private final LongPredicate longPredicateBaseline = ((LongPredicate) v -> v > 0).negate().and(v -> v < 100).or(v -> v == 42);
+    private final XLongPredicate longPredicateChain = ((XLongPredicate) v -> v > 0).negate().and(v -> v < 100).or(v -> v == 42);
+    private final LongPredicate longPredicateChainUnchecked = longPredicateChain.unchecked();
+
+    private final DoublePredicate doublePredicateBaseline =
+            ((DoublePredicate) v -> v > 0).negate().and(v -> v < 100).or(v -> v == 42);
+    private final XDoublePredicate doublePredicateChain = ((XDoublePredicate) v -> v > 0).negate().and(v -> v < 100).or(v -> v == 42);
+    private final DoublePredicate doublePredicateChainUnchecked = doublePredicateChain.unchecked();
+
+    private final CharPredicate charPredicateBaseline =
+            ((CharPredicate) Character::isDigit).negate().and(Character::isLetter).or(c -> c == '_');
+    private final XCharPredicate charPredicateChain =
+            ((XCharPredicate) Character::isDigit).negate().and(Character::isLetter).or(c -> c == '_');
+    private final CharPredicate charPredicateChainUnchecked = charPredicateChain.unchecked();
+
+    private final XConsumer<String> consumerChain =
+            ((XConsumer<String>) s -> sink += s.length()).andThen(s -> sink ^= s.hashCode());
+    private final Consumer<String> consumerChainUnchecked = consumerChain.unchecked();
+
+    private final XIntConsumer intConsumerChain = ((XIntConsumer) v -> sink += v).andThen(v -> sink ^= v);
+    private final IntConsumer intConsumerChainUnchecked = intConsumerChain.unchecked();
+
+    @Benchmark
+    public Integer functionBaseline() {
+        return functionBaseline.apply(text);
+    }
+
+    @Benchmark
+    public Integer functionChain() throws Throwable {
+        return functionChain.apply(text);
+    }
+
+    @Benchmark
+    public Integer functionChainUnchecked() {
+        return functionChainUnchecked.apply(text);
+    }
+
+    @Benchmark
+    public Integer biFunctionBaseline() {
+        return biFunctionBaseline.apply(text, text);
+    }
+
+    @Benchmark
+    public Integer biFunctionChain() throws Throwable {
+        return biFunctionChain.apply(text, text);
+    }
+
+    @Benchmark
+    public Integer biFunctionChainUnchecked() {
+        return biFunctionChainUnchecked.apply(text, text);
+    }
+
+    @Benchmark
+    public boolean predicateBaseline() {
+        return predicateBaseline.test(text);
+    }
+
+    @Benchmark
+    public boolean predicateChain() throws Throwable {
+        return predicateChain.test(text);
+    }
+
+    @Benchmark
+    public boolean predicateChainUnchecked() {
+        return predicateChainUnchecked.test(text);
+    }
+
+    @Benchmark
+    public boolean biPredicateBaseline() {
+        return biPredicateBaseline.test(text, text);
+    }
+
+    @Benchmark
+    public boolean biPredicateChain() throws Throwable {
+        return biPredicateChain.test(text, text);
+    }
+
+    @Benchmark
+    public boolean biPredicateChainUnchecked() {
+        return biPredicateChainUnchecked.test(text, text);
+    }
+
+    @Benchmark
+    public boolean intPredicateBaseline() {
+        return intPredicateBaseline.test(intValue);
+    }
+
+    @Benchmark
+    public boolean intPredicateChain() throws Throwable {
+        return intPredicateChain.test(intValue);
+    }
+
+    @Benchmark
+    public boolean intPredicateChainUnchecked() {
+        return intPredicateChainUnchecked.test(intValue);
+    }
+
+    @Benchmark
+    public boolean longPredicateBaseline() {
+        return longPredicateBaseline.test(longValue);
+    }
+
+    @Benchmark
+    public boolean longPredicateChain() throws Throwable {
+        return longPredicateChain.test(longValue);
+    }
+
+    @Benchmark
+    public boolean longPredicateChainUnchecked() {
+        return longPredicateChainUnchecked.test(longValue);
+    }
+
+    @Benchmark
+    public boolean doublePredicateBaseline() {
+        return doublePredicateBaseline.test(doubleValue);
+    }
+
+    @Benchmark
+    public boolean doublePredicateChain() throws Throwable {
+        return doublePredicateChain.test(doubleValue);
+    }
+
+    @Benchmark
+    public boolean doublePredicateChainUnchecked() {
+        return doublePredicateChainUnchecked.test(doubleValue);
+    }
+
+    @Benchmark
+    public boolean charPredicateBaseline() {
+        return charPredicateBaseline.test(charValue);
+    }
+
+    @Benchmark
+    public boolean charPredicateChain() throws Throwable {
+        return charPredicateChain.test(charValue);
+    }
+
+    @Benchmark
+    public boolean charPredicateChainUnchecked() {
+        return charPredicateChainUnchecked.test(charValue);
+    }
+
+    @Benchmark
+    public int consumerChain() throws Throwable {
+        consumerChain.accept(text);
+        return sink;
+    }
+
+    @Benchmark
+    public int consumerChainUnchecked() {
+        consumerChainUnchecked.accept(text);
+        return sink;
+    }
+
+    @Benchmark
+    public int intConsumerChain() throws Throwable {
+        intConsumerChain.accept(intValue);
+        return sink;
+    }
+
+    @Benchmark
+    public int intConsumerChainUnchecked() {
+        intConsumerChainUnchecked.accept(intValue);
+        return sink;
+    }
+}
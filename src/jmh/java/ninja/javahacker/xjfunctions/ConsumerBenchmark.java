@@ -0,0 +1,172 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@code unchecked()} and {@code wrap()} of the consumer family
+ * against the plain {@link java.util.function} baselines.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConsumerBenchmark {
+
+    private String text = "benchmark";
+    private int intValue = 42;
+    private long longValue = 42L;
+    private double doubleValue = 42.0;
+    private char charValue = 'x';
+
+    private Blackhole sink;
+    private Consumer<String> consumer;
+    private Consumer<String> consumerUnchecked;
+    private XConsumer<String> consumerWrapped;
+    private BiConsumer<String, String> biConsumer;
+    private BiConsumer<String, String> biConsumerUnchecked;
+    private XBiConsumer<String, String> biConsumerWrapped;
+    private IntConsumer intConsumer;
+    private IntConsumer intConsumerUnchecked;
+    private XIntConsumer intConsumerWrapped;
+    private LongConsumer longConsumer;
+    private LongConsumer longConsumerUnchecked;
+    private XLongConsumer longConsumerWrapped;
+    private DoubleConsumer doubleConsumer;
+    private DoubleConsumer doubleConsumerUnchecked;
+    private XDoubleConsumer doubleConsumerWrapped;
+    private CharConsumer charConsumer;
+    private CharConsumer charConsumerUnchecked;
+    private XCharConsumer charConsumerWrapped;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        this.sink = bh;
+        consumer = sink::consume;
+        consumerUnchecked = ((XConsumer<String>) sink::consume).unchecked();
+        consumerWrapped = XConsumer.wrap(consumer);
+        biConsumer = (a, b) -> sink.consume(b);
+        biConsumerUnchecked = ((XBiConsumer<String, String>) (a, b) -> sink.consume(b)).unchecked();
+        biConsumerWrapped = XBiConsumer.wrap(biConsumer);
+        intConsumer = sink::consume;
+        intConsumerUnchecked = ((XIntConsumer) sink::consume).unchecked();
+        intConsumerWrapped = XIntConsumer.wrap(intConsumer);
+        longConsumer = sink::consume;
+        longConsumerUnchecked = ((XLongConsumer) sink::consume).unchecked();
+        longConsumerWrapped = XLongConsumer.wrap(longConsumer);
+        doubleConsumer = sink::consume;
+        doubleConsumerUnchecked = ((XDoubleConsumer) sink::consume).unchecked();
+        doubleConsumerWrapped = XDoubleConsumer.wrap(doubleConsumer);
+        charConsumer = sink::consume;
+        charConsumerUnchecked = ((XCharConsumer) sink::consume).unchecked();
+        charConsumerWrapped = XCharConsumer.wrap(charConsumer);
+    }
+
+    @Benchmark
+    public void consumerBaseline() {
+        consumer.accept(text);
+    }
+
+    @Benchmark
+    public void consumerUnchecked() {
+        consumerUnchecked.accept(text);
+    }
+
+    @Benchmark
+    public void consumerWrapped() throws Throwable {
+        consumerWrapped.accept(text);
+    }
+
+    @Benchmark
+    public void biConsumerBaseline() {
+        biConsumer.accept(text, text);
+    }
+
+    @Benchmark
+    public void biConsumerUnchecked() {
+        biConsumerUnchecked.accept(text, text);
+    }
+
+    @Benchmark
+    public void biConsumerWrapped() throws Throwable {
+        biConsumerWrapped.accept(text, text);
+    }
+
+    @Benchmark
+    public void intConsumerBaseline() {
+        intConsumer.accept(intValue);
+    }
+
+    @Benchmark
+    public void intConsumerUnchecked() {
+        intConsumerUnchecked.accept(intValue);
+    }
+
+    @Benchmark
+    public void intConsumerWrapped() throws Throwable {
+        intConsumerWrapped.accept(intValue);
+    }
+
+    @Benchmark
+    public void longConsumerBaseline() {
+        longConsumer.accept(longValue);
+    }
+
+    @Benchmark
+    public void longConsumerUnchecked() {
+        longConsumerUnchecked.accept(longValue);
+    }
+
+    @Benchmark
+    public void longConsumerWrapped() throws Throwable {
+        longConsumerWrapped.accept(longValue);
+    }
+
+    @Benchmark
+    public void doubleConsumerBaseline() {
+        doubleConsumer.accept(doubleValue);
+    }
+
+    @Benchmark
+    public void doubleConsumerUnchecked() {
+        doubleConsumerUnchecked.accept(doubleValue);
+    }
+
+    @Benchmark
+    public void doubleConsumerWrapped() throws Throwable {
+        doubleConsumerWrapped.accept(doubleValue);
+    }
+
+    @Benchmark
+    public void charConsumerBaseline() {
+        charConsumer.accept(charValue);
+    }
+
+    @Benchmark
+    public void charConsumerUnchecked() {
+        charConsumerUnchecked.accept(charValue);
+    }
+
+    @Benchmark
+    public void charConsumerWrapped() throws Throwable {
+        charConsumerWrapped.accept(charValue);
+    }
+}
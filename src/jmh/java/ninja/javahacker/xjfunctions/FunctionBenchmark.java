@@ -0,0 +1,231 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code unchecked()} and {@code wrap()} of the function family
+ * against the plain {@link java.util.function} baselines.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FunctionBenchmark {
+
+    private String text = "benchmark";
+    private int intValue = 42;
+    private long longValue = 42L;
+    private double doubleValue = 42.0;
+    private char charValue = 'x';
+
+    private final Function<String, Integer> function = String::length;
+    private final Function<String, Integer> functionUnchecked = ((XFunction<String, Integer>) String::length).unchecked();
+    private final XFunction<String, Integer> functionWrapped = XFunction.wrap(function);
+
+    private final BiFunction<String, String, String> biFunction = String::concat;
+    private final BiFunction<String, String, String> biFunctionUnchecked =
+            ((XBiFunction<String, String, String>) String::concat).unchecked();
+    private final XBiFunction<String, String, String> biFunctionWrapped = XBiFunction.wrap(biFunction);
+
+    private final IntFunction<String> intFunction = Integer::toString;
+    private final IntFunction<String> intFunctionUnchecked = ((XIntFunction<String>) Integer::toString).unchecked();
+    private final XIntFunction<String> intFunctionWrapped = XIntFunction.wrap(intFunction);
+
+    private final LongFunction<String> longFunction = Long::toString;
+    private final LongFunction<String> longFunctionUnchecked = ((XLongFunction<String>) Long::toString).unchecked();
+    private final XLongFunction<String> longFunctionWrapped = XLongFunction.wrap(longFunction);
+
+    private final DoubleFunction<String> doubleFunction = Double::toString;
+    private final DoubleFunction<String> doubleFunctionUnchecked = ((XDoubleFunction<String>) Double::toString).unchecked();
+    private final XDoubleFunction<String> doubleFunctionWrapped = XDoubleFunction.wrap(doubleFunction);
+
+    private final CharFunction<String> charFunction = String::valueOf;
+    private final CharFunction<String> charFunctionUnchecked = ((XCharFunction<String>) String::valueOf).unchecked();
+    private final XCharFunction<String> charFunctionWrapped = XCharFunction.wrap(charFunction);
+
+    private final ToIntFunction<String> toIntFunction = String::length;
+    private final ToIntFunction<String> toIntFunctionUnchecked = ((XToIntFunction<String>) String::length).unchecked();
+    private final XToIntFunction<String> toIntFunctionWrapped = XToIntFunction.wrap(toIntFunction);
+
+    private final ToLongFunction<String> toLongFunction = String::length;
+    private final ToLongFunction<String> toLongFunctionUnchecked = ((XToLongFunction<String>) String::length).unchecked();
+    private final XToLongFunction<String> toLongFunctionWrapped = XToLongFunction.wrap(toLongFunction);
+
+    private final ToDoubleFunction<String> toDoubleFunction = String::length;
+    private final ToDoubleFunction<String> toDoubleFunctionUnchecked = ((XToDoubleFunction<String>) String::length).unchecked();
+    private final XToDoubleFunction<String> toDoubleFunctionWrapped = XToDoubleFunction.wrap(toDoubleFunction);
+
+    private final ToCharFunction<String> toCharFunction = s -> s.charAt(0);
+    private final ToCharFunction<String> toCharFunctionUnchecked = ((XToCharFunction<String>) s -> s.charAt(0)).unchecked();
+    private final XToCharFunction<String> toCharFunctionWrapped = XToCharFunction.wrap(toCharFunction);
+
+    @Benchmark
+    public Integer functionBaseline() {
+        return function.apply(text);
+    }
+
+    @Benchmark
+    public Integer functionUnchecked() {
+        return functionUnchecked.apply(text);
+    }
+
+    @Benchmark
+    public Integer functionWrapped() throws Throwable {
+        return functionWrapped.apply(text);
+    }
+
+    @Benchmark
+    public String biFunctionBaseline() {
+        return biFunction.apply(text, text);
+    }
+
+    @Benchmark
+    public String biFunctionUnchecked() {
+        return biFunctionUnchecked.apply(text, text);
+    }
+
+    @Benchmark
+    public String biFunctionWrapped() throws Throwable {
+        return biFunctionWrapped.apply(text, text);
+    }
+
+    @Benchmark
+    public String intFunctionBaseline() {
+        return intFunction.apply(intValue);
+    }
+
+    @Benchmark
+    public String intFunctionUnchecked() {
+        return intFunctionUnchecked.apply(intValue);
+    }
+
+    @Benchmark
+    public String intFunctionWrapped() throws Throwable {
+        return intFunctionWrapped.apply(intValue);
+    }
+
+    @Benchmark
+    public String longFunctionBaseline() {
+        return longFunction.apply(longValue);
+    }
+
+    @Benchmark
+    public String longFunctionUnchecked() {
+        return longFunctionUnchecked.apply(longValue);
+    }
+
+    @Benchmark
+    public String longFunctionWrapped() throws Throwable {
+        return longFunctionWrapped.apply(longValue);
+    }
+
+    @Benchmark
+    public String doubleFunctionBaseline() {
+        return doubleFunction.apply(doubleValue);
+    }
+
+    @Benchmark
+    public String doubleFunctionUnchecked() {
+        return doubleFunctionUnchecked.apply(doubleValue);
+    }
+
+    @Benchmark
+    public String doubleFunctionWrapped() throws Throwable {
+        return doubleFunctionWrapped.apply(doubleValue);
+    }
+
+    @Benchmark
+    public String charFunctionBaseline() {
+        return charFunction.apply(charValue);
+    }
+
+    @Benchmark
+    public String charFunctionUnchecked() {
+        return charFunctionUnchecked.apply(charValue);
+    }
+
+    @Benchmark
+    public String charFunctionWrapped() throws Throwable {
+        return charFunctionWrapped.apply(charValue);
+    }
+
+    @Benchmark
+    public int toIntFunctionBaseline() {
+        return toIntFunction.applyAsInt(text);
+    }
+
+    @Benchmark
+    public int toIntFunctionUnchecked() {
+        return toIntFunctionUnchecked.applyAsInt(text);
+    }
+
+    @Benchmark
+    public int toIntFunctionWrapped() throws Throwable {
+        return toIntFunctionWrapped.applyAsInt(text);
+    }
+
+    @Benchmark
+    public long toLongFunctionBaseline() {
+        return toLongFunction.applyAsLong(text);
+    }
+
+    @Benchmark
+    public long toLongFunctionUnchecked() {
+        return toLongFunctionUnchecked.applyAsLong(text);
+    }
+
+    @Benchmark
+    public long toLongFunctionWrapped() throws Throwable {
+        return toLongFunctionWrapped.applyAsLong(text);
+    }
+
+    @Benchmark
+    public double toDoubleFunctionBaseline() {
+        return toDoubleFunction.applyAsDouble(text);
+    }
+
+    @Benchmark
+    public double toDoubleFunctionUnchecked() {
+        return toDoubleFunctionUnchecked.applyAsDouble(text);
+    }
+
+    @Benchmark
+    public double toDoubleFunctionWrapped() throws Throwable {
+        return toDoubleFunctionWrapped.applyAsDouble(text);
+    }
+
+    @Benchmark
+    public char toCharFunctionBaseline() {
+        return toCharFunction.applyAsChar(text);
+    }
+
+    @Benchmark
+    public char toCharFunctionUnchecked() {
+        return toCharFunctionUnchecked.applyAsChar(text);
+    }
+
+    @Benchmark
+    public char toCharFunctionWrapped() throws Throwable {
+        return toCharFunctionWrapped.applyAsChar(text);
+    }
+}
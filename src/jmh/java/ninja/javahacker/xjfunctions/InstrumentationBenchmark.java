@@ -0,0 +1,63 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@code timed()}, {@code counted()} and {@code failureCounted()}
+ * decorators, both with the built-in {@link InMemoryMetrics} and with a
+ * {@linkplain MetricsProvider#disabled() disabled} provider, against the
+ * undecorated function.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InstrumentationBenchmark {
+
+    private final MetricsProvider metrics = new InMemoryMetrics();
+
+    private final XIntFunction<String> function = value -> (value & 1) == 0 ? "even" : "odd";
+    private final XIntFunction<String> disabled = function.timed(MetricsProvider.disabled(), "f");
+    private final XIntFunction<String> timed = function.timed(metrics, "f");
+    private final XIntFunction<String> counted = function.counted(metrics, "f");
+    private final XIntFunction<String> failureCounted = function.failureCounted(metrics, "f");
+
+    private int counter;
+
+    @Benchmark
+    public String baseline() throws Throwable {
+        return function.apply(counter++);
+    }
+
+    @Benchmark
+    public String disabled() throws Throwable {
+        return disabled.apply(counter++);
+    }
+
+    @Benchmark
+    public String timed() throws Throwable {
+        return timed.apply(counter++);
+    }
+
+    @Benchmark
+    public String counted() throws Throwable {
+        return counted.apply(counter++);
+    }
+
+    @Benchmark
+    public String failureCounted() throws Throwable {
+        return failureCounted.apply(counter++);
+    }
+}
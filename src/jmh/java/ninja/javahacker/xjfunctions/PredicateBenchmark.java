@@ -0,0 +1,151 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code unchecked()} and {@code wrap()} of the predicate family
+ * against the plain {@link java.util.function} baselines.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PredicateBenchmark {
+
+    private String text = "benchmark";
+    private int intValue = 42;
+    private long longValue = 42L;
+    private double doubleValue = 42.0;
+    private char charValue = 'x';
+
+    private final Predicate<String> predicate = String::isEmpty;
+    private final Predicate<String> predicateUnchecked = ((XPredicate<String>) String::isEmpty).unchecked();
+    private final XPredicate<String> predicateWrapped = XPredicate.wrap(predicate);
+
+    private final BiPredicate<String, String> biPredicate = String::startsWith;
+    private final BiPredicate<String, String> biPredicateUnchecked = ((XBiPredicate<String, String>) String::startsWith).unchecked();
+    private final XBiPredicate<String, String> biPredicateWrapped = XBiPredicate.wrap(biPredicate);
+
+    private final IntPredicate intPredicate = v -> v > 0;
+    private final IntPredicate intPredicateUnchecked = ((XIntPredicate) v -> v > 0).unchecked();
+    private final XIntPredicate intPredicateWrapped = XIntPredicate.wrap(intPredicate);
+
+    private final LongPredicate longPredicate = v -> v > 0;
+    private final LongPredicate longPredicateUnchecked = ((XLongPredicate) v -> v > 0).unchecked();
+    private final XLongPredicate longPredicateWrapped = XLongPredicate.wrap(longPredicate);
+
+    private final DoublePredicate doublePredicate = v -> v > 0;
+    private final DoublePredicate doublePredicateUnchecked = ((XDoublePredicate) v -> v > 0).unchecked();
+    private final XDoublePredicate doublePredicateWrapped = XDoublePredicate.wrap(doublePredicate);
+
+    private final CharPredicate charPredicate = Character::isLetter;
+    private final CharPredicate charPredicateUnchecked = ((XCharPredicate) Character::isLetter).unchecked();
+    private final XCharPredicate charPredicateWrapped = XCharPredicate.wrap(charPredicate);
+
+    @Benchmark
+    public boolean predicateBaseline() {
+        return predicate.test(text);
+    }
+
+    @Benchmark
+    public boolean predicateUnchecked() {
+        return predicateUnchecked.test(text);
+    }
+
+    @Benchmark
+    public boolean predicateWrapped() throws Throwable {
+        return predicateWrapped.test(text);
+    }
+
+    @Benchmark
+    public boolean biPredicateBaseline() {
+        return biPredicate.test(text, text);
+    }
+
+    @Benchmark
+    public boolean biPredicateUnchecked() {
+        return biPredicateUnchecked.test(text, text);
+    }
+
+    @Benchmark
+    public boolean biPredicateWrapped() throws Throwable {
+        return biPredicateWrapped.test(text, text);
+    }
+
+    @Benchmark
+    public boolean intPredicateBaseline() {
+        return intPredicate.test(intValue);
+    }
+
+    @Benchmark
+    public boolean intPredicateUnchecked() {
+        return intPredicateUnchecked.test(intValue);
+    }
+
+    @Benchmark
+    public boolean intPredicateWrapped() throws Throwable {
+        return intPredicateWrapped.test(intValue);
+    }
+
+    @Benchmark
+    public boolean longPredicateBaseline() {
+        return longPredicate.test(longValue);
+    }
+
+    @Benchmark
+    public boolean longPredicateUnchecked() {
+        return longPredicateUnchecked.test(longValue);
+    }
+
+    @Benchmark
+    public boolean longPredicateWrapped() throws Throwable {
+        return longPredicateWrapped.test(longValue);
+    }
+
+    @Benchmark
+    public boolean doublePredicateBaseline() {
+        return doublePredicate.test(doubleValue);
+    }
+
+    @Benchmark
+    public boolean doublePredicateUnchecked() {
+        return doublePredicateUnchecked.test(doubleValue);
+    }
+
+    @Benchmark
+    public boolean doublePredicateWrapped() throws Throwable {
+        return doublePredicateWrapped.test(doubleValue);
+    }
+
+    @Benchmark
+    public boolean charPredicateBaseline() {
+        return charPredicate.test(charValue);
+    }
+
+    @Benchmark
+    public boolean charPredicateUnchecked() {
+        return charPredicateUnchecked.test(charValue);
+    }
+
+    @Benchmark
+    public boolean charPredicateWrapped() throws Throwable {
+        return charPredicateWrapped.test(charValue);
+    }
+}
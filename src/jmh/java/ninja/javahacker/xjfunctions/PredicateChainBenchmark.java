@@ -0,0 +1,89 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a conjunction whose most selective term comes last, as nested
+ * {@link Predicate#and(Predicate)} lambdas, as a flat
+ * {@link XPredicate#allOf(XPredicate...)} chain and as an
+ * {@link AdaptivePredicate}, both learning and frozen.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PredicateChainBenchmark {
+
+    private static boolean expensive(String value) {
+        return value.chars().sum() > 0;
+    }
+
+    private static boolean broad(String value) {
+        return value.length() > 2;
+    }
+
+    private static boolean selective(String value) {
+        return value.indexOf('#') >= 0;
+    }
+
+    private final String[] values = {"alpha", "beta", "gamma", "delta", "epsilon", "ze#ta", "eta", "theta"};
+
+    private final Predicate<String> nested = ((Predicate<String>) PredicateChainBenchmark::expensive)
+            .and(PredicateChainBenchmark::broad)
+            .and(PredicateChainBenchmark::selective);
+
+    private final XPredicate<String> flat = XPredicate.allOf(
+            PredicateChainBenchmark::expensive,
+            PredicateChainBenchmark::broad,
+            PredicateChainBenchmark::selective);
+
+    private final AdaptivePredicate<String> adaptive = AdaptivePredicate.allOf(
+            PredicateChainBenchmark::expensive,
+            PredicateChainBenchmark::broad,
+            PredicateChainBenchmark::selective);
+
+    private final AdaptivePredicate<String> frozen = AdaptivePredicate.<String>allOf(
+            PredicateChainBenchmark::expensive,
+            PredicateChainBenchmark::broad,
+            PredicateChainBenchmark::selective)
+            .freezeAfter(3);
+
+    private int counter;
+
+    private String next() {
+        return values[counter++ & 7];
+    }
+
+    @Benchmark
+    public boolean nested() {
+        return nested.test(next());
+    }
+
+    @Benchmark
+    public boolean flat() throws Throwable {
+        return flat.test(next());
+    }
+
+    @Benchmark
+    public boolean adaptive() throws Throwable {
+        return adaptive.test(next());
+    }
+
+    @Benchmark
+    public boolean adaptiveFrozen() throws Throwable {
+        return frozen.test(next());
+    }
+}
@@ -0,0 +1,72 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures primitive pipelines built with the {@code andThenAs*} combinators,
+ * starting either from an object or from an {@code int}, against the same
+ * pipelines going through boxed {@link XFunction}s. Run it
+ * with {@code -prof gc}: the {@code gc.alloc.rate.norm} of the primitive
+ * pipelines should be zero, while the boxed ones allocate an {@link Integer},
+ * {@link Long} or {@link Double} per stage, since the inputs are kept outside
+ * of the boxing caches.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveCompositionBenchmark {
+
+    private final String text = "benchmark";
+    private int offset = 1 << 20;
+
+    private final XFunction<String, Double> boxed = ((XFunction<String, Integer>) String::length)
+            .andThen(v -> v + offset++)
+            .andThen(v -> v * 3L)
+            .andThen(v -> v * 0.5);
+
+    private final XToDoubleFunction<String> primitive = ((XToIntFunction<String>) String::length)
+            .andThenAsInt(v -> v + offset++)
+            .andThenAsLong(v -> v * 3L)
+            .andThenAsDouble(v -> v * 0.5);
+
+    private final XFunction<Integer, Double> boxedFromInt = ((XFunction<Integer, Integer>) v -> v + 1)
+            .andThen(v -> v * 3L)
+            .andThen(v -> v * 0.5);
+
+    private final XIntToDoubleFunction primitiveFromInt = ((XIntUnaryOperator) v -> v + 1)
+            .andThenAsLong(v -> v * 3L)
+            .andThenAsDouble(v -> v * 0.5);
+
+    @Benchmark
+    public double boxed() throws Throwable {
+        return boxed.apply(text);
+    }
+
+    @Benchmark
+    public double primitive() throws Throwable {
+        return primitive.applyAsDouble(text);
+    }
+
+    @Benchmark
+    public double boxedFromInt() throws Throwable {
+        return boxedFromInt.apply(offset++);
+    }
+
+    @Benchmark
+    public double primitiveFromInt() throws Throwable {
+        return primitiveFromInt.applyAsDouble(offset++);
+    }
+}
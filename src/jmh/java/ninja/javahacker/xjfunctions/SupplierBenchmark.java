@@ -0,0 +1,184 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code unchecked()} and {@code wrap()} of the runnable and supplier
+ * families against the plain {@link java.util.function} baselines, as well as
+ * the cost of {@code retrying(RetryPolicy)} when the first attempt succeeds.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SupplierBenchmark {
+
+    private int counter;
+
+    private final Runnable runnable = () -> counter++;
+    private final Runnable runnableUnchecked = ((XRunnable) () -> counter++).unchecked();
+    private final XRunnable runnableWrapped = XRunnable.wrap(runnable);
+    private final XRunnable runnableRetrying = runnableWrapped.retrying(RetryPolicy.of(3));
+
+    private final Supplier<String> supplier = () -> "x";
+    private final Supplier<String> supplierUnchecked = ((XSupplier<String>) () -> "x").unchecked();
+    private final XSupplier<String> supplierWrapped = XSupplier.wrap(supplier);
+    private final XSupplier<String> supplierRetrying = supplierWrapped.retrying(RetryPolicy.of(3).deadline(Duration.ofSeconds(1)));
+
+    private final BooleanSupplier booleanSupplier = () -> (counter & 1) == 0;
+    private final BooleanSupplier booleanSupplierUnchecked = ((XBooleanSupplier) () -> (counter & 1) == 0).unchecked();
+    private final XBooleanSupplier booleanSupplierWrapped = XBooleanSupplier.wrap(booleanSupplier);
+
+    private final IntSupplier intSupplier = () -> counter;
+    private final IntSupplier intSupplierUnchecked = ((XIntSupplier) () -> counter).unchecked();
+    private final XIntSupplier intSupplierWrapped = XIntSupplier.wrap(intSupplier);
+
+    private final LongSupplier longSupplier = () -> counter;
+    private final LongSupplier longSupplierUnchecked = ((XLongSupplier) () -> counter).unchecked();
+    private final XLongSupplier longSupplierWrapped = XLongSupplier.wrap(longSupplier);
+
+    private final DoubleSupplier doubleSupplier = () -> counter;
+    private final DoubleSupplier doubleSupplierUnchecked = ((XDoubleSupplier) () -> counter).unchecked();
+    private final XDoubleSupplier doubleSupplierWrapped = XDoubleSupplier.wrap(doubleSupplier);
+
+    private final CharSupplier charSupplier = () -> (char) counter;
+    private final CharSupplier charSupplierUnchecked = ((XCharSupplier) () -> (char) counter).unchecked();
+    private final XCharSupplier charSupplierWrapped = XCharSupplier.wrap(charSupplier);
+
+    @Benchmark
+    public int runnableBaseline() {
+        runnable.run();
+        return counter;
+    }
+
+    @Benchmark
+    public int runnableUnchecked() {
+        runnableUnchecked.run();
+        return counter;
+    }
+
+    @Benchmark
+    public int runnableWrapped() throws Throwable {
+        runnableWrapped.run();
+        return counter;
+    }
+
+    @Benchmark
+    public int runnableRetrying() throws Throwable {
+        runnableRetrying.run();
+        return counter;
+    }
+
+    @Benchmark
+    public String supplierBaseline() {
+        return supplier.get();
+    }
+
+    @Benchmark
+    public String supplierUnchecked() {
+        return supplierUnchecked.get();
+    }
+
+    @Benchmark
+    public String supplierWrapped() throws Throwable {
+        return supplierWrapped.get();
+    }
+
+    @Benchmark
+    public String supplierRetrying() throws Throwable {
+        return supplierRetrying.get();
+    }
+
+    @Benchmark
+    public boolean booleanSupplierBaseline() {
+        return booleanSupplier.getAsBoolean();
+    }
+
+    @Benchmark
+    public boolean booleanSupplierUnchecked() {
+        return booleanSupplierUnchecked.getAsBoolean();
+    }
+
+    @Benchmark
+    public boolean booleanSupplierWrapped() throws Throwable {
+        return booleanSupplierWrapped.getAsBoolean();
+    }
+
+    @Benchmark
+    public int intSupplierBaseline() {
+        return intSupplier.getAsInt();
+    }
+
+    @Benchmark
+    public int intSupplierUnchecked() {
+        return intSupplierUnchecked.getAsInt();
+    }
+
+    @Benchmark
+    public int intSupplierWrapped() throws Throwable {
+        return intSupplierWrapped.getAsInt();
+    }
+
+    @Benchmark
+    public long longSupplierBaseline() {
+        return longSupplier.getAsLong();
+    }
+
+    @Benchmark
+    public long longSupplierUnchecked() {
+        return longSupplierUnchecked.getAsLong();
+    }
+
+    @Benchmark
+    public long longSupplierWrapped() throws Throwable {
+        return longSupplierWrapped.getAsLong();
+    }
+
+    @Benchmark
+    public double doubleSupplierBaseline() {
+        return doubleSupplier.getAsDouble();
+    }
+
+    @Benchmark
+    public double doubleSupplierUnchecked() {
+        return doubleSupplierUnchecked.getAsDouble();
+    }
+
+    @Benchmark
+    public double doubleSupplierWrapped() throws Throwable {
+        return doubleSupplierWrapped.getAsDouble();
+    }
+
+    @Benchmark
+    public char charSupplierBaseline() {
+        return charSupplier.getAsChar();
+    }
+
+    @Benchmark
+    public char charSupplierUnchecked() {
+        return charSupplierUnchecked.getAsChar();
+    }
+
+    @Benchmark
+    public char charSupplierWrapped() throws Throwable {
+        return charSupplierWrapped.getAsChar();
+    }
+}
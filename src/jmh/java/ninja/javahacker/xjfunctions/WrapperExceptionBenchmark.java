@@ -0,0 +1,84 @@
+package ninja.javahacker.xjfunctions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the failure path of the {@code unchecked()} adapters
+ * with and without stack traces in the {@link WrapperException}, and of the
+ * {@code sneaky()} adapters which do not wrap at all.
+ * @author Victor Williams Stafusa da Silva
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WrapperExceptionBenchmark {
+
+    private static final IOException CAUSE = new IOException("failed");
+
+    @Param({"true", "false"})
+    private boolean stackTrace;
+
+    private Function<String, String> failing;
+
+    private Function<String, String> failingSneaky;
+
+    @Setup
+    public void setup() {
+        WrapperException.setStackTraceEnabled(stackTrace);
+        XFunction<String, String> f = s -> {
+            throw CAUSE;
+        };
+        failing = f.unchecked();
+        failingSneaky = f.sneaky();
+    }
+
+    @TearDown
+    public void tearDown() {
+        WrapperException.setStackTraceEnabled(true);
+    }
+
+    @Benchmark
+    public WrapperException constructWithStackTrace() {
+        return new WrapperException(CAUSE);
+    }
+
+    @Benchmark
+    public WrapperException constructStackless() {
+        return WrapperException.stackless(CAUSE);
+    }
+
+    @Benchmark
+    public Throwable uncheckedFailure() {
+        try {
+            return new IllegalStateException(failing.apply("x"));
+        } catch (WrapperException e) {
+            return e.getCause();
+        }
+    }
+
+    @Benchmark
+    public Throwable sneakyFailure() {
+        try {
+            return new IllegalStateException(failingSneaky.apply("x"));
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+}
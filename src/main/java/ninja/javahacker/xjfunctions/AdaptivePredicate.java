@@ -0,0 +1,407 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A short-circuiting logical AND or OR of predicates which learns in which
+ * order its terms are cheapest to evaluate.
+ *
+ * <p>A fraction of the calls, chosen at random, is sampled: for each term
+ * evaluated in a sampled call, how long it took and whether it passed are
+ * recorded. After a given number of sampled calls, the terms are sorted by
+ * their expected cost per short-circuit, which is their mean cost divided by
+ * the rate at which they short-circuit the evaluation, i.e. the rate at which
+ * they fail for an AND or pass for an OR. Sorting by that ratio minimizes the
+ * expected cost of the whole evaluation if the terms are independent. Then,
+ * the statistics are halved, so the order keeps following changes in the
+ * data. Terms which were never evaluated keep their relative order at the end.</p>
+ *
+ * <p>Calls which are not sampled just read the current order, which is
+ * published as an immutable snapshot, and evaluate it in a plain loop. Once
+ * {@linkplain #freeze() frozen}, either explicitly or
+ * {@linkplain #freezeAfter(int) automatically} once the order stops changing,
+ * no call is sampled anymore.</p>
+ *
+ * <p>Since the evaluation order changes, the terms should be free of side
+ * effects and should not depend on each other, like the ones of a filter.
+ * As usual, the evaluation is short-circuiting and any exception thrown by a
+ * term is relayed to the caller.</p>
+ * <pre>{@code
+ * AdaptivePredicate<Order> filter = AdaptivePredicate.<Order>allOf(
+ *         order -> fraudService.isClean(order),
+ *         order -> order.getTotal() > 100,
+ *         order -> order.getCountry().equals("BR"))
+ *         .freezeAfter(5);
+ * }</pre>
+ *
+ * @param <T> the type of the input to the predicate
+ *
+ * @see XPredicate#allOf(XPredicate...)
+ * @see XPredicate#anyOf(XPredicate...)
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+public final class AdaptivePredicate<T> implements XPredicate<T> {
+
+    /**
+     * An evaluation order of the terms.
+     * @param <T> the type of the input to the predicate
+     */
+    private static final class Snapshot<T> {
+
+        /**
+         * The terms, in evaluation order.
+         */
+        final XPredicate<? super T>[] terms;
+
+        /**
+         * The original position of each term, in evaluation order.
+         */
+        final int[] positions;
+
+        /**
+         * Sole constructor.
+         * @param terms the terms, in evaluation order
+         * @param positions the original position of each term, in evaluation order
+         */
+        Snapshot(XPredicate<? super T>[] terms, int[] positions) {
+            this.terms = terms;
+            this.positions = positions;
+        }
+    }
+
+    /**
+     * The terms, in their original order.
+     */
+    private final XPredicate<? super T>[] terms;
+
+    /**
+     * Whether this is an OR of the terms, instead of an AND.
+     */
+    private final boolean any;
+
+    /**
+     * One in how many calls is sampled.
+     */
+    private final int sampleEvery;
+
+    /**
+     * After how many sampled calls the terms are reordered.
+     */
+    private final int reorderEvery;
+
+    /**
+     * After how many reorderings in a row which don't change the order this gets frozen. Zero means never.
+     */
+    private final int freezeAfter;
+
+    /**
+     * How many times each term was evaluated in sampled calls, by original position.
+     */
+    private final AtomicLongArray evaluated;
+
+    /**
+     * How many times each term passed in sampled calls, by original position.
+     */
+    private final AtomicLongArray passed;
+
+    /**
+     * How long, in nanoseconds, each term took in sampled calls, by original position.
+     */
+    private final AtomicLongArray nanos;
+
+    /**
+     * How many calls were sampled.
+     */
+    private final AtomicLong samples;
+
+    /**
+     * Serializes the reorderings.
+     */
+    private final Object lock;
+
+    /**
+     * How many reorderings in a row didn't change the order.
+     */
+    @GuardedBy("lock")
+    private int unchanged;
+
+    /**
+     * The current evaluation order.
+     */
+    private volatile Snapshot<T> snapshot;
+
+    /**
+     * Whether the evaluation order is not changed anymore.
+     */
+    private volatile boolean frozen;
+
+    /**
+     * Sole constructor.
+     * @param terms the terms, in their original order
+     * @param any whether this is an OR of the terms, instead of an AND
+     * @param sampleEvery one in how many calls is sampled
+     * @param reorderEvery after how many sampled calls the terms are reordered
+     * @param freezeAfter after how many unchanged reorderings in a row this gets frozen
+     */
+    private AdaptivePredicate(XPredicate<? super T>[] terms, boolean any, int sampleEvery, int reorderEvery, int freezeAfter) {
+        int n = terms.length;
+        int[] positions = new int[n];
+        Arrays.setAll(positions, i -> i);
+        this.terms = terms;
+        this.any = any;
+        this.sampleEvery = sampleEvery;
+        this.reorderEvery = reorderEvery;
+        this.freezeAfter = freezeAfter;
+        this.evaluated = new AtomicLongArray(n);
+        this.passed = new AtomicLongArray(n);
+        this.nanos = new AtomicLongArray(n);
+        this.samples = new AtomicLong();
+        this.lock = new Object();
+        this.snapshot = new Snapshot<>(terms.clone(), positions);
+    }
+
+    /**
+     * Copies the terms into an array, checking them.
+     * @param <T> the type of the input to the predicate
+     * @param predicates the predicates to combine
+     * @return the terms
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> XPredicate<? super T>[] toTerms(Collection<? extends XPredicate<? super T>> predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+        List<XPredicate<? super T>> list = new ArrayList<>(predicates.size());
+        for (XPredicate<? super T> p : predicates) {
+            list.add(Objects.requireNonNull(p, "predicates can't contain null elements."));
+        }
+        return list.toArray((XPredicate<? super T>[]) new XPredicate<?>[0]);
+    }
+
+    /**
+     * Creates an adaptive short-circuiting logical AND of the given
+     * predicates, initially evaluated in the given order, sampling one in
+     * 16 calls and reordering after every 1024 sampled calls.
+     *
+     * @param <T> the type of the input to the predicate
+     * @param predicates the predicates to combine
+     * @return the new adaptive predicate
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> AdaptivePredicate<T> allOf(XPredicate<? super T>... predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+        return new AdaptivePredicate<>(AdaptivePredicate.<T>toTerms(Arrays.asList(predicates)), false, 16, 1024, 0);
+    }
+
+    /**
+     * Creates an adaptive short-circuiting logical AND of the given
+     * predicates, initially evaluated in iteration order, sampling one in
+     * 16 calls and reordering after every 1024 sampled calls.
+     *
+     * @param <T> the type of the input to the predicate
+     * @param predicates the predicates to combine
+     * @return the new adaptive predicate
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     */
+    public static <T> AdaptivePredicate<T> allOf(Collection<? extends XPredicate<? super T>> predicates) {
+        return new AdaptivePredicate<>(toTerms(predicates), false, 16, 1024, 0);
+    }
+
+    /**
+     * Creates an adaptive short-circuiting logical OR of the given
+     * predicates, initially evaluated in the given order, sampling one in
+     * 16 calls and reordering after every 1024 sampled calls.
+     *
+     * @param <T> the type of the input to the predicate
+     * @param predicates the predicates to combine
+     * @return the new adaptive predicate
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> AdaptivePredicate<T> anyOf(XPredicate<? super T>... predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+        return new AdaptivePredicate<>(AdaptivePredicate.<T>toTerms(Arrays.asList(predicates)), true, 16, 1024, 0);
+    }
+
+    /**
+     * Creates an adaptive short-circuiting logical OR of the given
+     * predicates, initially evaluated in iteration order, sampling one in
+     * 16 calls and reordering after every 1024 sampled calls.
+     *
+     * @param <T> the type of the input to the predicate
+     * @param predicates the predicates to combine
+     * @return the new adaptive predicate
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     */
+    public static <T> AdaptivePredicate<T> anyOf(Collection<? extends XPredicate<? super T>> predicates) {
+        return new AdaptivePredicate<>(toTerms(predicates), true, 16, 1024, 0);
+    }
+
+    /**
+     * Returns a new adaptive predicate like this one, with no statistics
+     * yet, but which samples one in {@code sampleEvery} calls.
+     *
+     * @param sampleEvery one in how many calls is sampled, {@code 1} meaning every call
+     * @return the new adaptive predicate
+     * @throws IllegalArgumentException if {@code sampleEvery} is not positive
+     */
+    public AdaptivePredicate<T> sampleEvery(int sampleEvery) {
+        if (sampleEvery <= 0) throw new IllegalArgumentException("sampleEvery must be positive.");
+        return new AdaptivePredicate<>(terms, any, sampleEvery, reorderEvery, freezeAfter);
+    }
+
+    /**
+     * Returns a new adaptive predicate like this one, with no statistics
+     * yet, but which reorders the terms after every {@code reorderEvery} sampled calls.
+     *
+     * @param reorderEvery after how many sampled calls the terms are reordered
+     * @return the new adaptive predicate
+     * @throws IllegalArgumentException if {@code reorderEvery} is not positive
+     */
+    public AdaptivePredicate<T> reorderEvery(int reorderEvery) {
+        if (reorderEvery <= 0) throw new IllegalArgumentException("reorderEvery must be positive.");
+        return new AdaptivePredicate<>(terms, any, sampleEvery, reorderEvery, freezeAfter);
+    }
+
+    /**
+     * Returns a new adaptive predicate like this one, with no statistics
+     * yet, but which freezes itself once {@code unchangedReorderings}
+     * reorderings in a row didn't change the order.
+     *
+     * @param unchangedReorderings after how many unchanged reorderings in a row the order
+     *     is frozen, {@code 0} meaning never
+     * @return the new adaptive predicate
+     * @throws IllegalArgumentException if {@code unchangedReorderings} is negative
+     */
+    public AdaptivePredicate<T> freezeAfter(int unchangedReorderings) {
+        if (unchangedReorderings < 0) throw new IllegalArgumentException("unchangedReorderings can't be negative.");
+        return new AdaptivePredicate<>(terms, any, sampleEvery, reorderEvery, unchangedReorderings);
+    }
+
+    /**
+     * Stops sampling calls and changing the order of the terms.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Tells whether the order of the terms doesn't change anymore.
+     *
+     * @return whether the order of the terms doesn't change anymore
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Gives the terms in their current evaluation order.
+     *
+     * @return an unmodifiable list with the terms in their current evaluation order
+     */
+    public List<XPredicate<? super T>> getOrder() {
+        return Collections.unmodifiableList(Arrays.asList(snapshot.terms.clone()));
+    }
+
+    @Override
+    public boolean test(T t) throws Throwable {
+        Snapshot<T> s = snapshot;
+        if (!frozen && (sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0)) return sampled(s, t);
+        for (XPredicate<? super T> p : s.terms) {
+            if (p.test(t) == any) return any;
+        }
+        return !any;
+    }
+
+    /**
+     * Evaluates the terms, recording how long each one took and whether it passed.
+     * @param s the evaluation order
+     * @param t the input argument
+     * @return the outcome of the evaluation
+     * @throws Throwable whatever a term throws
+     */
+    private boolean sampled(Snapshot<T> s, T t) throws Throwable {
+        XPredicate<? super T>[] ordered = s.terms;
+        boolean result = !any;
+        for (int k = 0; k < ordered.length; k++) {
+            int i = s.positions[k];
+            long start = System.nanoTime();
+            boolean r = ordered[k].test(t);
+            nanos.addAndGet(i, System.nanoTime() - start);
+            evaluated.incrementAndGet(i);
+            if (r) passed.incrementAndGet(i);
+            if (r == any) {
+                result = any;
+                break;
+            }
+        }
+        if (samples.incrementAndGet() % reorderEvery == 0) reorder();
+        return result;
+    }
+
+    /**
+     * Sorts the terms by their expected cost per short-circuit and halves the statistics.
+     */
+    private void reorder() {
+        synchronized (lock) {
+            if (frozen) return;
+            int n = terms.length;
+            double[] rank = new double[n];
+            for (int i = 0; i < n; i++) {
+                long e = evaluated.getAndUpdate(i, x -> x >> 1);
+                long p = passed.getAndUpdate(i, x -> x >> 1);
+                long c = nanos.getAndUpdate(i, x -> x >> 1);
+                // The counters are read one at a time while the samplers keep counting, so they might disagree.
+                p = Math.max(0L, Math.min(p, e));
+                double shortCircuitRate = (double) (any ? p : e - p) / e;
+                rank[i] = e == 0L || shortCircuitRate == 0.0
+                        ? Double.POSITIVE_INFINITY
+                        : Math.max(1.0, (double) c / e) / shortCircuitRate;
+            }
+            int[] current = snapshot.positions;
+            Integer[] boxed = new Integer[n];
+            for (int k = 0; k < n; k++) {
+                boxed[k] = current[k];
+            }
+            Arrays.sort(boxed, (a, b) -> Double.compare(rank[a], rank[b]));
+            int[] positions = new int[n];
+            @SuppressWarnings("unchecked")
+            XPredicate<? super T>[] ordered = (XPredicate<? super T>[]) new XPredicate<?>[n];
+            for (int k = 0; k < n; k++) {
+                positions[k] = boxed[k];
+                ordered[k] = terms[positions[k]];
+            }
+            if (Arrays.equals(positions, current)) {
+                unchanged++;
+                if (freezeAfter != 0 && unchanged >= freezeAfter) frozen = true;
+            } else {
+                unchanged = 0;
+                snapshot = new Snapshot<>(ordered, positions);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePredicate[" + (any ? "anyOf" : "allOf")
+                + ", terms=" + terms.length
+                + ", sampleEvery=" + sampleEvery
+                + ", reorderEvery=" + reorderEvery
+                + ", frozen=" + frozen + "]";
+    }
+}
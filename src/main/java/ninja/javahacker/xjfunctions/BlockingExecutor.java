@@ -0,0 +1,56 @@
+package ninja.javahacker.xjfunctions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the executor used to run possibly blocking lambdas on threads of
+ * their own, such as the ones decorated by {@code withTimeout(Duration)} or
+ * invoked by {@link XSuppliers}.
+ *
+ * <p>Each task runs on its own virtual thread if the running JDK has them,
+ * which is detected at runtime since this library targets older JDKs as
+ * well. Otherwise, a cached pool of daemon platform threads is used.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+final class BlockingExecutor {
+
+    /**
+     * The executor.
+     */
+    static final ExecutorService INSTANCE = create();
+
+    /**
+     * Prevents instantiation.
+     */
+    private BlockingExecutor() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates the executor.
+     * @return a virtual thread per task executor if available, or a cached pool of daemon threads otherwise
+     */
+    private static ExecutorService create() {
+        try {
+            MethodHandle virtual = MethodHandles.publicLookup().findStatic(
+                    Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) virtual.invokeExact();
+        } catch (Throwable x) {
+            AtomicInteger count = new AtomicInteger();
+            ThreadFactory factory = r -> {
+                Thread t = new Thread(r, "xjfunctions-blocking-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+}
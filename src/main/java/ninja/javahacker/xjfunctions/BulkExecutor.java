@@ -0,0 +1,860 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Applies the checked X* interfaces to the elements of large arrays in
+ * parallel, in a {@link ForkJoinPool}.
+ *
+ * <p>The array is split in halves recursively until the ranges have at most
+ * {@linkplain #threshold(int) threshold} elements, and then each range is
+ * processed by a plain loop calling the lambda unboxed. Arrays no larger than
+ * the threshold are processed right in the calling thread.</p>
+ *
+ * <p>The first failure thrown by the lambda stops the whole operation: the
+ * ranges not yet started are skipped, the running ones finish, and then the
+ * very same {@link Throwable} is rethrown in the calling thread, neither
+ * wrapped nor unwrapped. Differently from a parallel stream, there is no need
+ * to {@code unchecked()} the lambdas.</p>
+ *
+ * <p>Since the elements are processed concurrently and in no particular
+ * order, the lambdas must be safe to be called from many threads. For the
+ * reductions, the operator must be associative and the identity must really
+ * be an identity of the operator, or else the result depends on how the array
+ * was split.</p>
+ * <pre>{@code
+ * BulkExecutor bulk = BulkExecutor.of().threshold(1 << 16);
+ * long valid = bulk.count(prices, price -> validator.check(price));
+ * double total = bulk.reduce(prices, 0.0, (a, b) -> a + b);
+ * }</pre>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@Immutable
+public final class BulkExecutor {
+
+    /**
+     * Processes a range of the array.
+     * @param <A> the type of the partial result
+     */
+    @FunctionalInterface
+    private interface Leaf<A> {
+
+        /**
+         * Processes a range of the array.
+         * @param from where the range starts, inclusive
+         * @param to where the range ends, exclusive
+         * @return the partial result of the range
+         * @throws Throwable whatever the lambda throws
+         */
+        public A run(int from, int to) throws Throwable;
+    }
+
+    /**
+     * Merges the partial results of two adjacent ranges.
+     * @param <A> the type of the partial results
+     */
+    @FunctionalInterface
+    private interface Merge<A> {
+
+        /**
+         * Merges the partial results of two adjacent ranges.
+         * @param left the partial result of the first range
+         * @param right the partial result of the second range
+         * @return the partial result of both ranges
+         * @throws Throwable whatever the lambda throws
+         */
+        public A merge(A left, A right) throws Throwable;
+    }
+
+    /**
+     * Processes a range of the array, splitting it if it is larger than the threshold.
+     * @param <A> the type of the partial result
+     */
+    private static final class Task<A> extends RecursiveTask<A> {
+
+        /**
+         * For serialization.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Processes each range which is not split anymore.
+         */
+        @SuppressWarnings("serial")
+        private final Leaf<A> leaf;
+
+        /**
+         * Merges the partial results of the halves.
+         */
+        @SuppressWarnings("serial")
+        private final Merge<A> merge;
+
+        /**
+         * Where the range starts, inclusive.
+         */
+        private final int from;
+
+        /**
+         * Where the range ends, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Up to how many elements a range is not split.
+         */
+        private final int threshold;
+
+        /**
+         * The first failure of the whole operation, if any.
+         */
+        private final AtomicReference<Throwable> failure;
+
+        /**
+         * Sole constructor.
+         * @param leaf processes each range which is not split anymore
+         * @param merge merges the partial results of the halves
+         * @param from where the range starts, inclusive
+         * @param to where the range ends, exclusive
+         * @param threshold up to how many elements a range is not split
+         * @param failure the first failure of the whole operation, if any
+         */
+        Task(Leaf<A> leaf, Merge<A> merge, int from, int to, int threshold, AtomicReference<Throwable> failure) {
+            this.leaf = leaf;
+            this.merge = merge;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.failure = failure;
+        }
+
+        @Override
+        protected A compute() {
+            if (failure.get() != null) return null;
+            try {
+                if (to - from <= threshold) return leaf.run(from, to);
+                int middle = (from + to) >>> 1;
+                Task<A> right = new Task<>(leaf, merge, middle, to, threshold, failure);
+                right.fork();
+                A leftResult = new Task<>(leaf, merge, from, middle, threshold, failure).compute();
+                A rightResult = right.join();
+                return failure.get() != null ? null : merge.merge(leftResult, rightResult);
+            } catch (Throwable x) {
+                failure.compareAndSet(null, x);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Merges nothing, for the operations without results.
+     */
+    private static final Merge<Void> NOTHING = (left, right) -> null;
+
+    /**
+     * Merges counts.
+     */
+    private static final Merge<Long> SUM = Long::sum;
+
+    /**
+     * Where the ranges are processed.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Up to how many elements a range is not split.
+     */
+    private final int threshold;
+
+    /**
+     * Sole constructor.
+     * @param pool where the ranges are processed
+     * @param threshold up to how many elements a range is not split
+     */
+    private BulkExecutor(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Creates a bulk executor running in the {@linkplain ForkJoinPool#commonPool() common pool},
+     * which doesn't split ranges of up to 8192 elements.
+     *
+     * @return the new bulk executor
+     */
+    public static BulkExecutor of() {
+        return of(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a bulk executor running in the given pool, which doesn't split ranges of up to 8192 elements.
+     *
+     * @param pool where the ranges are processed
+     * @return the new bulk executor
+     * @throws NullPointerException if {@code pool} is null
+     */
+    public static BulkExecutor of(ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool");
+        return new BulkExecutor(pool, 1 << 13);
+    }
+
+    /**
+     * Returns a new bulk executor like this one, but which doesn't split ranges of up to the given number of elements.
+     *
+     * @param threshold up to how many elements a range is not split
+     * @return the new bulk executor
+     * @throws IllegalArgumentException if {@code threshold} is not positive
+     */
+    public BulkExecutor threshold(int threshold) {
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be positive.");
+        return new BulkExecutor(pool, threshold);
+    }
+
+    /**
+     * Processes the whole array, splitting it if it is larger than the threshold.
+     * @param <A> the type of the result
+     * @param length the length of the array
+     * @param leaf processes each range which is not split anymore
+     * @param merge merges the partial results of adjacent ranges
+     * @return the result
+     * @throws Throwable the first failure of {@code leaf} or {@code merge}
+     */
+    private <A> A run(int length, Leaf<A> leaf, Merge<A> merge) throws Throwable {
+        if (length <= threshold) return leaf.run(0, length);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        A result = pool.invoke(new Task<>(leaf, merge, 0, length, threshold, failure));
+        Throwable x = failure.get();
+        if (x != null) throw x;
+        return result;
+    }
+
+    /**
+     * Gives each element of the array to the consumer, in parallel.
+     *
+     * @param array the elements
+     * @param consumer what receives each element
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code consumer}
+     */
+    public void forEach(int[] array, XIntConsumer consumer) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(consumer, "consumer");
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(array[i]);
+            }
+            return null;
+        }, NOTHING);
+    }
+
+    /**
+     * Creates an array with the results of the operator on each element of the given array, computed in parallel.
+     *
+     * @param array the elements
+     * @param operator what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public int[] map(int[] array, XIntUnaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        int[] result = new int[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = operator.applyAsInt(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <R> the type of the elements of the new array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @param generator creates the new array, given its length
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <R> R[] mapToObj(int[] array, XIntFunction<? extends R> function, IntFunction<R[]> generator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(generator, "generator");
+        R[] result = generator.apply(array.length);
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.apply(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Counts the elements of the array matching the predicate, in parallel.
+     *
+     * @param array the elements
+     * @param predicate what to count
+     * @return how many elements match {@code predicate}
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code predicate}
+     */
+    public long count(int[] array, XIntPredicate predicate) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(predicate, "predicate");
+        return run(array.length, (from, to) -> {
+            long count = 0L;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) count++;
+            }
+            return count;
+        }, SUM);
+    }
+
+    /**
+     * Reduces the elements of the array with the operator, in parallel.
+     *
+     * @param array the elements
+     * @param identity the identity of {@code operator}, which is the result for an empty array
+     * @param operator an associative operator which combines two values
+     * @return the reduction of the elements
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public int reduce(int[] array, int identity, XIntBinaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        return run(array.length, (from, to) -> {
+            int result = identity;
+            for (int i = from; i < to; i++) {
+                result = operator.applyAsInt(result, array[i]);
+            }
+            return result;
+        }, (Integer left, Integer right) -> operator.applyAsInt(left, right));
+    }
+
+    /**
+     * Gives each element of the array to the consumer, in parallel.
+     *
+     * @param array the elements
+     * @param consumer what receives each element
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code consumer}
+     */
+    public void forEach(long[] array, XLongConsumer consumer) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(consumer, "consumer");
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(array[i]);
+            }
+            return null;
+        }, NOTHING);
+    }
+
+    /**
+     * Creates an array with the results of the operator on each element of the given array, computed in parallel.
+     *
+     * @param array the elements
+     * @param operator what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public long[] map(long[] array, XLongUnaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        long[] result = new long[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = operator.applyAsLong(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <R> the type of the elements of the new array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @param generator creates the new array, given its length
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <R> R[] mapToObj(long[] array, XLongFunction<? extends R> function, IntFunction<R[]> generator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(generator, "generator");
+        R[] result = generator.apply(array.length);
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.apply(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Counts the elements of the array matching the predicate, in parallel.
+     *
+     * @param array the elements
+     * @param predicate what to count
+     * @return how many elements match {@code predicate}
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code predicate}
+     */
+    public long count(long[] array, XLongPredicate predicate) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(predicate, "predicate");
+        return run(array.length, (from, to) -> {
+            long count = 0L;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) count++;
+            }
+            return count;
+        }, SUM);
+    }
+
+    /**
+     * Reduces the elements of the array with the operator, in parallel.
+     *
+     * @param array the elements
+     * @param identity the identity of {@code operator}, which is the result for an empty array
+     * @param operator an associative operator which combines two values
+     * @return the reduction of the elements
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public long reduce(long[] array, long identity, XLongBinaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        return run(array.length, (from, to) -> {
+            long result = identity;
+            for (int i = from; i < to; i++) {
+                result = operator.applyAsLong(result, array[i]);
+            }
+            return result;
+        }, (Long left, Long right) -> operator.applyAsLong(left, right));
+    }
+
+    /**
+     * Gives each element of the array to the consumer, in parallel.
+     *
+     * @param array the elements
+     * @param consumer what receives each element
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code consumer}
+     */
+    public void forEach(double[] array, XDoubleConsumer consumer) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(consumer, "consumer");
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(array[i]);
+            }
+            return null;
+        }, NOTHING);
+    }
+
+    /**
+     * Creates an array with the results of the operator on each element of the given array, computed in parallel.
+     *
+     * @param array the elements
+     * @param operator what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public double[] map(double[] array, XDoubleUnaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        double[] result = new double[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = operator.applyAsDouble(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <R> the type of the elements of the new array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @param generator creates the new array, given its length
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <R> R[] mapToObj(double[] array, XDoubleFunction<? extends R> function, IntFunction<R[]> generator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(generator, "generator");
+        R[] result = generator.apply(array.length);
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.apply(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Counts the elements of the array matching the predicate, in parallel.
+     *
+     * @param array the elements
+     * @param predicate what to count
+     * @return how many elements match {@code predicate}
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code predicate}
+     */
+    public long count(double[] array, XDoublePredicate predicate) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(predicate, "predicate");
+        return run(array.length, (from, to) -> {
+            long count = 0L;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) count++;
+            }
+            return count;
+        }, SUM);
+    }
+
+    /**
+     * Reduces the elements of the array with the operator, in parallel.
+     *
+     * @param array the elements
+     * @param identity the identity of {@code operator}, which is the result for an empty array
+     * @param operator an associative operator which combines two values
+     * @return the reduction of the elements
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public double reduce(double[] array, double identity, XDoubleBinaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        return run(array.length, (from, to) -> {
+            double result = identity;
+            for (int i = from; i < to; i++) {
+                result = operator.applyAsDouble(result, array[i]);
+            }
+            return result;
+        }, (Double left, Double right) -> operator.applyAsDouble(left, right));
+    }
+
+    /**
+     * Gives each element of the array to the consumer, in parallel.
+     *
+     * @param array the elements
+     * @param consumer what receives each element
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code consumer}
+     */
+    public void forEach(char[] array, XCharConsumer consumer) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(consumer, "consumer");
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(array[i]);
+            }
+            return null;
+        }, NOTHING);
+    }
+
+    /**
+     * Creates an array with the results of the operator on each element of the given array, computed in parallel.
+     *
+     * @param array the elements
+     * @param operator what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public char[] map(char[] array, XCharUnaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        char[] result = new char[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = operator.applyAsChar(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <R> the type of the elements of the new array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @param generator creates the new array, given its length
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <R> R[] mapToObj(char[] array, XCharFunction<? extends R> function, IntFunction<R[]> generator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(generator, "generator");
+        R[] result = generator.apply(array.length);
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.apply(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Counts the elements of the array matching the predicate, in parallel.
+     *
+     * @param array the elements
+     * @param predicate what to count
+     * @return how many elements match {@code predicate}
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code predicate}
+     */
+    public long count(char[] array, XCharPredicate predicate) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(predicate, "predicate");
+        return run(array.length, (from, to) -> {
+            long count = 0L;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) count++;
+            }
+            return count;
+        }, SUM);
+    }
+
+    /**
+     * Reduces the elements of the array with the operator, in parallel.
+     *
+     * @param array the elements
+     * @param identity the identity of {@code operator}, which is the result for an empty array
+     * @param operator an associative operator which combines two values
+     * @return the reduction of the elements
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public char reduce(char[] array, char identity, XCharBinaryOperator operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        return run(array.length, (from, to) -> {
+            char result = identity;
+            for (int i = from; i < to; i++) {
+                result = operator.applyAsChar(result, array[i]);
+            }
+            return result;
+        }, (Character left, Character right) -> operator.applyAsChar(left, right));
+    }
+
+    /**
+     * Gives each element of the array to the consumer, in parallel.
+     *
+     * @param <T> the type of the elements
+     * @param array the elements
+     * @param consumer what receives each element
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code consumer}
+     */
+    public <T> void forEach(T[] array, XConsumer<? super T> consumer) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(consumer, "consumer");
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(array[i]);
+            }
+            return null;
+        }, NOTHING);
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <T> the type of the elements of the given array
+     * @param <R> the type of the elements of the new array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @param generator creates the new array, given its length
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <T, R> R[] map(T[] array, XFunction<? super T, ? extends R> function, IntFunction<R[]> generator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(generator, "generator");
+        R[] result = generator.apply(array.length);
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.apply(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <T> the type of the elements of the given array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <T> int[] mapToInt(T[] array, XToIntFunction<? super T> function) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        int[] result = new int[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.applyAsInt(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <T> the type of the elements of the given array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <T> long[] mapToLong(T[] array, XToLongFunction<? super T> function) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        long[] result = new long[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.applyAsLong(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <T> the type of the elements of the given array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <T> double[] mapToDouble(T[] array, XToDoubleFunction<? super T> function) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        double[] result = new double[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.applyAsDouble(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Creates an array with the results of the function on each element of the given array, computed in parallel.
+     *
+     * @param <T> the type of the elements of the given array
+     * @param array the elements
+     * @param function what gives the element of the new array for each element of {@code array}
+     * @return the new array
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code function}
+     */
+    public <T> char[] mapToChar(T[] array, XToCharFunction<? super T> function) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(function, "function");
+        char[] result = new char[array.length];
+        run(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = function.applyAsChar(array[i]);
+            }
+            return null;
+        }, NOTHING);
+        return result;
+    }
+
+    /**
+     * Counts the elements of the array matching the predicate, in parallel.
+     *
+     * @param <T> the type of the elements
+     * @param array the elements
+     * @param predicate what to count
+     * @return how many elements match {@code predicate}
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first failure of {@code predicate}
+     */
+    public <T> long count(T[] array, XPredicate<? super T> predicate) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(predicate, "predicate");
+        return run(array.length, (from, to) -> {
+            long count = 0L;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) count++;
+            }
+            return count;
+        }, SUM);
+    }
+
+    /**
+     * Reduces the elements of the array with the operator, in parallel.
+     *
+     * @param <T> the type of the elements
+     * @param array the elements
+     * @param identity the identity of {@code operator}, which is the result for an empty array
+     * @param operator an associative operator which combines two values
+     * @return the reduction of the elements
+     * @throws NullPointerException if {@code array} or {@code operator} is null
+     * @throws Throwable the first failure of {@code operator}
+     */
+    public <T> T reduce(T[] array, T identity, XBiFunction<T, T, T> operator) throws Throwable {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(operator, "operator");
+        return run(array.length, (from, to) -> {
+            T result = identity;
+            for (int i = from; i < to; i++) {
+                result = operator.apply(result, array[i]);
+            }
+            return result;
+        }, operator::apply);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkExecutor[pool=" + pool + ", threshold=" + threshold + "]";
+    }
+}
@@ -0,0 +1,189 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Limits how many calls run at the same time.
+ *
+ * <p>By default, a call that would exceed the limit is rejected right away
+ * with a preallocated {@link CallRejectedException}. With
+ * {@link #maxWait(Duration)}, the call instead waits for another one to finish,
+ * up to the given time. Rejections are counted in the {@code <name>.rejected}
+ * counter and waits are timed in the {@code <name>.wait} timer of the
+ * {@linkplain #withMetrics(MetricsProvider, String) given metrics}, if any.</p>
+ *
+ * @see CallGuard
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+public final class Bulkhead implements CallGuard {
+
+    /**
+     * How many calls might run at the same time.
+     */
+    private final int maxConcurrent;
+
+    /**
+     * For how long, in nanoseconds, a call might wait for another one to finish. Zero means no waiting at all.
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * Where the rejections and waits are reported.
+     */
+    private final MetricsProvider metrics;
+
+    /**
+     * The name under which the rejections and waits are reported.
+     */
+    private final String name;
+
+    /**
+     * Counts the rejections.
+     */
+    private final MetricsProvider.Counter rejections;
+
+    /**
+     * Times the waits.
+     */
+    private final MetricsProvider.Timer waits;
+
+    /**
+     * Holds one permit per call that might still start.
+     */
+    private final Semaphore permits;
+
+    /**
+     * How many calls entered and didn't exit yet.
+     */
+    private final AtomicInteger running;
+
+    /**
+     * Thrown when a call is rejected.
+     */
+    private final CallRejectedException rejection;
+
+    /**
+     * Sole constructor.
+     * @param maxConcurrent how many calls might run at the same time
+     * @param maxWaitNanos for how long a call might wait for another one to finish
+     * @param metrics where the rejections and waits are reported
+     * @param name the name under which the rejections and waits are reported
+     */
+    private Bulkhead(int maxConcurrent, long maxWaitNanos, MetricsProvider metrics, String name) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWaitNanos;
+        this.metrics = metrics;
+        this.name = name;
+        this.rejections = metrics.counter(name + ".rejected");
+        this.waits = metrics.timer(name + ".wait");
+        this.permits = new Semaphore(maxConcurrent);
+        this.running = new AtomicInteger();
+        this.rejection = new CallRejectedException("The concurrency limit of " + name + " was exceeded.");
+    }
+
+    /**
+     * Creates a bulkhead which rejects calls right away if the limit is reached.
+     *
+     * @param maxConcurrent how many calls might run at the same time
+     * @return the new bulkhead
+     * @throws IllegalArgumentException if {@code maxConcurrent} is not positive
+     */
+    public static Bulkhead of(int maxConcurrent) {
+        if (maxConcurrent <= 0) throw new IllegalArgumentException("maxConcurrent must be positive.");
+        return new Bulkhead(maxConcurrent, 0L, MetricsProvider.disabled(), "bulkhead");
+    }
+
+    /**
+     * Returns a new bulkhead like this one, but in which a call waits
+     * for another one to finish, up to the given time.
+     *
+     * @param maxWait for how long a call might wait for another one to finish
+     * @return the new bulkhead
+     * @throws NullPointerException if {@code maxWait} is null
+     * @throws IllegalArgumentException if {@code maxWait} is negative
+     */
+    public Bulkhead maxWait(Duration maxWait) {
+        Objects.requireNonNull(maxWait, "maxWait");
+        if (maxWait.isNegative()) throw new IllegalArgumentException("maxWait can't be negative.");
+        long nanos = maxWait.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : maxWait.toNanos();
+        return new Bulkhead(maxConcurrent, nanos, metrics, name);
+    }
+
+    /**
+     * Returns a new bulkhead like this one, but which reports the
+     * rejections and waits under the given name.
+     *
+     * @param metrics where the rejections and waits are reported
+     * @param name the name under which the rejections and waits are reported
+     * @return the new bulkhead
+     * @throws NullPointerException if any parameter is null
+     */
+    public Bulkhead withMetrics(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        return new Bulkhead(maxConcurrent, maxWaitNanos, metrics, name);
+    }
+
+    /**
+     * Gives how many more calls might start right now.
+     *
+     * @return how many more calls might start right now
+     */
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Lets a call start, waiting for another one to finish if allowed.
+     *
+     * @throws CallRejectedException if the limit is still reached after waiting
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    @Override
+    public void enter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            running.incrementAndGet();
+            return;
+        }
+        if (maxWaitNanos != 0L) {
+            long start = System.nanoTime();
+            boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            waits.record(System.nanoTime() - start);
+            if (acquired) {
+                running.incrementAndGet();
+                return;
+            }
+        }
+        rejections.increment();
+        throw rejection;
+    }
+
+    /**
+     * Lets another call start.
+     *
+     * @throws IllegalStateException if there is no call which entered and didn't exit yet
+     */
+    @Override
+    public void exit() {
+        if (running.getAndUpdate(x -> x == 0 ? 0 : x - 1) == 0) {
+            throw new IllegalStateException("exit without a matching enter.");
+        }
+        permits.release();
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead[name=" + name
+                + ", maxConcurrent=" + maxConcurrent
+                + ", available=" + getAvailable()
+                + ", maxWaitNanos=" + maxWaitNanos + "]";
+    }
+}
@@ -0,0 +1,234 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.Objects;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Describes how the results of a memoized function are cached.
+ *
+ * <p>Instances are immutable. Each of the {@code with}-like methods returns
+ * a new instance differing only in the changed setting:</p>
+ * <pre>{@code
+ * XFunction<String, Document> cached = fetch.memoize(
+ *         CachePolicy.lru(10_000).expireAfterWrite(Duration.ofMinutes(5)));
+ * }</pre>
+ *
+ * <p>By default, entries never expire, failures are not cached and the
+ * cache is split in up to {@value #DEFAULT_CONCURRENCY_LEVEL} independently
+ * locked segments.</p>
+ *
+ * @see XFunction#memoize(CachePolicy)
+ * @see XBiFunction#memoize(CachePolicy)
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@Immutable
+public final class CachePolicy {
+
+    /**
+     * The default number of independently locked segments.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * How entries are chosen to be evicted once the cache is full.
+     */
+    public enum Eviction {
+
+        /**
+         * The least recently used entry is evicted to make room for the new one.
+         */
+        LRU,
+
+        /**
+         * The least recently used entry is evicted only if the new one was
+         * requested more frequently than it, as estimated by a compact
+         * frequency sketch. Otherwise, the new entry is not cached at all.
+         * This protects the cache against scans and one-hit wonders.
+         */
+        TINY_LFU
+    }
+
+    /**
+     * The maximum number of cached entries.
+     */
+    private final int maximumSize;
+
+    /**
+     * How entries are chosen to be evicted.
+     */
+    private final Eviction eviction;
+
+    /**
+     * For how long, in nanoseconds, an entry lives after being written. Zero means forever.
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * Whether failures are cached as well.
+     */
+    private final boolean cacheFailures;
+
+    /**
+     * The number of independently locked segments, or zero for no locking at all.
+     */
+    private final int concurrencyLevel;
+
+    /**
+     * Sole constructor.
+     * @param maximumSize the maximum number of cached entries
+     * @param eviction how entries are chosen to be evicted
+     * @param expireAfterWriteNanos for how long an entry lives after being written, zero means forever
+     * @param cacheFailures whether failures are cached as well
+     * @param concurrencyLevel the number of independently locked segments, or zero for no locking at all
+     */
+    private CachePolicy(int maximumSize, Eviction eviction, long expireAfterWriteNanos, boolean cacheFailures, int concurrencyLevel) {
+        this.maximumSize = maximumSize;
+        this.eviction = eviction;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.cacheFailures = cacheFailures;
+        this.concurrencyLevel = concurrencyLevel;
+    }
+
+    /**
+     * Creates a policy for a cache holding at most {@code maximumSize} entries,
+     * evicting the least recently used ones.
+     *
+     * @param maximumSize the maximum number of cached entries
+     * @return the new policy
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     */
+    public static CachePolicy lru(int maximumSize) {
+        return of(maximumSize, Eviction.LRU);
+    }
+
+    /**
+     * Creates a policy for a cache holding at most {@code maximumSize} entries,
+     * admitting new entries only if they are more frequently used than the ones
+     * they would evict.
+     *
+     * @param maximumSize the maximum number of cached entries
+     * @return the new policy
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     * @see Eviction#TINY_LFU
+     */
+    public static CachePolicy tinyLfu(int maximumSize) {
+        return of(maximumSize, Eviction.TINY_LFU);
+    }
+
+    /**
+     * Creates a policy for a cache holding at most {@code maximumSize} entries.
+     *
+     * @param maximumSize the maximum number of cached entries
+     * @param eviction how entries are chosen to be evicted
+     * @return the new policy
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     * @throws NullPointerException if {@code eviction} is null
+     */
+    public static CachePolicy of(int maximumSize, Eviction eviction) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive.");
+        Objects.requireNonNull(eviction, "eviction");
+        return new CachePolicy(maximumSize, eviction, 0L, false, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Returns a policy like this one, but where the entries expire after
+     * the given amount of time is elapsed since they were written.
+     *
+     * @param ttl for how long an entry lives after being written
+     * @return the new policy
+     * @throws NullPointerException if {@code ttl} is null
+     * @throws IllegalArgumentException if {@code ttl} is not positive
+     */
+    public CachePolicy expireAfterWrite(Duration ttl) {
+        Objects.requireNonNull(ttl, "ttl");
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("ttl must be positive.");
+        long nanos = ttl.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : ttl.toNanos();
+        return new CachePolicy(maximumSize, eviction, nanos, cacheFailures, concurrencyLevel);
+    }
+
+    /**
+     * Returns a policy like this one, but which either caches failures or not.
+     * When failures are cached, the very same {@link Throwable} instance is
+     * rethrown to every caller requesting the same key until the entry is
+     * evicted or expires.
+     *
+     * @param cacheFailures whether failures are cached as well
+     * @return the new policy
+     */
+    public CachePolicy cacheFailures(boolean cacheFailures) {
+        return new CachePolicy(maximumSize, eviction, expireAfterWriteNanos, cacheFailures, concurrencyLevel);
+    }
+
+    /**
+     * Returns a policy like this one, but with the given number of
+     * independently locked segments. A higher number reduces contention at
+     * the cost of a less precise eviction order, since each segment evicts
+     * independently. Zero means that the cache is not thread-safe at all and
+     * should be used only by a single thread.
+     *
+     * @param concurrencyLevel the number of independently locked segments
+     * @return the new policy
+     * @throws IllegalArgumentException if {@code concurrencyLevel} is negative
+     */
+    public CachePolicy concurrencyLevel(int concurrencyLevel) {
+        if (concurrencyLevel < 0) throw new IllegalArgumentException("concurrencyLevel can't be negative.");
+        return new CachePolicy(maximumSize, eviction, expireAfterWriteNanos, cacheFailures, concurrencyLevel);
+    }
+
+    /**
+     * Returns the maximum number of cached entries.
+     *
+     * @return the maximum number of cached entries
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns how entries are chosen to be evicted once the cache is full.
+     *
+     * @return how entries are chosen to be evicted
+     */
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    /**
+     * Returns for how long, in nanoseconds, an entry lives after being written.
+     *
+     * @return for how long an entry lives after being written, or zero if entries never expire
+     */
+    public long getExpireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    /**
+     * Tells whether failures are cached as well.
+     *
+     * @return whether failures are cached as well
+     */
+    public boolean isCachingFailures() {
+        return cacheFailures;
+    }
+
+    /**
+     * Returns the number of independently locked segments.
+     *
+     * @return the number of independently locked segments, or zero if the cache is not thread-safe
+     */
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    @Override
+    public String toString() {
+        return "CachePolicy[maximumSize=" + maximumSize
+                + ", eviction=" + eviction
+                + ", expireAfterWriteNanos=" + expireAfterWriteNanos
+                + ", cacheFailures=" + cacheFailures
+                + ", concurrencyLevel=" + concurrencyLevel + "]";
+    }
+}
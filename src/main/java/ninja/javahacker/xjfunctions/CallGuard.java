@@ -0,0 +1,31 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Decides whether calls might go through, such as a {@link RateLimiter}
+ * or a {@link Bulkhead}.
+ *
+ * <p>The {@code guardedBy(CallGuard)} decorators of the X* interfaces call
+ * {@link #enter()} before each call, which either returns to let the call
+ * through, possibly after waiting, or throws to reject it. If it returns,
+ * {@link #exit()} is called once the call is over, whatever its outcome.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public interface CallGuard {
+
+    /**
+     * Called before a call, in order to let it through or not.
+     *
+     * @throws CallRejectedException if the call is rejected
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public void enter() throws InterruptedException;
+
+    /**
+     * Called after a call that went through, whatever its outcome.
+     * Does nothing by default.
+     */
+    public default void exit() {
+    }
+}
@@ -0,0 +1,27 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Thrown instead of making a call rejected by a {@link CallGuard}.
+ *
+ * <p>Each guard throws always the same preallocated instance, which has no
+ * stack trace and doesn't support suppressed exceptions, so rejecting a call
+ * costs nearly nothing.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public class CallRejectedException extends RuntimeException {
+
+    /**
+     * For serialization.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor with a message.
+     * @param message The message of this exception
+     */
+    protected CallRejectedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,28 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Represents an operation upon two {@code char}-valued operands and producing a
+ * {@code char}-valued result.  This is the primitive type specialization of
+ * {@link java.util.function.BinaryOperator BinaryOperator} for {@code char}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsChar(char, char)}.</p>
+ *
+ * @see java.util.function.BinaryOperator
+ * @see java.util.function.IntBinaryOperator
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface CharBinaryOperator {
+
+    /**
+     * Applies this operator to the given operands.
+     *
+     * @param left the first operand
+     * @param right the second operand
+     * @return the operator result
+     */
+    public char applyAsChar(char left, char right);
+}
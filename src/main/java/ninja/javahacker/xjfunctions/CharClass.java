@@ -0,0 +1,347 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Arrays;
+import java.util.Objects;
+import net.jcip.annotations.Immutable;
+
+/**
+ * An immutable set of {@code char}s, tested by a single table lookup.
+ *
+ * <p>The set is kept as a bitmap of all the 65536 {@code char} values, which
+ * takes 8 KiB. Testing a {@code char} is a single array access, a shift and a
+ * mask, whatever the way the class was built, so a lexer might test a class
+ * built from dozens of ranges and categories as cheaply as a single range.
+ * Combining classes with {@link #and(CharPredicate)}, {@link #or(CharPredicate)},
+ * {@link #andNot(CharPredicate)} and {@link #negate()} also gives new
+ * classes, computed word by word, instead of nesting lambdas.</p>
+ *
+ * <p>Any other {@link CharPredicate} might be {@linkplain #of(CharPredicate)
+ * materialized} into a class, which evaluates it once for each {@code char}
+ * value. That is also what happens to the other predicate when combining a
+ * class with something which is not a class, so the predicate should be free
+ * of side effects.</p>
+ * <pre>{@code
+ * CharClass identifierStart = CharClass.range('a', 'z')
+ *         .or(CharClass.range('A', 'Z'))
+ *         .or(CharClass.ofChars('_', '$'));
+ * CharClass identifierPart = identifierStart.or(CharClass.ofType(Character.DECIMAL_DIGIT_NUMBER));
+ * }</pre>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@Immutable
+public final class CharClass implements CharPredicate {
+
+    /**
+     * How many {@code long} words the bitmap takes.
+     */
+    private static final int WORDS = 1 << 10;
+
+    /**
+     * The class with no {@code char}s.
+     */
+    private static final CharClass NONE = new CharClass(new long[WORDS]);
+
+    /**
+     * The class with every {@code char}.
+     */
+    private static final CharClass ALL = NONE.negate();
+
+    /**
+     * The bitmap, where the bit {@code c & 63} of the word {@code c >>> 6} tells whether {@code c} belongs to the class.
+     */
+    final long[] bits;
+
+    /**
+     * Sole constructor.
+     * @param bits the bitmap, which must not be changed afterwards
+     */
+    private CharClass(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Gives the class with no {@code char}s.
+     *
+     * @return the class with no {@code char}s
+     */
+    public static CharClass none() {
+        return NONE;
+    }
+
+    /**
+     * Gives the class with every {@code char}.
+     *
+     * @return the class with every {@code char}
+     */
+    public static CharClass all() {
+        return ALL;
+    }
+
+    /**
+     * Materializes the given predicate into a class, by evaluating it once for each {@code char} value.
+     *
+     * @param predicate the predicate to materialize
+     * @return the class of the {@code char}s which match {@code predicate}, or {@code predicate} itself if it is already a class
+     * @throws NullPointerException if {@code predicate} is null
+     */
+    public static CharClass of(CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        if (predicate instanceof CharClass) return (CharClass) predicate;
+        long[] bits = new long[WORDS];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (predicate.test((char) c)) bits[c >>> 6] |= 1L << c;
+        }
+        return new CharClass(bits);
+    }
+
+    /**
+     * Gives the class of the {@code char}s in the given range.
+     *
+     * @param from the first {@code char} of the range
+     * @param to the last {@code char} of the range, inclusive
+     * @return the class of the {@code char}s from {@code from} to {@code to}
+     * @throws IllegalArgumentException if {@code from} is greater than {@code to}
+     */
+    public static CharClass range(char from, char to) {
+        if (from > to) throw new IllegalArgumentException("from can't be greater than to.");
+        long[] bits = new long[WORDS];
+        setRange(bits, from, to + 1);
+        return new CharClass(bits);
+    }
+
+    /**
+     * Gives the class of the given {@code char}s.
+     *
+     * @param chars the {@code char}s of the class
+     * @return the class of the given {@code char}s
+     * @throws NullPointerException if {@code chars} is null
+     */
+    public static CharClass ofChars(char... chars) {
+        Objects.requireNonNull(chars, "chars");
+        long[] bits = new long[WORDS];
+        for (char c : chars) {
+            bits[c >>> 6] |= 1L << c;
+        }
+        return new CharClass(bits);
+    }
+
+    /**
+     * Gives the class of the {@code char}s found in the given text.
+     *
+     * @param chars the {@code char}s of the class
+     * @return the class of the {@code char}s found in {@code chars}
+     * @throws NullPointerException if {@code chars} is null
+     */
+    public static CharClass ofChars(CharSequence chars) {
+        Objects.requireNonNull(chars, "chars");
+        long[] bits = new long[WORDS];
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            char c = chars.charAt(i);
+            bits[c >>> 6] |= 1L << c;
+        }
+        return new CharClass(bits);
+    }
+
+    /**
+     * Gives the class of the {@code char}s whose {@linkplain Character#getType(char) general category}
+     * is any of the given ones, such as {@link Character#UPPERCASE_LETTER} or {@link Character#DECIMAL_DIGIT_NUMBER}.
+     *
+     * @param types the general categories of the class
+     * @return the class of the {@code char}s of any of the given general categories
+     * @throws NullPointerException if {@code types} is null
+     * @throws IllegalArgumentException if any of the {@code types} is not a general category
+     */
+    public static CharClass ofType(int... types) {
+        Objects.requireNonNull(types, "types");
+        int mask = 0;
+        for (int type : types) {
+            if (type < 0 || type > Character.FINAL_QUOTE_PUNCTUATION) {
+                throw new IllegalArgumentException("types must be Character general categories.");
+            }
+            mask |= 1 << type;
+        }
+        long[] bits = new long[WORDS];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if ((mask & (1 << Character.getType(c))) != 0) bits[c >>> 6] |= 1L << c;
+        }
+        return new CharClass(bits);
+    }
+
+    /**
+     * Sets the bits of a range of {@code char}s.
+     * @param bits the bitmap
+     * @param from the first {@code char} of the range
+     * @param end the {@code char} after the last one of the range, at most {@code 65536}
+     */
+    private static void setRange(long[] bits, int from, int end) {
+        int first = from >>> 6;
+        int last = (end - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -end;
+        if (first == last) {
+            bits[first] |= firstMask & lastMask;
+            return;
+        }
+        bits[first] |= firstMask;
+        Arrays.fill(bits, first + 1, last, -1L);
+        bits[last] |= lastMask;
+    }
+
+    @Override
+    public boolean test(char value) {
+        return (bits[value >>> 6] & (1L << value)) != 0L;
+    }
+
+    /**
+     * Gives the class of the {@code char}s which belong both to this class and to the given predicate.
+     *
+     * @param other the predicate to intersect with this class, materialized if it is not a class
+     * @return the intersection of this class and {@code other}
+     * @throws NullPointerException if {@code other} is null
+     */
+    @Override
+    public CharClass and(CharPredicate other) {
+        long[] o = of(other).bits;
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = bits[i] & o[i];
+        }
+        return new CharClass(result);
+    }
+
+    /**
+     * Gives the class of the {@code char}s which belong to this class or to the given predicate.
+     *
+     * @param other the predicate to unite with this class, materialized if it is not a class
+     * @return the union of this class and {@code other}
+     * @throws NullPointerException if {@code other} is null
+     */
+    @Override
+    public CharClass or(CharPredicate other) {
+        long[] o = of(other).bits;
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = bits[i] | o[i];
+        }
+        return new CharClass(result);
+    }
+
+    /**
+     * Gives the class of the {@code char}s which belong to this class but not to the given predicate.
+     *
+     * @param other the predicate to subtract from this class, materialized if it is not a class
+     * @return the difference between this class and {@code other}
+     * @throws NullPointerException if {@code other} is null
+     */
+    public CharClass andNot(CharPredicate other) {
+        long[] o = of(other).bits;
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = bits[i] & ~o[i];
+        }
+        return new CharClass(result);
+    }
+
+    /**
+     * Gives the class of the {@code char}s which don't belong to this class.
+     *
+     * @return the complement of this class
+     */
+    @Override
+    public CharClass negate() {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = ~bits[i];
+        }
+        return new CharClass(result);
+    }
+
+    /**
+     * Gives the first {@code char} of this class at or after the given one.
+     *
+     * @param from the {@code char} from where the search starts
+     * @return the first {@code char} of this class at or after {@code from}, or {@code -1} if there is none
+     */
+    public int nextChar(char from) {
+        int w = from >>> 6;
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0L) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == WORDS) return -1;
+            word = bits[w];
+        }
+    }
+
+    /**
+     * Tells how many {@code char}s belong to this class.
+     *
+     * @return how many {@code char}s belong to this class
+     */
+    public int size() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Tells whether no {@code char} belongs to this class.
+     *
+     * @return whether no {@code char} belongs to this class
+     */
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0L) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CharClass && Arrays.equals(bits, ((CharClass) other).bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    /**
+     * Gives the ranges of this class, such as {@code CharClass[0-9, A-Z, _, a-z]}.
+     * {@code char}s which are not printable ASCII are given as Unicode escapes.
+     *
+     * @return the ranges of this class
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CharClass[");
+        int c = nextChar('\0');
+        while (c >= 0) {
+            int end = c;
+            while (end < Character.MAX_VALUE && test((char) (end + 1))) {
+                end++;
+            }
+            if (sb.length() > 10) sb.append(", ");
+            appendChar(sb, c);
+            if (end != c) appendChar(sb.append('-'), end);
+            c = end == Character.MAX_VALUE ? -1 : nextChar((char) (end + 1));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Appends a {@code char} to a {@link StringBuilder}, as a Unicode escape if it is not printable ASCII.
+     * @param sb where the {@code char} is appended
+     * @param c the {@code char}
+     */
+    private static void appendChar(StringBuilder sb, int c) {
+        if (c > ' ' && c < 0x7F) {
+            sb.append((char) c);
+        } else {
+            sb.append(String.format("\\u%04x", c));
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package ninja.javahacker.xjfunctions;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bulk searches of {@code char}s matching a {@link CharPredicate} in
+ * {@code char[]}s and in {@link CharSequence}s, such as {@link String}s,
+ * {@link StringBuilder}s and {@link CharBuffer}s.
+ *
+ * <p>Each search is a single tight loop. If the predicate is a
+ * {@link CharClass}, the loop reads its bitmap directly instead of calling
+ * the predicate, so each {@code char} costs a table lookup and no call at all.
+ * Other predicates are called once per {@code char}, so materializing them
+ * with {@link CharClass#of(CharPredicate)} pays off when scanning lots of
+ * text. Heap {@link CharBuffer}s are scanned straight through their backing
+ * arrays.</p>
+ *
+ * <p>Indexes in {@link CharSequence}s are relative to the sequence, so, for a
+ * {@link CharBuffer}, to its position.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class CharScanner {
+
+    /**
+     * Prevents instantiation.
+     * @throws UnsupportedOperationException Always.
+     */
+    private CharScanner() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Finds the first {@code char} of the array matching the predicate.
+     *
+     * @param chars the array to search in
+     * @param predicate what to search for
+     * @return the index of the first {@code char} matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if any parameter is null
+     */
+    public static int indexOf(char[] chars, CharPredicate predicate) {
+        return indexOf(chars, 0, chars.length, predicate);
+    }
+
+    /**
+     * Finds the first {@code char} of a range of the array matching the predicate.
+     *
+     * @param chars the array to search in
+     * @param from the index where the range starts, inclusive
+     * @param to the index where the range ends, exclusive
+     * @param predicate what to search for
+     * @return the index of the first {@code char} of the range matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if {@code chars} or {@code predicate} is null
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int indexOf(char[] chars, int from, int to, CharPredicate predicate) {
+        Objects.checkFromToIndex(from, to, chars.length);
+        Objects.requireNonNull(predicate, "predicate");
+        if (predicate instanceof CharClass) {
+            long[] bits = ((CharClass) predicate).bits;
+            for (int i = from; i < to; i++) {
+                char c = chars[i];
+                if ((bits[c >>> 6] & (1L << c)) != 0L) return i;
+            }
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (predicate.test(chars[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first {@code char} of the sequence matching the predicate.
+     *
+     * @param chars the sequence to search in
+     * @param predicate what to search for
+     * @return the index of the first {@code char} matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if any parameter is null
+     */
+    public static int indexOf(CharSequence chars, CharPredicate predicate) {
+        return indexOf(chars, 0, chars.length(), predicate);
+    }
+
+    /**
+     * Finds the first {@code char} of a range of the sequence matching the predicate.
+     *
+     * @param chars the sequence to search in
+     * @param from the index where the range starts, inclusive
+     * @param to the index where the range ends, exclusive
+     * @param predicate what to search for
+     * @return the index of the first {@code char} of the range matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if {@code chars} or {@code predicate} is null
+     * @throws IndexOutOfBoundsException if the range is not within the sequence
+     */
+    public static int indexOf(CharSequence chars, int from, int to, CharPredicate predicate) {
+        Objects.checkFromToIndex(from, to, chars.length());
+        Objects.requireNonNull(predicate, "predicate");
+        int offset = arrayOffset(chars);
+        if (offset >= 0) {
+            int found = indexOf(((CharBuffer) chars).array(), from + offset, to + offset, predicate);
+            return found < 0 ? -1 : found - offset;
+        }
+        if (predicate instanceof CharClass) {
+            long[] bits = ((CharClass) predicate).bits;
+            for (int i = from; i < to; i++) {
+                char c = chars.charAt(i);
+                if ((bits[c >>> 6] & (1L << c)) != 0L) return i;
+            }
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (predicate.test(chars.charAt(i))) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the last {@code char} of the array matching the predicate.
+     *
+     * @param chars the array to search in
+     * @param predicate what to search for
+     * @return the index of the last {@code char} matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if any parameter is null
+     */
+    public static int lastIndexOf(char[] chars, CharPredicate predicate) {
+        return lastIndexOf(chars, 0, chars.length, predicate);
+    }
+
+    /**
+     * Finds the last {@code char} of a range of the array matching the predicate.
+     *
+     * @param chars the array to search in
+     * @param from the index where the range starts, inclusive
+     * @param to the index where the range ends, exclusive
+     * @param predicate what to search for
+     * @return the index of the last {@code char} of the range matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if {@code chars} or {@code predicate} is null
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int lastIndexOf(char[] chars, int from, int to, CharPredicate predicate) {
+        Objects.checkFromToIndex(from, to, chars.length);
+        Objects.requireNonNull(predicate, "predicate");
+        if (predicate instanceof CharClass) {
+            long[] bits = ((CharClass) predicate).bits;
+            for (int i = to - 1; i >= from; i--) {
+                char c = chars[i];
+                if ((bits[c >>> 6] & (1L << c)) != 0L) return i;
+            }
+            return -1;
+        }
+        for (int i = to - 1; i >= from; i--) {
+            if (predicate.test(chars[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the last {@code char} of the sequence matching the predicate.
+     *
+     * @param chars the sequence to search in
+     * @param predicate what to search for
+     * @return the index of the last {@code char} matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if any parameter is null
+     */
+    public static int lastIndexOf(CharSequence chars, CharPredicate predicate) {
+        return lastIndexOf(chars, 0, chars.length(), predicate);
+    }
+
+    /**
+     * Finds the last {@code char} of a range of the sequence matching the predicate.
+     *
+     * @param chars the sequence to search in
+     * @param from the index where the range starts, inclusive
+     * @param to the index where the range ends, exclusive
+     * @param predicate what to search for
+     * @return the index of the last {@code char} of the range matching {@code predicate}, or {@code -1} if none matches
+     * @throws NullPointerException if {@code chars} or {@code predicate} is null
+     * @throws IndexOutOfBoundsException if the range is not within the sequence
+     */
+    public static int lastIndexOf(CharSequence chars, int from, int to, CharPredicate predicate) {
+        Objects.checkFromToIndex(from, to, chars.length());
+        Objects.requireNonNull(predicate, "predicate");
+        int offset = arrayOffset(chars);
+        if (offset >= 0) {
+            int found = lastIndexOf(((CharBuffer) chars).array(), from + offset, to + offset, predicate);
+            return found < 0 ? -1 : found - offset;
+        }
+        if (predicate instanceof CharClass) {
+            long[] bits = ((CharClass) predicate).bits;
+            for (int i = to - 1; i >= from; i--) {
+                char c = chars.charAt(i);
+                if ((bits[c >>> 6] & (1L << c)) != 0L) return i;
+            }
+            return -1;
+        }
+        for (int i = to - 1; i >= from; i--) {
+            if (predicate.test(chars.charAt(i))) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the {@code char}s of the array matching the predicate.
+     *
+     * @param chars the array to search in
+     * @param predicate what to count
+     * @return how many {@code char}s match {@code predicate}
+     * @throws NullPointerException if any parameter is null
+     */
+    public static int count(char[] chars, CharPredicate predicate) {
+        return count(chars, 0, chars.length, predicate);
+    }
+
+    /**
+     * Counts the {@code char}s of a range of the array matching the predicate.
+     *
+     * @param chars the array to search in
+     * @param from the index where the range starts, inclusive
+     * @param to the index where the range ends, exclusive
+     * @param predicate what to count
+     * @return how many {@code char}s of the range match {@code predicate}
+     * @throws NullPointerException if {@code chars} or {@code predicate} is null
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int count(char[] chars, int from, int to, CharPredicate predicate) {
+        Objects.checkFromToIndex(from, to, chars.length);
+        Objects.requireNonNull(predicate, "predicate");
+        int count = 0;
+        if (predicate instanceof CharClass) {
+            long[] bits = ((CharClass) predicate).bits;
+            for (int i = from; i < to; i++) {
+                char c = chars[i];
+                count += (int) ((bits[c >>> 6] >>> c) & 1L);
+            }
+            return count;
+        }
+        for (int i = from; i < to; i++) {
+            if (predicate.test(chars[i])) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the {@code char}s of the sequence matching the predicate.
+     *
+     * @param chars the sequence to search in
+     * @param predicate what to count
+     * @return how many {@code char}s match {@code predicate}
+     * @throws NullPointerException if any parameter is null
+     */
+    public static int count(CharSequence chars, CharPredicate predicate) {
+        return count(chars, 0, chars.length(), predicate);
+    }
+
+    /**
+     * Counts the {@code char}s of a range of the sequence matching the predicate.
+     *
+     * @param chars the sequence to search in
+     * @param from the index where the range starts, inclusive
+     * @param to the index where the range ends, exclusive
+     * @param predicate what to count
+     * @return how many {@code char}s of the range match {@code predicate}
+     * @throws NullPointerException if {@code chars} or {@code predicate} is null
+     * @throws IndexOutOfBoundsException if the range is not within the sequence
+     */
+    public static int count(CharSequence chars, int from, int to, CharPredicate predicate) {
+        Objects.checkFromToIndex(from, to, chars.length());
+        Objects.requireNonNull(predicate, "predicate");
+        int offset = arrayOffset(chars);
+        if (offset >= 0) return count(((CharBuffer) chars).array(), from + offset, to + offset, predicate);
+        int count = 0;
+        if (predicate instanceof CharClass) {
+            long[] bits = ((CharClass) predicate).bits;
+            for (int i = from; i < to; i++) {
+                char c = chars.charAt(i);
+                count += (int) ((bits[c >>> 6] >>> c) & 1L);
+            }
+            return count;
+        }
+        for (int i = from; i < to; i++) {
+            if (predicate.test(chars.charAt(i))) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Splits the array into the tokens separated by the {@code char}s matching the predicate.
+     * Empty tokens are skipped, so leading, trailing and repeated delimiters give no tokens.
+     *
+     * @param chars the array to split
+     * @param delimiter which {@code char}s separate the tokens
+     * @return the tokens, in order
+     * @throws NullPointerException if any parameter is null
+     */
+    public static List<String> split(char[] chars, CharPredicate delimiter) {
+        Objects.requireNonNull(chars, "chars");
+        Objects.requireNonNull(delimiter, "delimiter");
+        return split(chars, 0, chars.length, delimiter);
+    }
+
+    /**
+     * Splits the sequence into the tokens separated by the {@code char}s matching the predicate.
+     * Empty tokens are skipped, so leading, trailing and repeated delimiters give no tokens.
+     *
+     * @param chars the sequence to split
+     * @param delimiter which {@code char}s separate the tokens
+     * @return the tokens, in order
+     * @throws NullPointerException if any parameter is null
+     */
+    public static List<String> split(CharSequence chars, CharPredicate delimiter) {
+        Objects.requireNonNull(chars, "chars");
+        Objects.requireNonNull(delimiter, "delimiter");
+        int offset = arrayOffset(chars);
+        if (offset >= 0) return split(((CharBuffer) chars).array(), offset, offset + chars.length(), delimiter);
+        long[] bits = delimiter instanceof CharClass ? ((CharClass) delimiter).bits : null;
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            char c = chars.charAt(i);
+            boolean delimits = bits != null ? (bits[c >>> 6] & (1L << c)) != 0L : delimiter.test(c);
+            if (!delimits) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                tokens.add(chars.subSequence(start, i).toString());
+                start = -1;
+            }
+        }
+        if (start >= 0) tokens.add(chars.subSequence(start, chars.length()).toString());
+        return tokens;
+    }
+
+    /**
+     * Splits a range of the array into the tokens separated by the {@code char}s matching the predicate.
+     * @param chars the array to split
+     * @param from the index where the range starts, inclusive
+     * @param to the index where the range ends, exclusive
+     * @param delimiter which {@code char}s separate the tokens
+     * @return the tokens, in order
+     */
+    private static List<String> split(char[] chars, int from, int to, CharPredicate delimiter) {
+        long[] bits = delimiter instanceof CharClass ? ((CharClass) delimiter).bits : null;
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = from; i < to; i++) {
+            char c = chars[i];
+            boolean delimits = bits != null ? (bits[c >>> 6] & (1L << c)) != 0L : delimiter.test(c);
+            if (!delimits) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                tokens.add(new String(chars, start, i - start));
+                start = -1;
+            }
+        }
+        if (start >= 0) tokens.add(new String(chars, start, to - start));
+        return tokens;
+    }
+
+    /**
+     * Gives the offset of the first {@code char} of the sequence in its backing array,
+     * if it is a heap {@link CharBuffer}.
+     * @param chars the sequence
+     * @return the offset of the first {@code char} of the sequence in its backing array,
+     *     or {@code -1} if it is not a {@link CharBuffer} backed by an accessible array
+     */
+    private static int arrayOffset(CharSequence chars) {
+        if (!(chars instanceof CharBuffer)) return -1;
+        CharBuffer buffer = (CharBuffer) chars;
+        return buffer.hasArray() ? buffer.arrayOffset() + buffer.position() : -1;
+    }
+}
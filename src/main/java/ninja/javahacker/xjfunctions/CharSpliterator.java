@@ -0,0 +1,79 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} specialized for {@code char} values.
+ * This is the {@code char} counterpart of {@link Spliterator.OfInt}.
+ *
+ * @see Spliterator.OfInt
+ * @see CharStream
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public interface CharSpliterator extends Spliterator.OfPrimitive<Character, CharConsumer, CharSpliterator> {
+
+    /**
+     * {@inheritDoc}
+     * @param action {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(CharConsumer action);
+
+    /**
+     * {@inheritDoc}
+     * @param action {@inheritDoc}
+     */
+    @Override
+    public default void forEachRemaining(CharConsumer action) {
+        Objects.requireNonNull(action, "action");
+        while (tryAdvance(action)) {
+            // Keep going.
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CharSpliterator trySplit();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec If the action is an instance of {@link CharConsumer} then it
+     *     is used directly, otherwise the values are boxed.
+     *
+     * @param action {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public default boolean tryAdvance(Consumer<? super Character> action) {
+        Objects.requireNonNull(action, "action");
+        if (action instanceof CharConsumer) return tryAdvance((CharConsumer) action);
+        return tryAdvance((CharConsumer) action::accept);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec If the action is an instance of {@link CharConsumer} then it
+     *     is used directly, otherwise the values are boxed.
+     *
+     * @param action {@inheritDoc}
+     */
+    @Override
+    public default void forEachRemaining(Consumer<? super Character> action) {
+        Objects.requireNonNull(action, "action");
+        if (action instanceof CharConsumer) {
+            forEachRemaining((CharConsumer) action);
+        } else {
+            forEachRemaining((CharConsumer) action::accept);
+        }
+    }
+}
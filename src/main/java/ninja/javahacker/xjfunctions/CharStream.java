@@ -0,0 +1,1014 @@
+package ninja.javahacker.xjfunctions;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sequence of primitive {@code char}-valued elements supporting sequential
+ * and parallel aggregate operations. This is the {@code char} primitive
+ * specialization of {@link Stream}, built upon {@link CharPredicate},
+ * {@link CharUnaryOperator}, {@link CharFunction} and {@link CharConsumer}.
+ *
+ * <p>Differently from {@link CharSequence#chars()}, the elements are never
+ * widened to {@code int} unless {@link #asIntStream()} is explicitly used.
+ * The sources are read in place, so no copy of the {@link String},
+ * {@code char[]}, {@link CharBuffer} or {@link CharSequence} is made.
+ * Like in {@link Stream}, the source should not be modified while the
+ * pipeline is executing.</p>
+ *
+ * <p>A {@code CharStream} should be operated on only once. Every intermediate
+ * operation returns a new {@code CharStream} and every operation, either
+ * intermediate or terminal, consumes the stream on which it was called.
+ * Parallel terminal operations are executed in the {@link ForkJoinPool#commonPool()}.</p>
+ *
+ * @see Stream
+ * @see IntStream
+ * @see CharSpliterator
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class CharStream {
+
+    /**
+     * The characteristics of the spliterators reading directly from a source.
+     */
+    private static final int SOURCE_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    /**
+     * The source of the elements.
+     */
+    private final CharSpliterator spliterator;
+
+    /**
+     * Whether the terminal operations should be executed in parallel.
+     */
+    private final boolean parallel;
+
+    /**
+     * Whether this stream was already operated upon.
+     */
+    private boolean consumed;
+
+    /**
+     * Sole constructor.
+     * @param spliterator the source of the elements
+     * @param parallel whether the terminal operations should be executed in parallel
+     */
+    private CharStream(CharSpliterator spliterator, boolean parallel) {
+        this.spliterator = spliterator;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns an empty sequential {@code CharStream}.
+     *
+     * @return an empty sequential stream
+     */
+    public static CharStream empty() {
+        return of(new char[0]);
+    }
+
+    /**
+     * Returns a sequential ordered stream whose elements are the specified values.
+     * The array is not copied.
+     *
+     * @param values the elements of the new stream
+     * @return the new stream
+     * @throws NullPointerException if {@code values} is null
+     */
+    public static CharStream of(char... values) {
+        Objects.requireNonNull(values, "values");
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns a sequential ordered stream whose elements are the values
+     * in the specified range of the given array. The array is not copied.
+     *
+     * @param array the array, assumed to be unmodified during use
+     * @param startInclusive the first index to cover, inclusive
+     * @param endExclusive index immediately past the last index to cover
+     * @return the new stream
+     * @throws NullPointerException if {@code array} is null
+     * @throws ArrayIndexOutOfBoundsException if {@code startInclusive} is
+     *     negative, {@code endExclusive} is less than {@code startInclusive},
+     *     or {@code endExclusive} is greater than the array size
+     */
+    public static CharStream of(char[] array, int startInclusive, int endExclusive) {
+        Objects.requireNonNull(array, "array");
+        if (startInclusive < 0 || endExclusive < startInclusive || endExclusive > array.length) {
+            throw new ArrayIndexOutOfBoundsException(
+                    "startInclusive=" + startInclusive + ", endExclusive=" + endExclusive + ", length=" + array.length);
+        }
+        return new CharStream(new ArraySpliterator(array, startInclusive, endExclusive), false);
+    }
+
+    /**
+     * Returns a sequential ordered stream whose elements are the characters of
+     * the given {@link CharSequence}, which might be a {@link String},
+     * a {@link StringBuilder}, a {@link CharBuffer} or anything else.
+     * The characters are read in place through {@link CharSequence#charAt(int)}.
+     * If the sequence is a {@link CharBuffer}, the elements are the
+     * ones between its position and its limit and the position is left untouched.
+     *
+     * @param sequence the source of the elements, assumed to be unmodified during use
+     * @return the new stream
+     * @throws NullPointerException if {@code sequence} is null
+     */
+    public static CharStream of(CharSequence sequence) {
+        Objects.requireNonNull(sequence, "sequence");
+        return new CharStream(new SequenceSpliterator(sequence, 0, sequence.length()), false);
+    }
+
+    /**
+     * Returns a stream whose elements are the ones provided by the given spliterator.
+     *
+     * @param spliterator the source of the elements
+     * @param parallel if {@code true} then the returned stream is parallel,
+     *     otherwise it is sequential
+     * @return the new stream
+     * @throws NullPointerException if {@code spliterator} is null
+     */
+    public static CharStream of(CharSpliterator spliterator, boolean parallel) {
+        Objects.requireNonNull(spliterator, "spliterator");
+        return new CharStream(spliterator, parallel);
+    }
+
+    /**
+     * Marks this stream as operated upon.
+     * @return the source of the elements
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    private CharSpliterator consume() {
+        if (consumed) throw new IllegalStateException("stream has already been operated upon");
+        consumed = true;
+        return spliterator;
+    }
+
+    /**
+     * Returns whether the terminal operations of this stream would execute in parallel.
+     *
+     * @return {@code true} if this stream is parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel.
+     *
+     * @return a parallel stream
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public CharStream parallel() {
+        return new CharStream(consume(), true);
+    }
+
+    /**
+     * Returns an equivalent stream that is sequential.
+     *
+     * @return a sequential stream
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public CharStream sequential() {
+        return new CharStream(consume(), false);
+    }
+
+    /**
+     * Returns the spliterator of the elements of this stream.
+     * This is a terminal operation.
+     *
+     * @return the element spliterator for this stream
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public CharSpliterator spliterator() {
+        return consume();
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream that match
+     * the given predicate.
+     *
+     * @param predicate the predicate to apply to each element to determine
+     *     if it should be included
+     * @return the new stream
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public CharStream filter(CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new CharStream(new FilterSpliterator(consume(), predicate), parallel);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * operator to the elements of this stream.
+     *
+     * @param mapper the operator to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public CharStream map(CharUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new CharStream(new MapSpliterator(consume(), mapper), parallel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * performing the provided action on each element as elements are consumed.
+     *
+     * @param action the action to perform on the elements
+     * @return the new stream
+     * @throws NullPointerException if {@code action} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public CharStream peek(CharConsumer action) {
+        Objects.requireNonNull(action, "action");
+        return map(c -> {
+            action.accept(c);
+            return c;
+        });
+    }
+
+    /**
+     * Returns an object-valued {@link Stream} consisting of the results of
+     * applying the given function to the elements of this stream.
+     * The elements are not boxed into {@link Character}s before being mapped.
+     *
+     * @param <U> the element type of the new stream
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public <U> Stream<U> mapToObj(CharFunction<? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return StreamSupport.stream(new MapToObjSpliterator<>(consume(), mapper), parallel);
+    }
+
+    /**
+     * Returns an {@link IntStream} consisting of the elements of this stream,
+     * each one zero-extended to an {@code int}.
+     *
+     * @return the new stream
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public IntStream asIntStream() {
+        return StreamSupport.intStream(new IntSpliteratorAdapter(consume()), parallel);
+    }
+
+    /**
+     * Performs an action for each element of this stream. In parallel streams,
+     * no order is guaranteed and the action might be called concurrently.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public void forEach(CharConsumer action) {
+        Objects.requireNonNull(action, "action");
+        evaluate(s -> {
+            s.forEachRemaining(action);
+            return Boolean.TRUE;
+        }, (a, b) -> Boolean.TRUE);
+    }
+
+    /**
+     * Performs an action for each element of this stream, in the encounter
+     * order of the stream, even if it is parallel.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public void forEachOrdered(CharConsumer action) {
+        Objects.requireNonNull(action, "action");
+        consume().forEachRemaining(action);
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using the provided
+     * identity value and an associative accumulation function, and returns
+     * the reduced value.
+     * This is a terminal operation.
+     *
+     * @param identity the identity value for the accumulating function
+     * @param op an associative, non-interfering and stateless function for
+     *     combining two values
+     * @return the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public char reduce(char identity, CharBinaryOperator op) {
+        Objects.requireNonNull(op, "op");
+        return evaluate(s -> {
+            CharAccumulator acc = new CharAccumulator(op);
+            acc.value = identity;
+            acc.present = true;
+            s.forEachRemaining(acc);
+            return acc;
+        }, CharAccumulator::combine).value;
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using an
+     * associative accumulation function, and returns an {@link OptionalChar}
+     * describing the reduced value, if any.
+     * This is a terminal operation.
+     *
+     * @param op an associative, non-interfering and stateless function for
+     *     combining two values
+     * @return the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public OptionalChar reduce(CharBinaryOperator op) {
+        Objects.requireNonNull(op, "op");
+        CharAccumulator result = evaluate(s -> {
+            CharAccumulator acc = new CharAccumulator(op);
+            s.forEachRemaining(acc);
+            return acc;
+        }, CharAccumulator::combine);
+        return result.present ? OptionalChar.of(result.value) : OptionalChar.empty();
+    }
+
+    /**
+     * Returns the count of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the count of elements in this stream
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public long count() {
+        return evaluate(s -> {
+            long size = s.getExactSizeIfKnown();
+            if (size >= 0) return size;
+            long[] counter = {0};
+            s.forEachRemaining((char c) -> counter[0]++);
+            return counter[0];
+        }, Long::sum);
+    }
+
+    /**
+     * Returns an {@link OptionalChar} describing the first element of this
+     * stream, or an empty {@code OptionalChar} if the stream is empty.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return the first element of this stream, if any
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public OptionalChar findFirst() {
+        return evaluate(CharStream::first, (a, b) -> a.isPresent() ? a : b);
+    }
+
+    /**
+     * Returns an {@link OptionalChar} describing some element of this
+     * stream, or an empty {@code OptionalChar} if the stream is empty.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return some element of this stream, if any
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public OptionalChar findAny() {
+        return findFirst();
+    }
+
+    /**
+     * Returns the first element accepted by a spliterator, if any.
+     * @param s the spliterator
+     * @return the first element
+     */
+    private static OptionalChar first(CharSpliterator s) {
+        char[] holder = new char[1];
+        return s.tryAdvance((char c) -> holder[0] = c) ? OptionalChar.of(holder[0]) : OptionalChar.empty();
+    }
+
+    /**
+     * Returns whether any element of this stream matches the given predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if any element matches the predicate, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public boolean anyMatch(CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return filter(predicate).findAny().isPresent();
+    }
+
+    /**
+     * Returns whether all the elements of this stream match the given predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if all the elements match the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public boolean allMatch(CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return !anyMatch(predicate.negate());
+    }
+
+    /**
+     * Returns whether no element of this stream matches the given predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if no element matches the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public boolean noneMatch(CharPredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    /**
+     * Returns an array containing the elements of this stream, in encounter order.
+     * This is a terminal operation.
+     *
+     * @return an array containing the elements of this stream
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public char[] toArray() {
+        return evaluate(s -> {
+            CharArrayBuilder b = new CharArrayBuilder(s.getExactSizeIfKnown());
+            s.forEachRemaining(b);
+            return b.toArray();
+        }, (a, b) -> {
+            char[] r = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, r, a.length, b.length);
+            return r;
+        });
+    }
+
+    /**
+     * Returns a {@link String} containing the elements of this stream, in encounter order.
+     * This is a terminal operation.
+     *
+     * @return a {@link String} containing the elements of this stream
+     * @throws IllegalStateException if this stream was already operated upon
+     */
+    public String collectToString() {
+        return new String(toArray());
+    }
+
+    /**
+     * Evaluates a terminal operation either sequentially or in parallel.
+     * @param <R> the type of the result
+     * @param leaf the evaluation of a portion of the elements
+     * @param combiner combines the results of two adjacent portions, respecting
+     *     the encounter order
+     * @return the result of the operation
+     */
+    private <R> R evaluate(Function<CharSpliterator, R> leaf, BinaryOperator<R> combiner) {
+        CharSpliterator s = consume();
+        if (!parallel) return leaf.apply(s);
+        long threshold = Math.max(s.estimateSize() / (ForkJoinPool.getCommonPoolParallelism() << 2), 1);
+        return ForkJoinPool.commonPool().invoke(new EvaluationTask<>(s, leaf, combiner, threshold));
+    }
+
+    /**
+     * Evaluates a terminal operation in parallel by recursively splitting the source.
+     * @param <R> the type of the result
+     */
+    private static final class EvaluationTask<R> extends RecursiveTask<R> {
+
+        /**
+         * For serialization.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The portion of the elements handled by this task.
+         */
+        @SuppressWarnings("serial")
+        private final CharSpliterator spliterator;
+
+        /**
+         * The evaluation of a portion of the elements.
+         */
+        @SuppressWarnings("serial")
+        private final Function<CharSpliterator, R> leaf;
+
+        /**
+         * Combines the results of two adjacent portions.
+         */
+        @SuppressWarnings("serial")
+        private final BinaryOperator<R> combiner;
+
+        /**
+         * Size below which no further splitting is done.
+         */
+        private final long threshold;
+
+        /**
+         * Sole constructor.
+         * @param spliterator the portion of the elements handled by this task
+         * @param leaf the evaluation of a portion of the elements
+         * @param combiner combines the results of two adjacent portions
+         * @param threshold size below which no further splitting is done
+         */
+        EvaluationTask(CharSpliterator spliterator, Function<CharSpliterator, R> leaf, BinaryOperator<R> combiner, long threshold) {
+            this.spliterator = spliterator;
+            this.leaf = leaf;
+            this.combiner = combiner;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected R compute() {
+            CharSpliterator prefix = spliterator.estimateSize() > threshold ? spliterator.trySplit() : null;
+            if (prefix == null) return leaf.apply(spliterator);
+            EvaluationTask<R> left = new EvaluationTask<>(prefix, leaf, combiner, threshold);
+            EvaluationTask<R> right = new EvaluationTask<>(spliterator, leaf, combiner, threshold);
+            right.fork();
+            R leftResult = left.compute();
+            return combiner.apply(leftResult, right.join());
+        }
+    }
+
+    /**
+     * Mutable holder used by the reductions.
+     */
+    private static final class CharAccumulator implements CharConsumer {
+
+        /**
+         * The reduction operator.
+         */
+        private final CharBinaryOperator op;
+
+        /**
+         * The accumulated value.
+         */
+        private char value;
+
+        /**
+         * Whether any value was accumulated.
+         */
+        private boolean present;
+
+        /**
+         * Sole constructor.
+         * @param op the reduction operator
+         */
+        CharAccumulator(CharBinaryOperator op) {
+            this.op = op;
+        }
+
+        @Override
+        public void accept(char c) {
+            value = present ? op.applyAsChar(value, c) : c;
+            present = true;
+        }
+
+        /**
+         * Combines the result of an adjacent portion of the elements into this.
+         * @param other the accumulator of the portion which follows this one
+         * @return this instance
+         */
+        CharAccumulator combine(CharAccumulator other) {
+            if (other.present) accept(other.value);
+            return this;
+        }
+    }
+
+    /**
+     * Growable {@code char} array used by {@link #toArray()}.
+     */
+    private static final class CharArrayBuilder implements CharConsumer {
+
+        /**
+         * The elements collected so far.
+         */
+        private char[] data;
+
+        /**
+         * How many elements were collected so far.
+         */
+        private int size;
+
+        /**
+         * Sole constructor.
+         * @param exactSize the number of elements to be collected or {@code -1} if unknown
+         */
+        CharArrayBuilder(long exactSize) {
+            this.data = new char[exactSize >= 0 && exactSize <= Integer.MAX_VALUE - 8 ? (int) exactSize : 16];
+        }
+
+        @Override
+        public void accept(char c) {
+            if (size == data.length) data = Arrays.copyOf(data, Math.max(size << 1, 16));
+            data[size++] = c;
+        }
+
+        /**
+         * Returns the collected elements.
+         * @return the collected elements
+         */
+        char[] toArray() {
+            return size == data.length ? data : Arrays.copyOf(data, size);
+        }
+    }
+
+    /**
+     * Reads the elements directly from a {@code char[]}.
+     */
+    private static final class ArraySpliterator implements CharSpliterator {
+
+        /**
+         * The source of the elements.
+         */
+        private final char[] array;
+
+        /**
+         * The current index.
+         */
+        private int index;
+
+        /**
+         * One past the last index.
+         */
+        private final int fence;
+
+        /**
+         * Sole constructor.
+         * @param array the source of the elements
+         * @param origin the first index, inclusive
+         * @param fence one past the last index
+         */
+        ArraySpliterator(char[] array, int origin, int fence) {
+            this.array = array;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= fence) return false;
+            action.accept(array[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            char[] a = array;
+            int hi = fence;
+            int i = index;
+            index = hi;
+            for (; i < hi; i++) {
+                action.accept(a[i]);
+            }
+        }
+
+        @Override
+        public CharSpliterator trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) return null;
+            index = mid;
+            return new ArraySpliterator(array, lo, mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return SOURCE_CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Reads the elements directly from a {@link CharSequence}.
+     */
+    private static final class SequenceSpliterator implements CharSpliterator {
+
+        /**
+         * The source of the elements.
+         */
+        private final CharSequence sequence;
+
+        /**
+         * The current index.
+         */
+        private int index;
+
+        /**
+         * One past the last index.
+         */
+        private final int fence;
+
+        /**
+         * Sole constructor.
+         * @param sequence the source of the elements
+         * @param origin the first index, inclusive
+         * @param fence one past the last index
+         */
+        SequenceSpliterator(CharSequence sequence, int origin, int fence) {
+            this.sequence = sequence;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= fence) return false;
+            action.accept(sequence.charAt(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            CharSequence seq = sequence;
+            int hi = fence;
+            int i = index;
+            index = hi;
+            for (; i < hi; i++) {
+                action.accept(seq.charAt(i));
+            }
+        }
+
+        @Override
+        public CharSpliterator trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) return null;
+            index = mid;
+            return new SequenceSpliterator(sequence, lo, mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return SOURCE_CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Skips the elements which do not match a predicate.
+     */
+    private static final class FilterSpliterator implements CharSpliterator, CharConsumer {
+
+        /**
+         * The source of the elements.
+         */
+        private final CharSpliterator source;
+
+        /**
+         * Decides which elements are kept.
+         */
+        private final CharPredicate predicate;
+
+        /**
+         * The action of the ongoing {@link #tryAdvance(CharConsumer)} call.
+         */
+        private CharConsumer downstream;
+
+        /**
+         * Whether the ongoing {@link #tryAdvance(CharConsumer)} call already found an element.
+         */
+        private boolean found;
+
+        /**
+         * Sole constructor.
+         * @param source the source of the elements
+         * @param predicate decides which elements are kept
+         */
+        FilterSpliterator(CharSpliterator source, CharPredicate predicate) {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void accept(char c) {
+            if (predicate.test(c)) {
+                found = true;
+                downstream.accept(c);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            downstream = action;
+            found = false;
+            try {
+                while (!found && source.tryAdvance(this)) {
+                    // Keep going.
+                }
+                return found;
+            } finally {
+                downstream = null;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            CharPredicate p = predicate;
+            source.forEachRemaining((char c) -> {
+                if (p.test(c)) action.accept(c);
+            });
+        }
+
+        @Override
+        public CharSpliterator trySplit() {
+            CharSpliterator prefix = source.trySplit();
+            return prefix == null ? null : new FilterSpliterator(prefix, predicate);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+
+    /**
+     * Transforms the elements with a {@link CharUnaryOperator}.
+     */
+    private static final class MapSpliterator implements CharSpliterator {
+
+        /**
+         * The source of the elements.
+         */
+        private final CharSpliterator source;
+
+        /**
+         * Transforms the elements.
+         */
+        private final CharUnaryOperator mapper;
+
+        /**
+         * Sole constructor.
+         * @param source the source of the elements
+         * @param mapper transforms the elements
+         */
+        MapSpliterator(CharSpliterator source, CharUnaryOperator mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            return source.tryAdvance((char c) -> action.accept(mapper.applyAsChar(c)));
+        }
+
+        @Override
+        public void forEachRemaining(CharConsumer action) {
+            Objects.requireNonNull(action, "action");
+            CharUnaryOperator m = mapper;
+            source.forEachRemaining((char c) -> action.accept(m.applyAsChar(c)));
+        }
+
+        @Override
+        public CharSpliterator trySplit() {
+            CharSpliterator prefix = source.trySplit();
+            return prefix == null ? null : new MapSpliterator(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.DISTINCT | Spliterator.SORTED);
+        }
+    }
+
+    /**
+     * Transforms the elements into objects with a {@link CharFunction}.
+     * @param <U> the type of the produced objects
+     */
+    private static final class MapToObjSpliterator<U> implements Spliterator<U> {
+
+        /**
+         * The source of the elements.
+         */
+        private final CharSpliterator source;
+
+        /**
+         * Transforms the elements.
+         */
+        private final CharFunction<? extends U> mapper;
+
+        /**
+         * Sole constructor.
+         * @param source the source of the elements
+         * @param mapper transforms the elements
+         */
+        MapToObjSpliterator(CharSpliterator source, CharFunction<? extends U> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super U> action) {
+            Objects.requireNonNull(action, "action");
+            return source.tryAdvance((char c) -> action.accept(mapper.apply(c)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super U> action) {
+            Objects.requireNonNull(action, "action");
+            CharFunction<? extends U> m = mapper;
+            source.forEachRemaining((char c) -> action.accept(m.apply(c)));
+        }
+
+        @Override
+        public Spliterator<U> trySplit() {
+            CharSpliterator prefix = source.trySplit();
+            return prefix == null ? null : new MapToObjSpliterator<>(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.DISTINCT | Spliterator.SORTED);
+        }
+    }
+
+    /**
+     * Exposes a {@link CharSpliterator} as a {@link Spliterator.OfInt}.
+     */
+    private static final class IntSpliteratorAdapter extends Spliterators.AbstractIntSpliterator {
+
+        /**
+         * The source of the elements.
+         */
+        private final CharSpliterator source;
+
+        /**
+         * Sole constructor.
+         * @param source the source of the elements
+         */
+        IntSpliteratorAdapter(CharSpliterator source) {
+            super(source.estimateSize(), source.characteristics());
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            Objects.requireNonNull(action, "action");
+            return source.tryAdvance((CharConsumer) action::accept);
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Objects.requireNonNull(action, "action");
+            source.forEachRemaining((CharConsumer) action::accept);
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            CharSpliterator prefix = source.trySplit();
+            return prefix == null ? null : new IntSpliteratorAdapter(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+    }
+}
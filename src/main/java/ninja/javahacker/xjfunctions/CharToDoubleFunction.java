@@ -0,0 +1,27 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Represents a function that accepts a {@code char}-valued argument and produces a
+ * {@code double}-valued result.  This is the {@code char}-to-{@code double} primitive
+ * specialization for {@link java.util.function.Function Function}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsDouble(char)}.</p>
+ *
+ * @see java.util.function.Function
+ * @see java.util.function.IntToDoubleFunction
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface CharToDoubleFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     */
+    public double applyAsDouble(char value);
+}
@@ -0,0 +1,27 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Represents a function that accepts a {@code char}-valued argument and produces an
+ * {@code int}-valued result.  This is the {@code char}-to-{@code int} primitive
+ * specialization for {@link java.util.function.Function Function}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsInt(char)}.</p>
+ *
+ * @see java.util.function.Function
+ * @see java.util.function.IntUnaryOperator
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface CharToIntFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     */
+    public int applyAsInt(char value);
+}
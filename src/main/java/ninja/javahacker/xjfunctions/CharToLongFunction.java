@@ -0,0 +1,27 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Represents a function that accepts a {@code char}-valued argument and produces a
+ * {@code long}-valued result.  This is the {@code char}-to-{@code long} primitive
+ * specialization for {@link java.util.function.Function Function}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsLong(char)}.</p>
+ *
+ * @see java.util.function.Function
+ * @see java.util.function.IntToLongFunction
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface CharToLongFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     */
+    public long applyAsLong(char value);
+}
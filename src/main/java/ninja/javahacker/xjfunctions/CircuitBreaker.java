@@ -0,0 +1,419 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Stops calling a failing dependency for a while, so that callers fail fast
+ * instead of waiting for it to fail again.
+ *
+ * <p>While {@linkplain State#CLOSED closed}, the outcomes of the last
+ * {@code windowSize} calls are kept. Once the window is full and the rate of
+ * failures in it reaches the threshold, the breaker opens. While
+ * {@linkplain State#OPEN open}, every call is rejected with a preallocated
+ * {@link CircuitBreakerOpenException} until {@code openDuration} is elapsed.
+ * Then, the breaker becomes {@linkplain State#HALF_OPEN half-open} and lets
+ * {@code halfOpenCalls} trial calls through: if all of them succeed, the
+ * breaker closes again, but any failure opens it again.</p>
+ *
+ * <p>By default, every {@link Exception} is a failure, but no {@link Error}
+ * is. Failures are matched against the classes just like in
+ * {@link RetryPolicy}. Failures that don't match count as successes.</p>
+ *
+ * <p>Every state transition is a compare-and-set, so there are no locks.
+ * The breaker might be shared by as many decorated lambdas as desired.</p>
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.of(50, 0.5, Duration.ofSeconds(30))
+ *         .recordOn(IOException.class);
+ * XFunction<Request, Response> send = client::send;
+ * XFunction<Request, Response> guarded = send.withCircuitBreaker(breaker);
+ * }</pre>
+ *
+ * @see XSupplier#withCircuitBreaker(CircuitBreaker)
+ * @see XFunction#withCircuitBreaker(CircuitBreaker)
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+public final class CircuitBreaker {
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+
+        /**
+         * Calls go through and their outcomes are recorded.
+         */
+        CLOSED,
+
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+
+        /**
+         * A few trial calls go through to find out whether the dependency recovered.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Used when no class was given to {@link #recordOn(Class)}.
+     */
+    private static final Class<?>[] DEFAULT_RECORD_ON = {Exception.class};
+
+    /**
+     * Slot of the window not holding any outcome.
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * Slot of the window holding a success.
+     */
+    private static final int SUCCESS = 1;
+
+    /**
+     * Slot of the window holding a failure.
+     */
+    private static final int FAILURE = 2;
+
+    /**
+     * How many outcomes are kept while closed.
+     */
+    private final int windowSize;
+
+    /**
+     * The rate of failures that opens the breaker.
+     */
+    private final double failureRateThreshold;
+
+    /**
+     * For how long, in nanoseconds, the breaker stays open.
+     */
+    private final long openNanos;
+
+    /**
+     * How many trial calls go through while half-open.
+     */
+    private final int halfOpenCalls;
+
+    /**
+     * The failures that are recorded as such. Empty means every {@link Exception}.
+     */
+    private final Class<?>[] recordOn;
+
+    /**
+     * The current phase.
+     */
+    private final AtomicReference<Phase> phase;
+
+    /**
+     * The outcomes kept while closed. Replaced as a whole to forget them.
+     */
+    private final AtomicReference<Window> window;
+
+    /**
+     * Thrown when the breaker is open.
+     */
+    private final CircuitBreakerOpenException rejection;
+
+    /**
+     * Sole constructor.
+     * @param windowSize how many outcomes are kept while closed
+     * @param failureRateThreshold the rate of failures that opens the breaker
+     * @param openNanos for how long the breaker stays open
+     * @param halfOpenCalls how many trial calls go through while half-open
+     * @param recordOn the failures that are recorded as such, empty means every {@link Exception}
+     */
+    private CircuitBreaker(int windowSize, double failureRateThreshold, long openNanos, int halfOpenCalls, Class<?>[] recordOn) {
+        this.windowSize = windowSize;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.recordOn = recordOn;
+        this.phase = new AtomicReference<>(Phase.CLOSED);
+        this.window = new AtomicReference<>(new Window(windowSize));
+        this.rejection = new CircuitBreakerOpenException("The circuit breaker is open.");
+    }
+
+    /**
+     * Creates a closed circuit breaker, which lets a single trial call through while half-open.
+     *
+     * @param windowSize how many outcomes are kept while closed
+     * @param failureRateThreshold the rate of failures that opens the breaker, from {@code 0} exclusive to {@code 1} inclusive
+     * @param openDuration for how long the breaker stays open
+     * @return the new circuit breaker
+     * @throws NullPointerException if {@code openDuration} is null
+     * @throws IllegalArgumentException if any parameter is out of its range
+     */
+    public static CircuitBreaker of(int windowSize, double failureRateThreshold, Duration openDuration) {
+        if (windowSize <= 0) throw new IllegalArgumentException("windowSize must be positive.");
+        if (!(failureRateThreshold > 0.0 && failureRateThreshold <= 1.0)) {
+            throw new IllegalArgumentException("failureRateThreshold must be greater than 0 and at most 1.");
+        }
+        Objects.requireNonNull(openDuration, "openDuration");
+        if (openDuration.isNegative() || openDuration.isZero()) throw new IllegalArgumentException("openDuration must be positive.");
+        long nanos = openDuration.compareTo(Duration.ofNanos(Long.MAX_VALUE >> 1)) >= 0 ? Long.MAX_VALUE >> 1 : openDuration.toNanos();
+        return new CircuitBreaker(windowSize, failureRateThreshold, nanos, 1, new Class<?>[0]);
+    }
+
+    /**
+     * Returns a new closed circuit breaker like this one, but which also
+     * records the failures of the given class. Once this method is used, only
+     * the failures of the given classes are recorded, instead of every {@link Exception}.
+     *
+     * @param type the class of the failures to be recorded
+     * @return the new circuit breaker
+     * @throws NullPointerException if {@code type} is null
+     */
+    public CircuitBreaker recordOn(Class<? extends Throwable> type) {
+        Objects.requireNonNull(type, "type");
+        Class<?>[] added = Arrays.copyOf(recordOn, recordOn.length + 1);
+        added[recordOn.length] = type;
+        return new CircuitBreaker(windowSize, failureRateThreshold, openNanos, halfOpenCalls, added);
+    }
+
+    /**
+     * Returns a new closed circuit breaker like this one, but which lets the
+     * given number of trial calls through while half-open.
+     *
+     * @param halfOpenCalls how many trial calls go through while half-open
+     * @return the new circuit breaker
+     * @throws IllegalArgumentException if {@code halfOpenCalls} is not positive
+     */
+    public CircuitBreaker halfOpenCalls(int halfOpenCalls) {
+        if (halfOpenCalls <= 0) throw new IllegalArgumentException("halfOpenCalls must be positive.");
+        return new CircuitBreaker(windowSize, failureRateThreshold, openNanos, halfOpenCalls, recordOn);
+    }
+
+    /**
+     * Gives the current state. An open breaker whose time is over is reported
+     * as open until some call is attempted.
+     *
+     * @return the current state
+     */
+    public State getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * Gives the rate of failures among the outcomes kept while closed.
+     *
+     * @return the rate of failures, from {@code 0} to {@code 1}, or {@code 0} if there is no outcome
+     */
+    public double getFailureRate() {
+        Window w = window.get();
+        int n = w.recorded.get();
+        return n == 0 ? 0.0 : Math.min(1.0, w.failures.get() / (double) n);
+    }
+
+    /**
+     * Closes the breaker and forgets every recorded outcome.
+     */
+    public void reset() {
+        clearWindow();
+        phase.set(Phase.CLOSED);
+    }
+
+    /**
+     * Forgets every recorded outcome. The window is replaced instead of cleared, so an outcome
+     * recorded meanwhile either goes wholly to the old window or wholly to the new one.
+     */
+    private void clearWindow() {
+        window.set(new Window(windowSize));
+    }
+
+    /**
+     * Tells whether a failure is recorded as such.
+     * @param x the failure
+     * @return whether {@code x} is recorded as a failure
+     */
+    private boolean isRecorded(Throwable x) {
+        Throwable cause = x instanceof WrapperException ? x.getCause() : null;
+        for (Class<?> c : recordOn.length == 0 ? DEFAULT_RECORD_ON : recordOn) {
+            if (c.isInstance(x) || c.isInstance(cause)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Opens the breaker, if it is in the expected phase.
+     * @param expected the expected phase
+     */
+    private void open(Phase expected) {
+        if (phase.get() != expected) return;
+        phase.compareAndSet(expected, new Phase(State.OPEN, System.nanoTime() + openNanos, 0));
+    }
+
+    /**
+     * Decides whether a call goes through.
+     * @return the phase in which the call goes through, which is a distinct object for each half-open round
+     * @throws CircuitBreakerOpenException if the call is rejected
+     */
+    private Phase acquire() {
+        while (true) {
+            Phase p = phase.get();
+            switch (p.state) {
+                case CLOSED:
+                    return p;
+                case OPEN:
+                    if (System.nanoTime() - p.openUntil < 0L) throw rejection;
+                    Phase halfOpen = new Phase(State.HALF_OPEN, 0L, halfOpenCalls - 1);
+                    if (phase.compareAndSet(p, halfOpen)) return halfOpen;
+                    continue;
+                default:
+                    if (p.trialPermits.getAndDecrement() > 0) return p;
+                    throw rejection;
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a call. The outcome of a trial call only counts
+     * for the half-open round that let it through.
+     * @param from the phase in which the call went through
+     * @param failed whether the call failed
+     */
+    private void record(Phase from, boolean failed) {
+        if (from.state == State.HALF_OPEN) {
+            if (failed) {
+                open(from);
+            } else if (from.trialSuccesses.incrementAndGet() >= halfOpenCalls && phase.get() == from) {
+                clearWindow();
+                phase.compareAndSet(from, Phase.CLOSED);
+            }
+            return;
+        }
+        Window w = window.get();
+        int slot = (int) Long.remainderUnsigned(w.cursor.getAndIncrement(), windowSize);
+        int old = w.slots.getAndSet(slot, failed ? FAILURE : SUCCESS);
+        if (old == EMPTY) w.recorded.incrementAndGet();
+        int f = w.failures.addAndGet((failed ? 1 : 0) - (old == FAILURE ? 1 : 0));
+        if (failed && w.recorded.get() >= windowSize && f >= failureRateThreshold * windowSize) open(Phase.CLOSED);
+    }
+
+    /**
+     * Applies a function if the breaker lets the call through, recording its outcome.
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     * @param f the function to be applied
+     * @param t the input of the function
+     * @return the result of the function
+     * @throws CircuitBreakerOpenException if the call is rejected
+     * @throws Throwable whatever the function throws
+     */
+    <T, R> R execute(XFunction<? super T, ? extends R> f, T t) throws Throwable {
+        Phase from = acquire();
+        R result;
+        try {
+            result = f.apply(t);
+        } catch (Throwable x) {
+            record(from, isRecorded(x));
+            throw x;
+        }
+        record(from, false);
+        return result;
+    }
+
+    /**
+     * The outcomes of the last calls while closed, as a ring, together with their counters.
+     */
+    private static final class Window {
+
+        /**
+         * The outcomes.
+         */
+        final AtomicIntegerArray slots;
+
+        /**
+         * Where the next outcome goes in the ring.
+         */
+        final AtomicLong cursor;
+
+        /**
+         * How many outcomes are in the ring.
+         */
+        final AtomicInteger recorded;
+
+        /**
+         * How many failures are in the ring.
+         */
+        final AtomicInteger failures;
+
+        /**
+         * Sole constructor.
+         * @param size how many outcomes are kept
+         */
+        Window(int size) {
+            this.slots = new AtomicIntegerArray(size);
+            this.cursor = new AtomicLong();
+            this.recorded = new AtomicInteger();
+            this.failures = new AtomicInteger();
+        }
+    }
+
+    /**
+     * A state, together with when it ends if it is {@link State#OPEN} and
+     * with the trial calls if it is {@link State#HALF_OPEN}. Replaced as a
+     * whole, so all of them are always seen consistently, and a new one is
+     * created for each round of the breaker.
+     */
+    private static final class Phase {
+
+        /**
+         * The closed phase.
+         */
+        static final Phase CLOSED = new Phase(State.CLOSED, 0L, 0);
+
+        /**
+         * The state.
+         */
+        final State state;
+
+        /**
+         * Until when, as given by {@link System#nanoTime()}, the breaker stays open.
+         */
+        final long openUntil;
+
+        /**
+         * How many trial calls might still be started while half-open.
+         */
+        final AtomicInteger trialPermits;
+
+        /**
+         * How many trial calls succeeded while half-open.
+         */
+        final AtomicInteger trialSuccesses;
+
+        /**
+         * Sole constructor.
+         * @param state the state
+         * @param openUntil until when the breaker stays open
+         * @param trialPermits how many trial calls might still be started while half-open
+         */
+        Phase(State state, long openUntil, int trialPermits) {
+            this.state = state;
+            this.openUntil = openUntil;
+            this.trialPermits = new AtomicInteger(trialPermits);
+            this.trialSuccesses = new AtomicInteger();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker[state=" + getState()
+                + ", failureRate=" + getFailureRate()
+                + ", windowSize=" + windowSize
+                + ", failureRateThreshold=" + failureRateThreshold
+                + ", openNanos=" + openNanos
+                + ", halfOpenCalls=" + halfOpenCalls + "]";
+    }
+}
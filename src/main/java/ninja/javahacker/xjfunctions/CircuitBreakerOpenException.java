@@ -0,0 +1,28 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Thrown instead of calling a function guarded by a {@link CircuitBreaker}
+ * that is open.
+ *
+ * <p>Each circuit breaker throws always the same preallocated instance,
+ * which has no stack trace and doesn't support suppressed exceptions, so
+ * rejecting a call costs nearly nothing.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    /**
+     * For serialization.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor with a message.
+     * @param message The message of this exception
+     */
+    protected CircuitBreakerOpenException(String message) {
+        super(message, null, false, false);
+    }
+}
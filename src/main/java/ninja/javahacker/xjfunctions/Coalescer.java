@@ -0,0 +1,109 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The state behind {@link XFunction#coalescing()}.
+ *
+ * <p>The first caller of a key becomes the leader: it publishes a future in
+ * the map, applies the function in its own thread, removes the future from
+ * the map and then completes it. Every caller of an equal key arriving in the
+ * meantime just waits for that future. Since the future is removed before
+ * being completed, a caller never gets an outcome computed before it arrived
+ * and nothing is retained once no call is in flight.</p>
+ *
+ * <p>The future is always completed normally, with either the result or a
+ * {@link Failure} holding what the function threw, so the waiting callers
+ * rethrow the very same {@link Throwable} as the leader, with nothing to unwrap.</p>
+ *
+ * @param <T> the type of the keys
+ * @param <R> the type of the results
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+final class Coalescer<T, R> {
+
+    /**
+     * The function being coalesced.
+     */
+    private final XFunction<T, R> function;
+
+    /**
+     * The calls in flight, by key.
+     */
+    private final ConcurrentHashMap<T, CompletableFuture<Object>> inFlight;
+
+    /**
+     * Sole constructor.
+     * @param function the function being coalesced
+     */
+    Coalescer(XFunction<T, R> function) {
+        this.function = function;
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Applies the function, or waits for a call with an equal key already in flight.
+     * @param key the argument of the function
+     * @return the result of the function
+     * @throws InterruptedException if the current thread is interrupted while waiting for another call
+     * @throws Throwable whatever the function throws
+     */
+    @SuppressWarnings("unchecked")
+    R apply(T key) throws Throwable {
+        if (key == null) return function.apply(null);
+        CompletableFuture<Object> existing = inFlight.get(key);
+        if (existing == null) {
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            existing = inFlight.putIfAbsent(key, mine);
+            if (existing == null) return lead(key, mine);
+        }
+        Object outcome = existing.get();
+        if (outcome instanceof Failure) throw ((Failure) outcome).cause;
+        return (R) outcome;
+    }
+
+    /**
+     * Applies the function as the leader of a key.
+     * @param key the argument of the function
+     * @param mine the future published for the key
+     * @return the result of the function
+     * @throws Throwable whatever the function throws
+     */
+    private R lead(T key, CompletableFuture<Object> mine) throws Throwable {
+        R result;
+        try {
+            result = function.apply(key);
+        } catch (Throwable x) {
+            inFlight.remove(key, mine);
+            mine.complete(new Failure(x));
+            throw x;
+        }
+        inFlight.remove(key, mine);
+        mine.complete(result);
+        return result;
+    }
+
+    /**
+     * Marks a failure of the leader, so it can be told apart from a result which happens to be a {@link Throwable}.
+     */
+    private static final class Failure {
+
+        /**
+         * What the function threw.
+         */
+        final Throwable cause;
+
+        /**
+         * Sole constructor.
+         * @param cause what the function threw
+         */
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
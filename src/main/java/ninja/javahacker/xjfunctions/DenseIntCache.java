@@ -0,0 +1,69 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The unbounded cache behind {@link XIntFunction#memoizeDense(int, int)},
+ * holding one slot per key of a small contiguous range.
+ *
+ * <p>A lookup is a single array read, with neither hashing nor locking.
+ * Arguments outside of the range are not cached at all. Two threads missing
+ * the same key at the same time might both run the loader; the first one
+ * to finish wins.</p>
+ *
+ * @param <V> the type of the values
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+final class DenseIntCache<V> {
+
+    /**
+     * Stored in place of {@code null} results, so they can be told apart from empty slots.
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The cached values, indexed by the key minus {@link #offset}.
+     */
+    private final AtomicReferenceArray<Object> values;
+
+    /**
+     * The smallest cached key.
+     */
+    private final int offset;
+
+    /**
+     * Sole constructor.
+     * @param fromInclusive the smallest cached key
+     * @param toExclusive the largest cached key, plus one
+     */
+    DenseIntCache(int fromInclusive, int toExclusive) {
+        this.values = new AtomicReferenceArray<>(toExclusive - fromInclusive);
+        this.offset = fromInclusive;
+    }
+
+    /**
+     * Gets the cached value for a key, running the loader if needed.
+     * @param key the key
+     * @param loader computes the value of the key on cache misses
+     * @return the cached or computed value
+     * @throws Throwable if the loader fails
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key, XIntFunction<? extends V> loader) throws Throwable {
+        long slot = (long) key - offset;
+        if (slot < 0L || slot >= values.length()) return loader.apply(key);
+        int index = (int) slot;
+        Object found = values.get(index);
+        if (found == null) {
+            V value = loader.apply(key);
+            Object stored = value == null ? NULL : value;
+            found = values.compareAndExchange(index, null, stored);
+            if (found == null) found = stored;
+        }
+        return found == NULL ? null : (V) found;
+    }
+}
@@ -0,0 +1,32 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * The {@link MetricsProvider} that measures nothing.
+ *
+ * @see MetricsProvider#disabled()
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+enum DisabledMetrics implements MetricsProvider {
+
+    /**
+     * The single instance.
+     */
+    INSTANCE;
+
+    @Override
+    public Timer timer(String name) {
+        return nanos -> { };
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return () -> { };
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,564 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The failure channel shared by all the stages of a {@link XStream},
+ * {@link XIntStream}, {@link XLongStream} or {@link XDoubleStream} pipeline.
+ *
+ * <p>The adapters produced by this class record the first {@link Throwable}
+ * thrown by the wrapped lambdas and abort the underlying stream by throwing this
+ * very instance, which has no stack trace. Thus, no exception is allocated
+ * for the elements that fail, and once a failure is recorded, every further
+ * element is rejected immediately. The terminal operations then use
+ * {@link #unwrap(RuntimeException)} to get back the original failure.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+final class FailureChannel extends RuntimeException {
+
+    /**
+     * For serialization.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Used to atomically set {@link #failure}.
+     */
+    private static final AtomicReferenceFieldUpdater<FailureChannel, Throwable> FAILURE =
+            AtomicReferenceFieldUpdater.newUpdater(FailureChannel.class, Throwable.class, "failure");
+
+    /**
+     * The first recorded failure.
+     */
+    @SuppressWarnings("serial")
+    private volatile Throwable failure;
+
+    /**
+     * Sole constructor.
+     */
+    FailureChannel() {
+        super("Stream pipeline aborted", null, false, false);
+    }
+
+    /**
+     * Records the failure if it is the first one and returns this instance in order to be thrown.
+     * @param x the failure
+     * @return this instance
+     */
+    RuntimeException fail(Throwable x) {
+        if (x != this) FAILURE.compareAndSet(this, null, x);
+        return this;
+    }
+
+    /**
+     * Throws this instance if some failure was already recorded.
+     */
+    private void check() {
+        if (failure != null) throw this;
+    }
+
+    /**
+     * Given an exception caught from the terminal operation of the underlying stream,
+     * gives the exception which should be thrown instead.
+     * @param e the exception caught
+     * @return the first recorded failure if {@code e} is this instance or was
+     *     caused by it, otherwise {@code e} itself
+     */
+    Throwable unwrap(RuntimeException e) {
+        Throwable f = failure;
+        if (f == null) return e;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t == this) return f;
+        }
+        return e;
+    }
+
+    /**
+     * Adapts a {@link XFunction}.
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <T, R> Function<T, R> function(XFunction<T, R> f) {
+        return t -> {
+            check();
+            try {
+                return f.apply(t);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XBiFunction} as a {@link BinaryOperator}.
+     * @param <T> the type of the operands and result
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <T> BinaryOperator<T> binaryOperator(XBiFunction<T, T, T> f) {
+        return (a, b) -> {
+            check();
+            try {
+                return f.apply(a, b);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XPredicate}.
+     * @param <T> the type of the input
+     * @param p the predicate to be adapted
+     * @return the adapted predicate
+     */
+    <T> Predicate<T> predicate(XPredicate<T> p) {
+        return t -> {
+            check();
+            try {
+                return p.test(t);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XConsumer}.
+     * @param <T> the type of the input
+     * @param c the consumer to be adapted
+     * @return the adapted consumer
+     */
+    <T> Consumer<T> consumer(XConsumer<T> c) {
+        return t -> {
+            check();
+            try {
+                c.accept(t);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XToIntFunction}.
+     * @param <T> the type of the input
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <T> ToIntFunction<T> toInt(XToIntFunction<T> f) {
+        return t -> {
+            check();
+            try {
+                return f.applyAsInt(t);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XToLongFunction}.
+     * @param <T> the type of the input
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <T> ToLongFunction<T> toLong(XToLongFunction<T> f) {
+        return t -> {
+            check();
+            try {
+                return f.applyAsLong(t);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XToDoubleFunction}.
+     * @param <T> the type of the input
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <T> ToDoubleFunction<T> toDouble(XToDoubleFunction<T> f) {
+        return t -> {
+            check();
+            try {
+                return f.applyAsDouble(t);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XIntPredicate}.
+     * @param p the predicate to be adapted
+     * @return the adapted predicate
+     */
+    IntPredicate intPredicate(XIntPredicate p) {
+        return v -> {
+            check();
+            try {
+                return p.test(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XIntFunction}.
+     * @param <R> the type of the result
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <R> IntFunction<R> intFunction(XIntFunction<R> f) {
+        return v -> {
+            check();
+            try {
+                return f.apply(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XIntUnaryOperator}.
+     * @param f the operator to be adapted
+     * @return the adapted operator
+     */
+    IntUnaryOperator intUnaryOperator(XIntUnaryOperator f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsInt(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XIntConsumer}.
+     * @param c the consumer to be adapted
+     * @return the adapted consumer
+     */
+    IntConsumer intConsumer(XIntConsumer c) {
+        return v -> {
+            check();
+            try {
+                c.accept(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XIntBinaryOperator}.
+     * @param f the operator to be adapted
+     * @return the adapted operator
+     */
+    IntBinaryOperator intBinaryOperator(XIntBinaryOperator f) {
+        return (a, b) -> {
+            check();
+            try {
+                return f.applyAsInt(a, b);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XIntToLongFunction}.
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    IntToLongFunction intToLong(XIntToLongFunction f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsLong(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XIntToDoubleFunction}.
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    IntToDoubleFunction intToDouble(XIntToDoubleFunction f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsDouble(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XLongPredicate}.
+     * @param p the predicate to be adapted
+     * @return the adapted predicate
+     */
+    LongPredicate longPredicate(XLongPredicate p) {
+        return v -> {
+            check();
+            try {
+                return p.test(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XLongFunction}.
+     * @param <R> the type of the result
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <R> LongFunction<R> longFunction(XLongFunction<R> f) {
+        return v -> {
+            check();
+            try {
+                return f.apply(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XLongUnaryOperator}.
+     * @param f the operator to be adapted
+     * @return the adapted operator
+     */
+    LongUnaryOperator longUnaryOperator(XLongUnaryOperator f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsLong(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XLongConsumer}.
+     * @param c the consumer to be adapted
+     * @return the adapted consumer
+     */
+    LongConsumer longConsumer(XLongConsumer c) {
+        return v -> {
+            check();
+            try {
+                c.accept(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XLongBinaryOperator}.
+     * @param f the operator to be adapted
+     * @return the adapted operator
+     */
+    LongBinaryOperator longBinaryOperator(XLongBinaryOperator f) {
+        return (a, b) -> {
+            check();
+            try {
+                return f.applyAsLong(a, b);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XLongToIntFunction}.
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    LongToIntFunction longToInt(XLongToIntFunction f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsInt(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XLongToDoubleFunction}.
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    LongToDoubleFunction longToDouble(XLongToDoubleFunction f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsDouble(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XDoublePredicate}.
+     * @param p the predicate to be adapted
+     * @return the adapted predicate
+     */
+    DoublePredicate doublePredicate(XDoublePredicate p) {
+        return v -> {
+            check();
+            try {
+                return p.test(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XDoubleFunction}.
+     * @param <R> the type of the result
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    <R> DoubleFunction<R> doubleFunction(XDoubleFunction<R> f) {
+        return v -> {
+            check();
+            try {
+                return f.apply(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XDoubleUnaryOperator}.
+     * @param f the operator to be adapted
+     * @return the adapted operator
+     */
+    DoubleUnaryOperator doubleUnaryOperator(XDoubleUnaryOperator f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsDouble(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XDoubleConsumer}.
+     * @param c the consumer to be adapted
+     * @return the adapted consumer
+     */
+    DoubleConsumer doubleConsumer(XDoubleConsumer c) {
+        return v -> {
+            check();
+            try {
+                c.accept(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XDoubleBinaryOperator}.
+     * @param f the operator to be adapted
+     * @return the adapted operator
+     */
+    DoubleBinaryOperator doubleBinaryOperator(XDoubleBinaryOperator f) {
+        return (a, b) -> {
+            check();
+            try {
+                return f.applyAsDouble(a, b);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XDoubleToIntFunction}.
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    DoubleToIntFunction doubleToInt(XDoubleToIntFunction f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsInt(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link XDoubleToLongFunction}.
+     * @param f the function to be adapted
+     * @return the adapted function
+     */
+    DoubleToLongFunction doubleToLong(XDoubleToLongFunction f) {
+        return v -> {
+            check();
+            try {
+                return f.applyAsLong(v);
+            } catch (Throwable x) {
+                throw fail(x);
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The built-in {@link MetricsProvider}, keeping every instrument in memory.
+ * Timers are {@link LatencyHistogram}s and counters are {@link LongAdder}s.
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+public final class InMemoryMetrics implements MetricsProvider {
+
+    /**
+     * The timers, by name.
+     */
+    private final ConcurrentHashMap<String, LatencyHistogram> timers;
+
+    /**
+     * The counters, by name.
+     */
+    private final ConcurrentHashMap<String, LongAdder> counters;
+
+    /**
+     * Creates an instance without any instrument.
+     */
+    public InMemoryMetrics() {
+        this.timers = new ConcurrentHashMap<>();
+        this.counters = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gives the timer with the given name, creating it if needed.
+     *
+     * @param name the name of the timer
+     * @return the timer
+     * @throws NullPointerException if {@code name} is null
+     */
+    @Override
+    public LatencyHistogram timer(String name) {
+        Objects.requireNonNull(name, "name");
+        return timers.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Gives the counter with the given name, creating it if needed.
+     *
+     * @param name the name of the counter
+     * @return the counter
+     * @throws NullPointerException if {@code name} is null
+     */
+    @Override
+    public MetricsProvider.Counter counter(String name) {
+        Objects.requireNonNull(name, "name");
+        return counters.computeIfAbsent(name, k -> new LongAdder())::increment;
+    }
+
+    /**
+     * Gives the current value of the counter with the given name.
+     *
+     * @param name the name of the counter
+     * @return the current value of the counter, or zero if there is no such counter
+     * @throws NullPointerException if {@code name} is null
+     */
+    public long getCount(String name) {
+        Objects.requireNonNull(name, "name");
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * Gives all the timers, by name.
+     *
+     * @return an unmodifiable view of the timers, by name
+     */
+    public Map<String, LatencyHistogram> getTimers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryMetrics[timers=" + timers + ", counters=" + counters + "]";
+    }
+}
@@ -0,0 +1,27 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Represents a function that accepts an {@code int}-valued argument and produces a
+ * {@code char}-valued result.  This is the {@code int}-to-{@code char} primitive
+ * specialization for {@link java.util.function.Function Function}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsChar(int)}.</p>
+ *
+ * @see java.util.function.Function
+ * @see java.util.function.IntUnaryOperator
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface IntToCharFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     */
+    public char applyAsChar(int value);
+}
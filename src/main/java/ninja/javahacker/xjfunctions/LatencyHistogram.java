@@ -0,0 +1,180 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A lock-free histogram of durations in the style of HdrHistogram.
+ *
+ * <p>Values are kept in log-linear buckets: each power of two range is split
+ * in {@value #SUB_BUCKETS} equally wide buckets, so any value is known within
+ * about 3% of precision, while the whole range of {@code long} values fits in
+ * less than two thousand counters. Recording a value is a few arithmetic
+ * operations and one atomic increment, without any allocation.</p>
+ *
+ * <p>The reading methods are not atomic with respect to concurrent records,
+ * so they might slightly lag behind.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+public final class LatencyHistogram implements MetricsProvider.Timer {
+
+    /**
+     * Log2 of {@link #SUB_BUCKETS}.
+     */
+    private static final int SUB_BITS = 5;
+
+    /**
+     * How many buckets each power of two range is split into.
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * The total number of buckets.
+     */
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    /**
+     * The counts of each bucket.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * The number of recorded values.
+     */
+    private final LongAdder count;
+
+    /**
+     * The sum of recorded values.
+     */
+    private final LongAdder sum;
+
+    /**
+     * The largest recorded value.
+     */
+    private final AtomicLong max;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Gives the bucket of a value.
+     * @param value the value, not negative
+     * @return the bucket of the value
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Gives the largest value that falls in a bucket.
+     * @param bucket the bucket
+     * @return the largest value of the bucket
+     */
+    private static long highestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket >>> SUB_BITS) - 1;
+        long m = SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1));
+        return ((m + 1) << shift) - 1;
+    }
+
+    /**
+     * Records a duration. Negative durations are recorded as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    @Override
+    public void record(long nanos) {
+        long v = Math.max(0L, nanos);
+        counts.incrementAndGet(bucketOf(v));
+        count.increment();
+        sum.add(v);
+        if (v > max.get()) max.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * Gives the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gives the largest recorded value.
+     *
+     * @return the largest recorded value, or zero if there is none
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gives the mean of the recorded values.
+     *
+     * @return the mean of the recorded values, or zero if there is none
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0L ? 0.0 : sum.doubleValue() / n;
+    }
+
+    /**
+     * Gives the value below which the given percentage of the recorded values fall,
+     * within the precision of the buckets.
+     *
+     * @param percentile the percentage, from {@code 0} to {@code 100}
+     * @return the value at the percentile, or zero if there is none
+     * @throws IllegalArgumentException if {@code percentile} is not between {@code 0} and {@code 100}
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) throw new IllegalArgumentException("percentile must be between 0 and 100.");
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0L) return 0L;
+        long target = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(highestOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Forgets every recorded value. Values recorded concurrently might be partially forgotten.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0L);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram[count=" + getCount()
+                + ", mean=" + getMean()
+                + ", p50=" + getValueAtPercentile(50.0)
+                + ", p99=" + getValueAtPercentile(99.0)
+                + ", max=" + getMax() + "]";
+    }
+}
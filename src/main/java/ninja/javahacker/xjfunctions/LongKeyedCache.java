@@ -0,0 +1,339 @@
+package ninja.javahacker.xjfunctions;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The bounded cache behind {@link XLongFunction#memoize(CachePolicy)} and
+ * {@link XDoubleFunction#memoize(CachePolicy)}, whose keys are never boxed.
+ *
+ * <p>Each segment is an open-addressing table of parallel primitive arrays.
+ * A key can only live in a small window of {@value #PROBE} consecutive slots
+ * after its home slot, so lookups are bounded and never allocate. When a key
+ * must be inserted and either the window is full or the segment reached its
+ * share of the maximum size, a victim is picked in the window by the CLOCK
+ * algorithm, which approximates LRU through a referenced bit per slot. The
+ * {@link CachePolicy.Eviction} of the policy is therefore not used. If the
+ * segment is full but the window is empty, the new entry is simply not kept,
+ * so the maximum size is never exceeded, except that with a concurrency level
+ * of zero, concurrent inserts from several threads might overshoot it.</p>
+ *
+ * <p>If the policy has a concurrency level of zero, no locking is done at all.
+ * Otherwise, the keys are spread over independently locked segments. The
+ * loader runs outside of any lock.</p>
+ *
+ * @param <V> the type of the values
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+final class LongKeyedCache<V> {
+
+    /**
+     * How many slots after the home slot a key might be stored at.
+     */
+    static final int PROBE = 8;
+
+    /**
+     * State bit for slots holding an entry.
+     */
+    private static final byte OCCUPIED = 1;
+
+    /**
+     * State bit for slots recently accessed.
+     */
+    private static final byte REFERENCED = 2;
+
+    /**
+     * The segments, whose amount is a power of two.
+     */
+    private final Segment[] segments;
+
+    /**
+     * Used to pick a segment from the mixed hash of a key.
+     */
+    private final int segmentShift;
+
+    /**
+     * For how long, in nanoseconds, an entry lives after being written. Zero means forever.
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * Whether failures are cached as well.
+     */
+    private final boolean cacheFailures;
+
+    /**
+     * Whether the segments should be locked.
+     */
+    private final boolean locking;
+
+    /**
+     * Sole constructor.
+     * @param policy how the cache behaves
+     */
+    LongKeyedCache(CachePolicy policy) {
+        int max = policy.getMaximumSize();
+        int level = Math.max(1, Math.min(policy.getConcurrencyLevel(), Math.max(1, max / PROBE)));
+        int count = Integer.highestOneBit(level);
+        // The first max % count segments take one more entry, so the total is exactly max.
+        int perSegment = max / count;
+        int bigger = max % count;
+        boolean ttl = policy.getExpireAfterWriteNanos() != 0L;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(i < bigger ? perSegment + 1 : perSegment, ttl);
+        }
+        this.segmentShift = count == 1 ? 0 : Integer.numberOfLeadingZeros(count) + 1;
+        this.expireAfterWriteNanos = policy.getExpireAfterWriteNanos();
+        this.cacheFailures = policy.isCachingFailures();
+        this.locking = policy.getConcurrencyLevel() > 0;
+    }
+
+    /**
+     * Mixes the bits of a key.
+     * @param key the key
+     * @return the mixed hash of the key
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Picks the segment of a mixed hash.
+     * @param h the mixed hash
+     * @return the segment
+     */
+    private Segment segmentFor(int h) {
+        return segments.length == 1 ? segments[0] : segments[h >>> segmentShift];
+    }
+
+    /**
+     * Gets the cached value for a key, running the loader if needed.
+     * @param key the key
+     * @param loader computes the value of the key on cache misses
+     * @return the cached or computed value
+     * @throws Throwable if the loader fails or if a cached failure exists for the key
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key, XLongFunction<? extends V> loader) throws Throwable {
+        int h = mix(key);
+        Segment segment = segmentFor(h);
+        long now = expireAfterWriteNanos == 0L ? 0L : System.nanoTime();
+        Object found;
+        if (locking) {
+            synchronized (segment) {
+                found = segment.lookup(key, h, now);
+            }
+        } else {
+            found = segment.lookup(key, h, now);
+        }
+        if (found != Segment.MISSING) {
+            if (found instanceof Failure) throw ((Failure) found).cause;
+            return (V) found;
+        }
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (Throwable x) {
+            if (cacheFailures) store(segment, key, h, new Failure(x));
+            throw x;
+        }
+        store(segment, key, h, value);
+        return value;
+    }
+
+    /**
+     * Stores an entry.
+     * @param segment the segment of the key
+     * @param key the key
+     * @param h the mixed hash of the key
+     * @param value the value or a {@link Failure}
+     */
+    private void store(Segment segment, long key, int h, Object value) {
+        long expiresAt = expireAfterWriteNanos == 0L ? 0L : System.nanoTime() + expireAfterWriteNanos;
+        if (locking) {
+            synchronized (segment) {
+                segment.insert(key, h, value, expiresAt);
+            }
+        } else {
+            segment.insert(key, h, value, expiresAt);
+        }
+    }
+
+    /**
+     * Marks a cached failure, so it can be told apart from a value which happens to be a {@link Throwable}.
+     */
+    private static final class Failure {
+
+        /**
+         * The cached failure.
+         */
+        final Throwable cause;
+
+        /**
+         * Sole constructor.
+         * @param cause the cached failure
+         */
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * A part of the cache, with its own lock.
+     */
+    private static final class Segment {
+
+        /**
+         * Returned by {@link #lookup(long, int, long)} when nothing is found.
+         */
+        static final Object MISSING = new Object();
+
+        /**
+         * The keys of each slot.
+         */
+        private final long[] keys;
+
+        /**
+         * The values of each slot.
+         */
+        private final Object[] values;
+
+        /**
+         * The state bits of each slot.
+         */
+        private final byte[] states;
+
+        /**
+         * The expiration instants of each slot, or {@code null} if entries never expire.
+         */
+        private final long[] expirations;
+
+        /**
+         * The number of slots, minus one.
+         */
+        private final int mask;
+
+        /**
+         * The maximum number of entries.
+         */
+        private final int capacity;
+
+        /**
+         * The current number of entries.
+         */
+        private int size;
+
+        /**
+         * Sole constructor.
+         * @param capacity the maximum number of entries
+         * @param ttl whether entries expire
+         */
+        Segment(int capacity, boolean ttl) {
+            int slots = Math.max(PROBE, Integer.highestOneBit(Math.min(capacity, 1 << 29) * 2 - 1));
+            this.keys = new long[slots];
+            this.values = new Object[slots];
+            this.states = new byte[slots];
+            this.expirations = ttl ? new long[slots] : null;
+            this.mask = slots - 1;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Looks for the entry of a key, removing it if expired.
+         * @param key the key
+         * @param h the mixed hash of the key
+         * @param now the current instant, if entries expire
+         * @return the value, a {@link Failure} or {@link #MISSING}
+         */
+        Object lookup(long key, int h, long now) {
+            for (int i = 0, slot = h & mask; i < PROBE; i++, slot = (slot + 1) & mask) {
+                byte state = states[slot];
+                if ((state & OCCUPIED) == 0 || keys[slot] != key) continue;
+                if (expirations != null && now - expirations[slot] >= 0L) {
+                    clear(slot);
+                    return MISSING;
+                }
+                states[slot] = (byte) (state | REFERENCED);
+                return values[slot];
+            }
+            return MISSING;
+        }
+
+        /**
+         * Empties a slot.
+         * @param slot the slot
+         */
+        private void clear(int slot) {
+            states[slot] = 0;
+            values[slot] = null;
+            size--;
+        }
+
+        /**
+         * Inserts or replaces the entry of a key. Nothing is inserted if the segment is full and there is nothing to evict.
+         * @param key the key
+         * @param h the mixed hash of the key
+         * @param value the value or a {@link Failure}
+         * @param expiresAt the expiration instant of the entry
+         */
+        void insert(long key, int h, Object value, long expiresAt) {
+            int home = h & mask;
+            int free = -1;
+            for (int i = 0, slot = home; i < PROBE; i++, slot = (slot + 1) & mask) {
+                if ((states[slot] & OCCUPIED) == 0) {
+                    if (free < 0) free = slot;
+                } else if (keys[slot] == key) {
+                    set(slot, key, value, expiresAt);
+                    return;
+                }
+            }
+            if (free < 0 || size >= capacity) {
+                int victim = victim(home);
+                if (victim >= 0) {
+                    clear(victim);
+                    free = victim;
+                } else if (size >= capacity) {
+                    return;
+                }
+            }
+            size++;
+            set(free, key, value, expiresAt);
+        }
+
+        /**
+         * Picks a slot to be evicted in the window of a home slot, using the CLOCK algorithm.
+         * @param home the home slot
+         * @return the slot to be evicted, or {@code -1} if the window is empty
+         */
+        private int victim(int home) {
+            for (int i = 0, slot = home; i < PROBE; i++, slot = (slot + 1) & mask) {
+                byte state = states[slot];
+                if ((state & OCCUPIED) == 0) continue;
+                if ((state & REFERENCED) == 0) return slot;
+                states[slot] = (byte) (state & ~REFERENCED);
+            }
+            for (int i = 0, slot = home; i < PROBE; i++, slot = (slot + 1) & mask) {
+                if ((states[slot] & OCCUPIED) != 0) return slot;
+            }
+            return -1;
+        }
+
+        /**
+         * Fills a slot.
+         * @param slot the slot
+         * @param key the key
+         * @param value the value or a {@link Failure}
+         * @param expiresAt the expiration instant of the entry
+         */
+        private void set(int slot, long key, Object value, long expiresAt) {
+            keys[slot] = key;
+            values[slot] = value;
+            states[slot] = OCCUPIED;
+            if (expirations != null) expirations[slot] = expiresAt;
+        }
+    }
+}
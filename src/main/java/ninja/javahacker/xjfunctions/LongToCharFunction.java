@@ -0,0 +1,27 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Represents a function that accepts a {@code long}-valued argument and produces a
+ * {@code char}-valued result.  This is the {@code long}-to-{@code char} primitive
+ * specialization for {@link java.util.function.Function Function}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsChar(long)}.</p>
+ *
+ * @see java.util.function.Function
+ * @see java.util.function.LongToIntFunction
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface LongToCharFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     */
+    public char applyAsChar(long value);
+}
@@ -0,0 +1,326 @@
+package ninja.javahacker.xjfunctions;
+
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Reads a text file through memory-mapped windows and feeds its content to
+ * consumers without creating a {@link String} per line or per token.
+ *
+ * <p>The file is mapped with {@link FileChannel#map(FileChannel.MapMode, long, long)}
+ * one window at a time and decoded incrementally into a single reusable
+ * {@link CharBuffer}. Then, the content is given either {@code char} by
+ * {@code char} to a {@link XCharConsumer}, or as slices of that buffer to a
+ * {@link XConsumer} of {@link CharSequence}s. The slice given to the consumer
+ * is the same object on every call and is only valid during that call: a
+ * consumer which needs to keep it must copy it, for instance with
+ * {@code toString()}. A line or token longer than the buffer makes the
+ * buffer grow.</p>
+ *
+ * <p>Malformed input and unmappable characters are replaced, just like in
+ * {@link String#String(byte[], Charset)}. Whatever the consumer throws,
+ * checked or not, is propagated unchanged, after closing the file.</p>
+ * <pre>{@code
+ * MappedTextFile.of(Paths.get("server.log")).forEachLine(line -> {
+ *     if (CharScanner.indexOf(line, errorMarker) >= 0) alert(line.toString());
+ * });
+ * }</pre>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@Immutable
+public final class MappedTextFile {
+
+    /**
+     * Receives the decoded content, one buffer at a time.
+     */
+    @FunctionalInterface
+    private interface Sink {
+
+        /**
+         * Consumes as much as possible of the decoded content, advancing the position of
+         * {@code chars} past what was consumed. The rest is given again in the next call,
+         * followed by more content.
+         * @param chars the decoded content, from its position to its limit
+         * @param last whether there is no more content, so everything must be consumed
+         * @throws Throwable whatever the consumer throws
+         */
+        public void accept(CharBuffer chars, boolean last) throws Throwable;
+    }
+
+    /**
+     * The line terminator.
+     */
+    private static final CharClass NEWLINE = CharClass.ofChars('\n');
+
+    /**
+     * The file to read.
+     */
+    private final Path file;
+
+    /**
+     * How the file is encoded.
+     */
+    private final Charset charset;
+
+    /**
+     * How many bytes of the file are mapped at once.
+     */
+    private final long windowSize;
+
+    /**
+     * The initial capacity of the decoded buffer.
+     */
+    private final int bufferSize;
+
+    /**
+     * Sole constructor.
+     * @param file the file to read
+     * @param charset how the file is encoded
+     * @param windowSize how many bytes of the file are mapped at once
+     * @param bufferSize the initial capacity of the decoded buffer
+     */
+    private MappedTextFile(Path file, Charset charset, long windowSize, int bufferSize) {
+        this.file = file;
+        this.charset = charset;
+        this.windowSize = windowSize;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Creates a reader of the given file, mapping 64 MiB at once and decoding 64 Ki {@code char}s at once.
+     *
+     * @param file the file to read
+     * @param charset how the file is encoded
+     * @return the new reader
+     * @throws NullPointerException if any parameter is null
+     */
+    public static MappedTextFile of(Path file, Charset charset) {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(charset, "charset");
+        return new MappedTextFile(file, charset, 1L << 26, 1 << 16);
+    }
+
+    /**
+     * Creates a reader of the given UTF-8 file, mapping 64 MiB at once and decoding 64 Ki {@code char}s at once.
+     *
+     * @param file the file to read
+     * @return the new reader
+     * @throws NullPointerException if {@code file} is null
+     */
+    public static MappedTextFile of(Path file) {
+        return of(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a new reader like this one, but which maps the given number of bytes at once.
+     *
+     * @param bytes how many bytes of the file are mapped at once
+     * @return the new reader
+     * @throws IllegalArgumentException if {@code bytes} is less than 4096 or greater than {@link Integer#MAX_VALUE}
+     */
+    public MappedTextFile windowSize(long bytes) {
+        if (bytes < 4096L || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("windowSize must be between 4096 and Integer.MAX_VALUE.");
+        }
+        return new MappedTextFile(file, charset, bytes, bufferSize);
+    }
+
+    /**
+     * Returns a new reader like this one, but which decodes the given number of {@code char}s at once.
+     *
+     * @param chars the initial capacity of the decoded buffer
+     * @return the new reader
+     * @throws IllegalArgumentException if {@code chars} is less than 16
+     */
+    public MappedTextFile bufferSize(int chars) {
+        if (chars < 16) throw new IllegalArgumentException("bufferSize must be at least 16.");
+        return new MappedTextFile(file, charset, windowSize, chars);
+    }
+
+    /**
+     * Gives each {@code char} of the file to the consumer.
+     *
+     * @param consumer what receives each {@code char}
+     * @throws NullPointerException if {@code consumer} is null
+     * @throws java.io.IOException if the file can't be read
+     * @throws Throwable whatever {@code consumer} throws
+     */
+    public void forEachChar(XCharConsumer consumer) throws Throwable {
+        Objects.requireNonNull(consumer, "consumer");
+        read((chars, last) -> {
+            char[] array = chars.array();
+            for (int i = chars.position(), end = chars.limit(); i < end; i++) {
+                consumer.accept(array[i]);
+            }
+            chars.position(chars.limit());
+        });
+    }
+
+    /**
+     * Gives each token of the file to the consumer. The tokens are the
+     * non-empty runs of {@code char}s not matching the delimiter, so leading,
+     * trailing and repeated delimiters give no tokens, just like in
+     * {@link CharScanner#split(CharSequence, CharPredicate)}.
+     *
+     * <p>The {@link CharSequence} given to the consumer is reused and is only valid during the call.</p>
+     *
+     * @param delimiter which {@code char}s separate the tokens
+     * @param consumer what receives each token
+     * @throws NullPointerException if any parameter is null
+     * @throws java.io.IOException if the file can't be read
+     * @throws Throwable whatever {@code consumer} throws
+     */
+    public void forEachToken(CharPredicate delimiter, XConsumer<? super CharSequence> consumer) throws Throwable {
+        Objects.requireNonNull(delimiter, "delimiter");
+        Objects.requireNonNull(consumer, "consumer");
+        CharPredicate content = delimiter.negate();
+        read((chars, last) -> {
+            char[] array = chars.array();
+            CharBuffer slice = chars.duplicate();
+            int i = chars.position();
+            int end = chars.limit();
+            while (true) {
+                int start = CharScanner.indexOf(array, i, end, content);
+                if (start < 0) {
+                    i = end;
+                    break;
+                }
+                int stop = CharScanner.indexOf(array, start, end, delimiter);
+                if (stop < 0) {
+                    if (last) {
+                        consumer.accept(slice(slice, start, end));
+                        i = end;
+                    } else {
+                        i = start;
+                    }
+                    break;
+                }
+                consumer.accept(slice(slice, start, stop));
+                i = stop + 1;
+            }
+            chars.position(i);
+        });
+    }
+
+    /**
+     * Gives each line of the file to the consumer, without its line terminator,
+     * which might be either {@code "\n"} or {@code "\r\n"}. Empty lines are given too,
+     * but a line terminator at the end of the file doesn't give an empty last line.
+     *
+     * <p>The {@link CharSequence} given to the consumer is reused and is only valid during the call.</p>
+     *
+     * @param consumer what receives each line
+     * @throws NullPointerException if {@code consumer} is null
+     * @throws java.io.IOException if the file can't be read
+     * @throws Throwable whatever {@code consumer} throws
+     */
+    public void forEachLine(XConsumer<? super CharSequence> consumer) throws Throwable {
+        Objects.requireNonNull(consumer, "consumer");
+        read((chars, last) -> {
+            char[] array = chars.array();
+            CharBuffer slice = chars.duplicate();
+            int i = chars.position();
+            int end = chars.limit();
+            while (i < end) {
+                int stop = CharScanner.indexOf(array, i, end, NEWLINE);
+                if (stop < 0) {
+                    if (!last) break;
+                    stop = end;
+                }
+                int lineEnd = stop > i && array[stop - 1] == '\r' ? stop - 1 : stop;
+                consumer.accept(slice(slice, i, lineEnd));
+                i = stop + 1;
+            }
+            chars.position(Math.min(i, end));
+        });
+    }
+
+    /**
+     * Makes a slice view a range of its buffer.
+     * @param slice the slice view
+     * @param start where the range starts, inclusive
+     * @param end where the range ends, exclusive
+     * @return {@code slice}
+     */
+    private static CharBuffer slice(CharBuffer slice, int start, int end) {
+        slice.limit(end);
+        slice.position(start);
+        return slice;
+    }
+
+    /**
+     * Maps and decodes the whole file, feeding the sink.
+     * @param sink what receives the decoded content
+     * @throws java.io.IOException if the file can't be read
+     * @throws Throwable whatever the sink throws
+     */
+    private void read(Sink sink) throws Throwable {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            CharsetDecoder decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            CharBuffer chars = CharBuffer.allocate(bufferSize);
+            long position = 0L;
+            boolean endOfInput;
+            do {
+                long length = Math.min(windowSize, size - position);
+                endOfInput = position + length == size;
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                while (true) {
+                    CoderResult result = decoder.decode(bytes, chars, endOfInput);
+                    if (result.isError()) result.throwException();
+                    chars = drain(chars, sink, false, result.isOverflow());
+                    if (result.isUnderflow()) break;
+                }
+                position += length - bytes.remaining();
+            } while (!endOfInput);
+            while (decoder.flush(chars).isOverflow()) {
+                chars = drain(chars, sink, false, true);
+            }
+            drain(chars, sink, true, false);
+        }
+    }
+
+    /**
+     * Feeds the sink with the decoded content and makes room for more.
+     * @param chars the decoded buffer, in write mode
+     * @param sink what receives the decoded content
+     * @param last whether there is no more content
+     * @param overflow whether the decoder stopped for lack of room in the buffer
+     * @return the decoded buffer in write mode, holding what the sink didn't consume,
+     *     which is a bigger buffer if the decoder overflowed and the sink consumed nothing
+     * @throws Throwable whatever the sink throws
+     */
+    private static CharBuffer drain(CharBuffer chars, Sink sink, boolean last, boolean overflow) throws Throwable {
+        chars.flip();
+        sink.accept(chars, last);
+        // The decoder might overflow with room left, such as a single slot for a surrogate pair,
+        // so the buffer must grow whenever nothing was consumed, not only when it is full.
+        if (overflow && chars.position() == 0) {
+            CharBuffer bigger = CharBuffer.allocate(chars.capacity() * 2);
+            return bigger.put(chars);
+        }
+        return chars.compact();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedTextFile[file=" + file
+                + ", charset=" + charset
+                + ", windowSize=" + windowSize
+                + ", bufferSize=" + bufferSize + "]";
+    }
+}
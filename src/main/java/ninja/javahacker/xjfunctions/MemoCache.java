@@ -0,0 +1,389 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The bounded cache behind {@link XFunction#memoize(CachePolicy)} and
+ * {@link XBiFunction#memoize(CachePolicy)}.
+ *
+ * <p>The keys are spread over independently locked segments, each one being
+ * an access-ordered {@link LinkedHashMap} holding its share of the maximum size.
+ * The loader runs outside of any lock, so two threads missing the same key at
+ * the same time might both run it; the last one to finish wins.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+final class MemoCache<K, V> {
+
+    /**
+     * The segments, whose amount is a power of two.
+     */
+    private final Segment<K, V>[] segments;
+
+    /**
+     * Used to pick a segment from the spread hash of a key.
+     */
+    private final int segmentMask;
+
+    /**
+     * For how long, in nanoseconds, an entry lives after being written. Zero means forever.
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * Whether failures are cached as well.
+     */
+    private final boolean cacheFailures;
+
+    /**
+     * Whether the segments should be locked.
+     */
+    private final boolean locking;
+
+    /**
+     * Sole constructor.
+     * @param policy how the cache behaves
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    MemoCache(CachePolicy policy) {
+        int max = policy.getMaximumSize();
+        int level = Math.max(1, Math.min(policy.getConcurrencyLevel(), max));
+        int count = Integer.highestOneBit(level);
+        // The first max % count segments take one more entry, so the total is exactly max.
+        int perSegment = max / count;
+        int bigger = max % count;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(i < bigger ? perSegment + 1 : perSegment, policy.getEviction() == CachePolicy.Eviction.TINY_LFU);
+        }
+        this.segmentMask = count - 1;
+        this.expireAfterWriteNanos = policy.getExpireAfterWriteNanos();
+        this.cacheFailures = policy.isCachingFailures();
+        this.locking = policy.getConcurrencyLevel() > 0;
+    }
+
+    /**
+     * Gives the spread hash of a key.
+     * @param key the key
+     * @return the spread hash of the key
+     */
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the cached value for a key, running the loader if needed.
+     * @param key the key
+     * @param loader computes the value of the key on cache misses
+     * @return the cached or computed value
+     * @throws Throwable if the loader fails or if a cached failure exists for the key
+     */
+    V get(K key, XFunction<? super K, ? extends V> loader) throws Throwable {
+        int h = hash(key);
+        Segment<K, V> segment = segments[h & segmentMask];
+        Entry<V> e = locking ? segment.lockedGet(key, h) : segment.get(key, h);
+        if (e != null) {
+            if (expireAfterWriteNanos == 0L || System.nanoTime() - e.expiresAt < 0L) {
+                if (e.failure != null) throw e.failure;
+                return e.value;
+            }
+        }
+        Entry<V> loaded;
+        try {
+            loaded = new Entry<>(loader.apply(key), null, expiry());
+        } catch (Throwable x) {
+            if (cacheFailures) put(segment, key, h, new Entry<>(null, x, expiry()));
+            throw x;
+        }
+        put(segment, key, h, loaded);
+        return loaded.value;
+    }
+
+    /**
+     * Gives the instant in which a newly written entry expires.
+     * @return the instant in which a newly written entry expires, as given by {@link System#nanoTime()}
+     */
+    private long expiry() {
+        return expireAfterWriteNanos == 0L ? 0L : System.nanoTime() + expireAfterWriteNanos;
+    }
+
+    /**
+     * Stores an entry.
+     * @param segment the segment of the key
+     * @param key the key
+     * @param h the spread hash of the key
+     * @param e the entry to be stored
+     */
+    private void put(Segment<K, V> segment, K key, int h, Entry<V> e) {
+        if (locking) {
+            segment.lockedPut(key, h, e);
+        } else {
+            segment.put(key, h, e);
+        }
+    }
+
+    /**
+     * A cached outcome of the loader.
+     * @param <V> the type of the value
+     */
+    private static final class Entry<V> {
+
+        /**
+         * The value, if the loader succeeded.
+         */
+        final V value;
+
+        /**
+         * The failure, if the loader failed.
+         */
+        final Throwable failure;
+
+        /**
+         * The instant in which this entry expires, as given by {@link System#nanoTime()}.
+         */
+        final long expiresAt;
+
+        /**
+         * Sole constructor.
+         * @param value the value, if the loader succeeded
+         * @param failure the failure, if the loader failed
+         * @param expiresAt the instant in which this entry expires
+         */
+        Entry(V value, Throwable failure, long expiresAt) {
+            this.value = value;
+            this.failure = failure;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A part of the cache, with its own lock and its own eviction order.
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Segment<K, V> {
+
+        /**
+         * The cached entries, in access order.
+         */
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        /**
+         * The maximum number of entries in this segment.
+         */
+        private final int capacity;
+
+        /**
+         * Estimates the access frequencies of the keys, if the TinyLFU admission is used.
+         */
+        private final FrequencySketch sketch;
+
+        /**
+         * Sole constructor.
+         * @param capacity the maximum number of entries in this segment
+         * @param tinyLfu whether the TinyLFU admission is used
+         */
+        Segment(int capacity, boolean tinyLfu) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true);
+            this.capacity = capacity;
+            this.sketch = tinyLfu ? new FrequencySketch(capacity) : null;
+        }
+
+        /**
+         * Gets an entry while holding the lock of this segment.
+         * @param key the key
+         * @param h the spread hash of the key
+         * @return the entry or {@code null} if there is none
+         */
+        synchronized Entry<V> lockedGet(K key, int h) {
+            return get(key, h);
+        }
+
+        /**
+         * Gets an entry.
+         * @param key the key
+         * @param h the spread hash of the key
+         * @return the entry or {@code null} if there is none
+         */
+        Entry<V> get(K key, int h) {
+            if (sketch != null) sketch.increment(h);
+            return map.get(key);
+        }
+
+        /**
+         * Stores an entry while holding the lock of this segment.
+         * @param key the key
+         * @param h the spread hash of the key
+         * @param e the entry
+         */
+        synchronized void lockedPut(K key, int h, Entry<V> e) {
+            put(key, h, e);
+        }
+
+        /**
+         * Stores an entry, evicting another one if needed.
+         * @param key the key
+         * @param h the spread hash of the key
+         * @param e the entry
+         */
+        void put(K key, int h, Entry<V> e) {
+            if (map.size() >= capacity && !map.containsKey(key)) {
+                Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+                K victim = it.next().getKey();
+                if (sketch != null && sketch.frequency(h) <= sketch.frequency(hash(victim))) return;
+                it.remove();
+            }
+            map.put(key, e);
+        }
+    }
+
+    /**
+     * A count-min sketch estimating how often the keys are used, with
+     * periodic aging so that old popularity fades away.
+     */
+    private static final class FrequencySketch {
+
+        /**
+         * The number of rows of the sketch.
+         */
+        private static final int DEPTH = 4;
+
+        /**
+         * The maximum value of a counter.
+         */
+        private static final int MAX_COUNT = 15;
+
+        /**
+         * Seeds for the per row hashes.
+         */
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        /**
+         * The counters, row after row.
+         */
+        private final byte[] table;
+
+        /**
+         * The width of each row, minus one. The width is a power of two.
+         */
+        private final int mask;
+
+        /**
+         * After this number of increments, all the counters are halved.
+         */
+        private final int sampleSize;
+
+        /**
+         * The number of increments since the last aging.
+         */
+        private int size;
+
+        /**
+         * Sole constructor.
+         * @param capacity the maximum number of entries in the cache segment
+         */
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, Math.min(capacity, 1 << 24)) * 2 - 1);
+            this.table = new byte[width * DEPTH];
+            this.mask = width - 1;
+            this.sampleSize = Math.max(10 * capacity, 160);
+        }
+
+        /**
+         * Gives the index of a counter.
+         * @param h the spread hash of the key
+         * @param row the row of the counter
+         * @return the index of the counter
+         */
+        private int indexOf(int h, int row) {
+            int x = (h + row) * SEEDS[row];
+            x ^= x >>> 17;
+            return row * (mask + 1) + (x & mask);
+        }
+
+        /**
+         * Registers an access.
+         * @param h the spread hash of the accessed key
+         */
+        void increment(int h) {
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int i = indexOf(h, row);
+                if (table[i] < MAX_COUNT) {
+                    table[i]++;
+                    added = true;
+                }
+            }
+            if (added && ++size >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] >>= 1;
+                }
+                size >>= 1;
+            }
+        }
+
+        /**
+         * Estimates how often a key was accessed.
+         * @param h the spread hash of the key
+         * @return the estimated frequency
+         */
+        int frequency(int h) {
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, table[indexOf(h, row)]);
+            }
+            return min;
+        }
+    }
+
+    /**
+     * A pair of keys, used by {@link XBiFunction#memoize(CachePolicy)}.
+     * @param <T> the type of the first key
+     * @param <U> the type of the second key
+     */
+    static final class Pair<T, U> {
+
+        /**
+         * The first key.
+         */
+        final T first;
+
+        /**
+         * The second key.
+         */
+        final U second;
+
+        /**
+         * Sole constructor.
+         * @param first the first key
+         * @param second the second key
+         */
+        Pair(T first, U second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Pair)) return false;
+            Pair<?, ?> other = (Pair<?, ?>) obj;
+            return Objects.equals(first, other.first) && Objects.equals(second, other.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(first) + Objects.hashCode(second);
+        }
+    }
+}
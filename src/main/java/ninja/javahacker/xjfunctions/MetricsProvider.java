@@ -0,0 +1,80 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Service provider interface through which the {@code timed}, {@code counted}
+ * and {@code failureCounted} decorators of the X* interfaces report what they
+ * measure. Implementations adapt it to whatever metrics library is in use, or
+ * {@link InMemoryMetrics} might be used directly.
+ *
+ * <p>The instruments are looked up once, when the decorator is created, so
+ * the lookup doesn't need to be fast, but the instruments themselves are
+ * used in every call and should be cheap and lock-free. If the provider is
+ * not {@linkplain #isEnabled() enabled}, the decorators return the very same
+ * undecorated instance, so there is no cost at all.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public interface MetricsProvider {
+
+    /**
+     * Records durations.
+     */
+    @FunctionalInterface
+    public interface Timer {
+
+        /**
+         * Records a duration.
+         *
+         * @param nanos the duration in nanoseconds
+         */
+        public void record(long nanos);
+    }
+
+    /**
+     * Counts events.
+     */
+    @FunctionalInterface
+    public interface Counter {
+
+        /**
+         * Counts an event.
+         */
+        public void increment();
+    }
+
+    /**
+     * Gives the timer with the given name, creating it if needed.
+     *
+     * @param name the name of the timer
+     * @return the timer
+     */
+    public Timer timer(String name);
+
+    /**
+     * Gives the counter with the given name, creating it if needed.
+     *
+     * @param name the name of the counter
+     * @return the counter
+     */
+    public Counter counter(String name);
+
+    /**
+     * Tells whether anything is measured at all. If not, decorators
+     * don't decorate anything.
+     *
+     * @return whether anything is measured at all
+     */
+    public default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Gives a provider that measures nothing.
+     *
+     * @return a provider that measures nothing
+     */
+    public static MetricsProvider disabled() {
+        return DisabledMetrics.INSTANCE;
+    }
+}
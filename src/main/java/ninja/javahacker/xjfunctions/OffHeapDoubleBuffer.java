@@ -0,0 +1,339 @@
+package ninja.javahacker.xjfunctions;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A fixed-size sequence of {@code double}s kept out of the Java heap, indexed by {@code long}.
+ *
+ * <p>The values are kept in direct {@link ByteBuffer}s of up to 1 GiB each,
+ * in the native byte order, so the buffer might hold far more than
+ * {@link Integer#MAX_VALUE} values without weighing on the garbage collector.
+ * The memory is zeroed when allocated and released once the buffer is
+ * garbage-collected. The total is limited by the
+ * {@code -XX:MaxDirectMemorySize} option of the JVM.</p>
+ *
+ * <p>The bulk operations loop over each chunk with absolute accesses and pass
+ * the values unboxed to the given lambdas, so they allocate nothing per
+ * value. Whatever the lambdas throw, checked or not, is propagated
+ * unchanged, leaving the values already processed as they are.</p>
+ *
+ * <p>Just like an array, this is not safe for concurrent changes.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@NotThreadSafe
+public final class OffHeapDoubleBuffer {
+
+    /**
+     * The base 2 logarithm of how many values a full chunk holds.
+     */
+    private static final int CHUNK_SHIFT = 27;
+
+    /**
+     * How many values a full chunk holds.
+     */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /**
+     * Masks the index of a value into its index within its chunk.
+     */
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * How many values the first chunk of a buffer of unknown size holds.
+     */
+    private static final int INITIAL_GROWING_SIZE = 1 << 10;
+
+    /**
+     * The chunks, all of them full except maybe the last one. The limit of each chunk is how many values it holds.
+     */
+    final DoubleBuffer[] chunks;
+
+    /**
+     * How many values this buffer holds.
+     */
+    private final long size;
+
+    /**
+     * Sole constructor.
+     * @param chunks the chunks, all of them full except maybe the last one
+     * @param size how many values this buffer holds
+     */
+    private OffHeapDoubleBuffer(DoubleBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Allocates a chunk.
+     * @param capacity how many values the chunk holds
+     * @return the new chunk
+     */
+    private static DoubleBuffer newChunk(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    /**
+     * Allocates a buffer holding the given number of zeroes.
+     *
+     * @param size how many values the buffer holds
+     * @return the new buffer
+     * @throws IllegalArgumentException if {@code size} is negative
+     * @throws OutOfMemoryError if there is not enough direct memory
+     */
+    public static OffHeapDoubleBuffer allocate(long size) {
+        if (size < 0L) throw new IllegalArgumentException("size can't be negative.");
+        int full = (int) (size >>> CHUNK_SHIFT);
+        int rest = (int) (size & CHUNK_MASK);
+        DoubleBuffer[] chunks = new DoubleBuffer[rest == 0 ? full : full + 1];
+        for (int i = 0; i < full; i++) {
+            chunks[i] = newChunk(CHUNK_SIZE);
+        }
+        if (rest != 0) chunks[full] = newChunk(rest);
+        return new OffHeapDoubleBuffer(chunks, size);
+    }
+
+    /**
+     * Tells how many values this buffer holds.
+     *
+     * @return how many values this buffer holds
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks an index.
+     * @param index the index
+     * @throws IndexOutOfBoundsException if {@code index} is not within this buffer
+     */
+    private void checkIndex(long index) {
+        if (index < 0L || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size + ".");
+    }
+
+    /**
+     * Gives the value at the given index.
+     *
+     * @param index the index of the value
+     * @return the value at {@code index}
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+     */
+    public double get(long index) {
+        checkIndex(index);
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Changes the value at the given index.
+     *
+     * @param index the index of the value
+     * @param value the new value
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+     */
+    public void set(long index, double value) {
+        checkIndex(index);
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    /**
+     * Gives each value to the consumer, in order.
+     *
+     * @param consumer what receives each value
+     * @throws NullPointerException if {@code consumer} is null
+     * @throws Throwable whatever {@code consumer} throws
+     */
+    public void forEach(XDoubleConsumer consumer) throws Throwable {
+        Objects.requireNonNull(consumer, "consumer");
+        for (DoubleBuffer chunk : chunks) {
+            for (int i = 0, n = chunk.limit(); i < n; i++) {
+                consumer.accept(chunk.get(i));
+            }
+        }
+    }
+
+    /**
+     * Replaces each value with the result of the operator on it, in order.
+     *
+     * @param operator what gives the new value of each value
+     * @throws NullPointerException if {@code operator} is null
+     * @throws Throwable whatever {@code operator} throws
+     */
+    public void replaceAll(XDoubleUnaryOperator operator) throws Throwable {
+        Objects.requireNonNull(operator, "operator");
+        for (DoubleBuffer chunk : chunks) {
+            for (int i = 0, n = chunk.limit(); i < n; i++) {
+                chunk.put(i, operator.applyAsDouble(chunk.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Creates a new buffer with the results of the operator on each value of this one.
+     *
+     * @param operator what gives the value of the new buffer for each value of this one
+     * @return the new buffer
+     * @throws NullPointerException if {@code operator} is null
+     * @throws OutOfMemoryError if there is not enough direct memory
+     * @throws Throwable whatever {@code operator} throws
+     */
+    public OffHeapDoubleBuffer map(XDoubleUnaryOperator operator) throws Throwable {
+        Objects.requireNonNull(operator, "operator");
+        OffHeapDoubleBuffer result = allocate(size);
+        for (int c = 0; c < chunks.length; c++) {
+            DoubleBuffer in = chunks[c];
+            DoubleBuffer out = result.chunks[c];
+            for (int i = 0, n = in.limit(); i < n; i++) {
+                out.put(i, operator.applyAsDouble(in.get(i)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new {@code int} buffer with the results of the function on each value of this one.
+     *
+     * @param function what gives the value of the new buffer for each value of this one
+     * @return the new buffer
+     * @throws NullPointerException if {@code function} is null
+     * @throws OutOfMemoryError if there is not enough direct memory
+     * @throws Throwable whatever {@code function} throws
+     */
+    public OffHeapIntBuffer mapToInt(XDoubleToIntFunction function) throws Throwable {
+        Objects.requireNonNull(function, "function");
+        OffHeapIntBuffer result = OffHeapIntBuffer.allocate(size);
+        IntBuffer out = null;
+        int c = 0;
+        for (DoubleBuffer in : chunks) {
+            for (int i = 0, n = in.limit(); i < n; i++) {
+                if (out == null || !out.hasRemaining()) out = result.chunks[c++].duplicate();
+                out.put(function.applyAsInt(in.get(i)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new {@code long} buffer with the results of the function on each value of this one.
+     *
+     * @param function what gives the value of the new buffer for each value of this one
+     * @return the new buffer
+     * @throws NullPointerException if {@code function} is null
+     * @throws OutOfMemoryError if there is not enough direct memory
+     * @throws Throwable whatever {@code function} throws
+     */
+    public OffHeapLongBuffer mapToLong(XDoubleToLongFunction function) throws Throwable {
+        Objects.requireNonNull(function, "function");
+        OffHeapLongBuffer result = OffHeapLongBuffer.allocate(size);
+        LongBuffer out = null;
+        int c = 0;
+        for (DoubleBuffer in : chunks) {
+            for (int i = 0, n = in.limit(); i < n; i++) {
+                if (out == null || !out.hasRemaining()) out = result.chunks[c++].duplicate();
+                out.put(function.applyAsLong(in.get(i)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new {@code char} buffer with the results of the function on each value of this one.
+     *
+     * @param function what gives the value of the new buffer for each value of this one
+     * @return the new buffer
+     * @throws NullPointerException if {@code function} is null
+     * @throws OutOfMemoryError if there is not enough direct memory
+     * @throws Throwable whatever {@code function} throws
+     */
+    public OffHeapCharBuffer mapToChar(XDoubleToCharFunction function) throws Throwable {
+        Objects.requireNonNull(function, "function");
+        OffHeapCharBuffer result = OffHeapCharBuffer.allocate(size);
+        CharBuffer out = null;
+        int c = 0;
+        for (DoubleBuffer in : chunks) {
+            for (int i = 0, n = in.limit(); i < n; i++) {
+                if (out == null || !out.hasRemaining()) out = result.chunks[c++].duplicate();
+                out.put(function.applyAsChar(in.get(i)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the values matching the predicate.
+     *
+     * @param predicate what to count
+     * @return how many values match {@code predicate}
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable whatever {@code predicate} throws
+     */
+    public long count(XDoublePredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        long count = 0L;
+        for (DoubleBuffer chunk : chunks) {
+            for (int i = 0, n = chunk.limit(); i < n; i++) {
+                if (predicate.test(chunk.get(i))) count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a new buffer with the values matching the predicate, in order.
+     * The predicate is evaluated once per value. The new buffer starts small
+     * and grows while being filled, so it takes about as much memory as the
+     * values it holds.
+     *
+     * @param predicate which values to keep
+     * @return the new buffer
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws OutOfMemoryError if there is not enough direct memory
+     * @throws Throwable whatever {@code predicate} throws
+     */
+    public OffHeapDoubleBuffer filter(XDoublePredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        List<DoubleBuffer> done = new ArrayList<>();
+        DoubleBuffer out = newChunk((int) Math.min(INITIAL_GROWING_SIZE, Math.max(1L, size)));
+        long count = 0L;
+        for (DoubleBuffer chunk : chunks) {
+            for (int i = 0, n = chunk.limit(); i < n; i++) {
+                double value = chunk.get(i);
+                if (!predicate.test(value)) continue;
+                if (!out.hasRemaining()) out = grow(out, done);
+                out.put(value);
+                count++;
+            }
+        }
+        if (count == 0L) return allocate(0L);
+        done.add(out.flip());
+        return new OffHeapDoubleBuffer(done.toArray(new DoubleBuffer[0]), count);
+    }
+
+    /**
+     * Makes room for more values while filling a buffer.
+     * @param full the chunk being filled, which is full
+     * @param done where full chunks of the maximum size are put
+     * @return a chunk with room for more values, holding the values of {@code full} unless it went to {@code done}
+     */
+    private static DoubleBuffer grow(DoubleBuffer full, List<DoubleBuffer> done) {
+        if (full.capacity() == CHUNK_SIZE) {
+            done.add(full.flip());
+            return newChunk(INITIAL_GROWING_SIZE);
+        }
+        return newChunk(Math.min(full.capacity() * 2, CHUNK_SIZE)).put(full.flip());
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapDoubleBuffer[size=" + size + "]";
+    }
+}
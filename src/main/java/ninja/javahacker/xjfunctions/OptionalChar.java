@@ -1,7 +1,10 @@
 package ninja.javahacker.xjfunctions;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * A container object which may or may not contain a {@code char} value.
@@ -19,6 +22,10 @@ import java.util.function.Supplier;
  * ({@code ==}), identity hash code, or synchronization) on instances of
  * {@code OptionalChar} may have unpredictable results and should be avoided.</p>
  *
+ * <p>Instances holding a Latin-1 character (from code point {@code 0} to
+ * {@code 255}) are cached, so {@link #of(char)} does not allocate
+ * anything for them.</p>
+ *
  * @since XJFunctions 1.0
  * @author Victor Williams Stafusa da Silva
  */
@@ -29,6 +36,16 @@ public class OptionalChar {
      */
     private static final OptionalChar EMPTY = new OptionalChar();
 
+    /**
+     * The number of cached instances, which covers the Latin-1 range.
+     */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Shared instances for the values from {@code 0} to {@code CACHE_SIZE - 1}.
+     */
+    private static final OptionalChar[] CACHE = createCache();
+
     /**
      * If true then the value is present, otherwise indicates no value is present.
      */
@@ -75,14 +92,30 @@ public class OptionalChar {
         this.value = value;
     }
 
+    /**
+     * Creates the cached instances.
+     *
+     * @return the cached instances
+     */
+    private static OptionalChar[] createCache() {
+        OptionalChar[] cache = new OptionalChar[CACHE_SIZE];
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            cache[i] = new OptionalChar((char) i);
+        }
+        return cache;
+    }
+
     /**
      * Return an {@code OptionalChar} with the specified value present.
      *
+     * @implNote Instances for Latin-1 values are shared, any other value
+     *     results in a new instance.
+     *
      * @param value the value to be present
      * @return an {@code OptionalChar} with the value present
      */
     public static OptionalChar of(char value) {
-        return new OptionalChar(value);
+        return value < CACHE_SIZE ? CACHE[value] : new OptionalChar(value);
     }
 
     /**
@@ -165,6 +198,80 @@ public class OptionalChar {
         throw exceptionSupplier.get();
     }
 
+    /**
+     * If a value is present and it matches the given predicate, return this
+     * {@code OptionalChar}, otherwise return an empty {@code OptionalChar}.
+     *
+     * @param predicate the predicate to apply to the value, if present
+     * @return this {@code OptionalChar} if a value is present and it matches
+     *     the predicate, otherwise an empty {@code OptionalChar}
+     * @throws NullPointerException if {@code predicate} is null
+     */
+    public OptionalChar filter(CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return !isPresent || predicate.test(value) ? this : EMPTY;
+    }
+
+    /**
+     * If a value is present, return an {@code OptionalChar} holding the result
+     * of applying the given mapping function to it, otherwise return an empty
+     * {@code OptionalChar}.
+     *
+     * @param mapper the mapping function to apply to the value, if present
+     * @return an {@code OptionalChar} with the result of applying the mapping
+     *     function if a value is present, otherwise an empty {@code OptionalChar}
+     * @throws NullPointerException if {@code mapper} is null
+     */
+    public OptionalChar map(CharUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return isPresent ? of(mapper.applyAsChar(value)) : EMPTY;
+    }
+
+    /**
+     * If a value is present, return an {@link Optional} describing the result
+     * of applying the given mapping function to it, otherwise return an empty
+     * {@link Optional}. The value is never boxed into a {@link Character}.
+     *
+     * @param <U> the type of the result of the mapping function
+     * @param mapper the mapping function to apply to the value, if present
+     * @return an {@link Optional} describing the result of applying the mapping
+     *     function if a value is present, otherwise an empty {@link Optional}
+     * @throws NullPointerException if {@code mapper} is null
+     */
+    public <U> Optional<U> mapToObj(CharFunction<? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return isPresent ? Optional.ofNullable(mapper.apply(value)) : Optional.empty();
+    }
+
+    /**
+     * If a value is present, return the result of applying the given
+     * {@code OptionalChar}-bearing mapping function to it, otherwise return an
+     * empty {@code OptionalChar}.
+     *
+     * @param mapper the mapping function to apply to the value, if present
+     * @return the result of applying the mapping function if a value is
+     *     present, otherwise an empty {@code OptionalChar}
+     * @throws NullPointerException if {@code mapper} is null or returns a
+     *     null result
+     */
+    public OptionalChar flatMap(CharFunction<? extends OptionalChar> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        if (!isPresent) return EMPTY;
+        return Objects.requireNonNull(mapper.apply(value));
+    }
+
+    /**
+     * If a value is present, return a sequential {@link IntStream} containing
+     * only that value, otherwise return an empty {@link IntStream}.
+     * Much like {@link CharSequence#chars()}, the value is zero-extended to
+     * an {@code int}.
+     *
+     * @return the optional value as an {@link IntStream}
+     */
+    public IntStream stream() {
+        return isPresent ? IntStream.of(value) : IntStream.empty();
+    }
+
     /**
      * Indicates whether some other object is "equal to" this OptionalChar. The
      * other object is considered equal if:
@@ -0,0 +1,587 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Flat, array-based evaluators of predicates combined with AND, OR and NOT.
+ *
+ * <p>Chaining {@code and}, {@code or} and {@code negate} with lambdas builds a
+ * tree of nested lambdas, one level deeper for each predicate, in which every
+ * level is a call site the JIT compiler would have to inline. The chains in
+ * here instead keep all the terms of an AND or of an OR in a single array,
+ * evaluated in order by a single short-circuiting loop. Adding a term to a
+ * chain of the same kind copies the array instead of nesting the chain, and
+ * negating a chain just flips a flag.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+final class PredicateChains {
+
+    /**
+     * Prevents instantiation.
+     * @throws UnsupportedOperationException Always.
+     */
+    private PredicateChains() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A flat chain of {@link XPredicate}s.
+     * @param <T> the type of the input to the predicate
+     */
+    @Immutable
+    static final class Chain<T> implements XPredicate<T> {
+
+        /**
+         * The terms, in evaluation order.
+         */
+        private final XPredicate<? super T>[] terms;
+
+        /**
+         * Whether this is an OR of the terms, instead of an AND.
+         */
+        private final boolean any;
+
+        /**
+         * Whether the result of the AND or of the OR is negated.
+         */
+        private final boolean negated;
+
+        /**
+         * Sole constructor.
+         * @param terms the terms, in evaluation order
+         * @param any whether this is an OR of the terms, instead of an AND
+         * @param negated whether the result of the AND or of the OR is negated
+         */
+        private Chain(XPredicate<? super T>[] terms, boolean any, boolean negated) {
+            this.terms = terms;
+            this.any = any;
+            this.negated = negated;
+        }
+
+        /**
+         * Creates a chain of the given predicates, splicing in the terms of
+         * those which are themselves non-negated chains of the same kind.
+         * @param <T> the type of the input to the predicate
+         * @param predicates the predicates to combine
+         * @param any whether to combine them with OR, instead of AND
+         * @return the new chain
+         * @throws NullPointerException if {@code predicates} or any of its elements is null
+         */
+        @SuppressWarnings("unchecked")
+        static <T> XPredicate<T> of(Collection<? extends XPredicate<? super T>> predicates, boolean any) {
+            Objects.requireNonNull(predicates, "predicates");
+            List<XPredicate<? super T>> flat = new ArrayList<>(predicates.size());
+            for (XPredicate<? super T> p : predicates) {
+                Objects.requireNonNull(p, "predicates can't contain null elements.");
+                if (p instanceof Chain && ((Chain<?>) p).any == any && !((Chain<?>) p).negated) {
+                    flat.addAll(Arrays.asList(((Chain<T>) p).terms));
+                } else {
+                    flat.add(p);
+                }
+            }
+            return new Chain<T>(flat.toArray((XPredicate<? super T>[]) new XPredicate<?>[0]), any, false);
+        }
+
+        @Override
+        public boolean test(T t) throws Throwable {
+            for (XPredicate<? super T> p : terms) {
+                if (p.test(t) == any) return any != negated;
+            }
+            return any == negated;
+        }
+
+        @Override
+        public XPredicate<T> and(Predicate<? super T> other) {
+            Objects.requireNonNull(other, "other");
+            if (any || negated) return of(Arrays.<XPredicate<? super T>>asList(this, other::test), false);
+            return new Chain<>(PredicateChains.<XPredicate<? super T>>append(terms, other::test), false, false);
+        }
+
+        @Override
+        public XPredicate<T> or(Predicate<? super T> other) {
+            Objects.requireNonNull(other, "other");
+            if (!any || negated) return of(Arrays.<XPredicate<? super T>>asList(this, other::test), true);
+            return new Chain<>(PredicateChains.<XPredicate<? super T>>append(terms, other::test), true, false);
+        }
+
+        @Override
+        public XPredicate<T> negate() {
+            return new Chain<>(terms, any, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "not " : "") + (any ? "anyOf" : "allOf") + Arrays.toString(terms);
+        }
+    }
+
+    /**
+     * A flat chain of {@link XBiPredicate}s.
+     * @param <T> the type of the first argument to the predicate
+     * @param <U> the type of the second argument to the predicate
+     */
+    @Immutable
+    static final class BiChain<T, U> implements XBiPredicate<T, U> {
+
+        /**
+         * The terms, in evaluation order.
+         */
+        private final XBiPredicate<? super T, ? super U>[] terms;
+
+        /**
+         * Whether this is an OR of the terms, instead of an AND.
+         */
+        private final boolean any;
+
+        /**
+         * Whether the result of the AND or of the OR is negated.
+         */
+        private final boolean negated;
+
+        /**
+         * Sole constructor.
+         * @param terms the terms, in evaluation order
+         * @param any whether this is an OR of the terms, instead of an AND
+         * @param negated whether the result of the AND or of the OR is negated
+         */
+        private BiChain(XBiPredicate<? super T, ? super U>[] terms, boolean any, boolean negated) {
+            this.terms = terms;
+            this.any = any;
+            this.negated = negated;
+        }
+
+        /**
+         * Creates a chain of the given predicates, splicing in the terms of
+         * those which are themselves non-negated chains of the same kind.
+         * @param <T> the type of the first argument to the predicate
+         * @param <U> the type of the second argument to the predicate
+         * @param predicates the predicates to combine
+         * @param any whether to combine them with OR, instead of AND
+         * @return the new chain
+         * @throws NullPointerException if {@code predicates} or any of its elements is null
+         */
+        @SuppressWarnings("unchecked")
+        static <T, U> XBiPredicate<T, U> of(Collection<? extends XBiPredicate<? super T, ? super U>> predicates, boolean any) {
+            Objects.requireNonNull(predicates, "predicates");
+            List<XBiPredicate<? super T, ? super U>> flat = new ArrayList<>(predicates.size());
+            for (XBiPredicate<? super T, ? super U> p : predicates) {
+                Objects.requireNonNull(p, "predicates can't contain null elements.");
+                if (p instanceof BiChain && ((BiChain<?, ?>) p).any == any && !((BiChain<?, ?>) p).negated) {
+                    flat.addAll(Arrays.asList(((BiChain<T, U>) p).terms));
+                } else {
+                    flat.add(p);
+                }
+            }
+            return new BiChain<T, U>(flat.toArray((XBiPredicate<? super T, ? super U>[]) new XBiPredicate<?, ?>[0]), any, false);
+        }
+
+        @Override
+        public boolean test(T t, U u) throws Throwable {
+            for (XBiPredicate<? super T, ? super U> p : terms) {
+                if (p.test(t, u) == any) return any != negated;
+            }
+            return any == negated;
+        }
+
+        @Override
+        public XBiPredicate<T, U> and(BiPredicate<? super T, ? super U> other) {
+            Objects.requireNonNull(other, "other");
+            if (any || negated) return of(Arrays.<XBiPredicate<? super T, ? super U>>asList(this, other::test), false);
+            return new BiChain<>(PredicateChains.<XBiPredicate<? super T, ? super U>>append(terms, other::test), false, false);
+        }
+
+        @Override
+        public XBiPredicate<T, U> or(BiPredicate<? super T, ? super U> other) {
+            Objects.requireNonNull(other, "other");
+            if (!any || negated) return of(Arrays.<XBiPredicate<? super T, ? super U>>asList(this, other::test), true);
+            return new BiChain<>(PredicateChains.<XBiPredicate<? super T, ? super U>>append(terms, other::test), true, false);
+        }
+
+        @Override
+        public XBiPredicate<T, U> negate() {
+            return new BiChain<>(terms, any, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "not " : "") + (any ? "anyOf" : "allOf") + Arrays.toString(terms);
+        }
+    }
+
+    /**
+     * A flat chain of {@link XIntPredicate}s.
+     */
+    @Immutable
+    static final class IntChain implements XIntPredicate {
+
+        /**
+         * The terms, in evaluation order.
+         */
+        private final XIntPredicate[] terms;
+
+        /**
+         * Whether this is an OR of the terms, instead of an AND.
+         */
+        private final boolean any;
+
+        /**
+         * Whether the result of the AND or of the OR is negated.
+         */
+        private final boolean negated;
+
+        /**
+         * Sole constructor.
+         * @param terms the terms, in evaluation order
+         * @param any whether this is an OR of the terms, instead of an AND
+         * @param negated whether the result of the AND or of the OR is negated
+         */
+        private IntChain(XIntPredicate[] terms, boolean any, boolean negated) {
+            this.terms = terms;
+            this.any = any;
+            this.negated = negated;
+        }
+
+        /**
+         * Creates a chain of the given predicates, splicing in the terms of
+         * those which are themselves non-negated chains of the same kind.
+         * @param predicates the predicates to combine
+         * @param any whether to combine them with OR, instead of AND
+         * @return the new chain
+         * @throws NullPointerException if {@code predicates} or any of its elements is null
+         */
+        static XIntPredicate of(Collection<? extends XIntPredicate> predicates, boolean any) {
+            Objects.requireNonNull(predicates, "predicates");
+            List<XIntPredicate> flat = new ArrayList<>(predicates.size());
+            for (XIntPredicate p : predicates) {
+                Objects.requireNonNull(p, "predicates can't contain null elements.");
+                if (p instanceof IntChain && ((IntChain) p).any == any && !((IntChain) p).negated) {
+                    flat.addAll(Arrays.asList(((IntChain) p).terms));
+                } else {
+                    flat.add(p);
+                }
+            }
+            return new IntChain(flat.toArray(new XIntPredicate[0]), any, false);
+        }
+
+        @Override
+        public boolean test(int value) throws Throwable {
+            for (XIntPredicate p : terms) {
+                if (p.test(value) == any) return any != negated;
+            }
+            return any == negated;
+        }
+
+        @Override
+        public XIntPredicate and(IntPredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (any || negated) return of(Arrays.<XIntPredicate>asList(this, other::test), false);
+            return new IntChain(append(terms, other::test), false, false);
+        }
+
+        @Override
+        public XIntPredicate or(IntPredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (!any || negated) return of(Arrays.<XIntPredicate>asList(this, other::test), true);
+            return new IntChain(append(terms, other::test), true, false);
+        }
+
+        @Override
+        public XIntPredicate negate() {
+            return new IntChain(terms, any, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "not " : "") + (any ? "anyOf" : "allOf") + Arrays.toString(terms);
+        }
+    }
+
+    /**
+     * A flat chain of {@link XLongPredicate}s.
+     */
+    @Immutable
+    static final class LongChain implements XLongPredicate {
+
+        /**
+         * The terms, in evaluation order.
+         */
+        private final XLongPredicate[] terms;
+
+        /**
+         * Whether this is an OR of the terms, instead of an AND.
+         */
+        private final boolean any;
+
+        /**
+         * Whether the result of the AND or of the OR is negated.
+         */
+        private final boolean negated;
+
+        /**
+         * Sole constructor.
+         * @param terms the terms, in evaluation order
+         * @param any whether this is an OR of the terms, instead of an AND
+         * @param negated whether the result of the AND or of the OR is negated
+         */
+        private LongChain(XLongPredicate[] terms, boolean any, boolean negated) {
+            this.terms = terms;
+            this.any = any;
+            this.negated = negated;
+        }
+
+        /**
+         * Creates a chain of the given predicates, splicing in the terms of
+         * those which are themselves non-negated chains of the same kind.
+         * @param predicates the predicates to combine
+         * @param any whether to combine them with OR, instead of AND
+         * @return the new chain
+         * @throws NullPointerException if {@code predicates} or any of its elements is null
+         */
+        static XLongPredicate of(Collection<? extends XLongPredicate> predicates, boolean any) {
+            Objects.requireNonNull(predicates, "predicates");
+            List<XLongPredicate> flat = new ArrayList<>(predicates.size());
+            for (XLongPredicate p : predicates) {
+                Objects.requireNonNull(p, "predicates can't contain null elements.");
+                if (p instanceof LongChain && ((LongChain) p).any == any && !((LongChain) p).negated) {
+                    flat.addAll(Arrays.asList(((LongChain) p).terms));
+                } else {
+                    flat.add(p);
+                }
+            }
+            return new LongChain(flat.toArray(new XLongPredicate[0]), any, false);
+        }
+
+        @Override
+        public boolean test(long value) throws Throwable {
+            for (XLongPredicate p : terms) {
+                if (p.test(value) == any) return any != negated;
+            }
+            return any == negated;
+        }
+
+        @Override
+        public XLongPredicate and(LongPredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (any || negated) return of(Arrays.<XLongPredicate>asList(this, other::test), false);
+            return new LongChain(append(terms, other::test), false, false);
+        }
+
+        @Override
+        public XLongPredicate or(LongPredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (!any || negated) return of(Arrays.<XLongPredicate>asList(this, other::test), true);
+            return new LongChain(append(terms, other::test), true, false);
+        }
+
+        @Override
+        public XLongPredicate negate() {
+            return new LongChain(terms, any, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "not " : "") + (any ? "anyOf" : "allOf") + Arrays.toString(terms);
+        }
+    }
+
+    /**
+     * A flat chain of {@link XDoublePredicate}s.
+     */
+    @Immutable
+    static final class DoubleChain implements XDoublePredicate {
+
+        /**
+         * The terms, in evaluation order.
+         */
+        private final XDoublePredicate[] terms;
+
+        /**
+         * Whether this is an OR of the terms, instead of an AND.
+         */
+        private final boolean any;
+
+        /**
+         * Whether the result of the AND or of the OR is negated.
+         */
+        private final boolean negated;
+
+        /**
+         * Sole constructor.
+         * @param terms the terms, in evaluation order
+         * @param any whether this is an OR of the terms, instead of an AND
+         * @param negated whether the result of the AND or of the OR is negated
+         */
+        private DoubleChain(XDoublePredicate[] terms, boolean any, boolean negated) {
+            this.terms = terms;
+            this.any = any;
+            this.negated = negated;
+        }
+
+        /**
+         * Creates a chain of the given predicates, splicing in the terms of
+         * those which are themselves non-negated chains of the same kind.
+         * @param predicates the predicates to combine
+         * @param any whether to combine them with OR, instead of AND
+         * @return the new chain
+         * @throws NullPointerException if {@code predicates} or any of its elements is null
+         */
+        static XDoublePredicate of(Collection<? extends XDoublePredicate> predicates, boolean any) {
+            Objects.requireNonNull(predicates, "predicates");
+            List<XDoublePredicate> flat = new ArrayList<>(predicates.size());
+            for (XDoublePredicate p : predicates) {
+                Objects.requireNonNull(p, "predicates can't contain null elements.");
+                if (p instanceof DoubleChain && ((DoubleChain) p).any == any && !((DoubleChain) p).negated) {
+                    flat.addAll(Arrays.asList(((DoubleChain) p).terms));
+                } else {
+                    flat.add(p);
+                }
+            }
+            return new DoubleChain(flat.toArray(new XDoublePredicate[0]), any, false);
+        }
+
+        @Override
+        public boolean test(double value) throws Throwable {
+            for (XDoublePredicate p : terms) {
+                if (p.test(value) == any) return any != negated;
+            }
+            return any == negated;
+        }
+
+        @Override
+        public XDoublePredicate and(DoublePredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (any || negated) return of(Arrays.<XDoublePredicate>asList(this, other::test), false);
+            return new DoubleChain(append(terms, other::test), false, false);
+        }
+
+        @Override
+        public XDoublePredicate or(DoublePredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (!any || negated) return of(Arrays.<XDoublePredicate>asList(this, other::test), true);
+            return new DoubleChain(append(terms, other::test), true, false);
+        }
+
+        @Override
+        public XDoublePredicate negate() {
+            return new DoubleChain(terms, any, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "not " : "") + (any ? "anyOf" : "allOf") + Arrays.toString(terms);
+        }
+    }
+
+    /**
+     * A flat chain of {@link XCharPredicate}s.
+     */
+    @Immutable
+    static final class CharChain implements XCharPredicate {
+
+        /**
+         * The terms, in evaluation order.
+         */
+        private final XCharPredicate[] terms;
+
+        /**
+         * Whether this is an OR of the terms, instead of an AND.
+         */
+        private final boolean any;
+
+        /**
+         * Whether the result of the AND or of the OR is negated.
+         */
+        private final boolean negated;
+
+        /**
+         * Sole constructor.
+         * @param terms the terms, in evaluation order
+         * @param any whether this is an OR of the terms, instead of an AND
+         * @param negated whether the result of the AND or of the OR is negated
+         */
+        private CharChain(XCharPredicate[] terms, boolean any, boolean negated) {
+            this.terms = terms;
+            this.any = any;
+            this.negated = negated;
+        }
+
+        /**
+         * Creates a chain of the given predicates, splicing in the terms of
+         * those which are themselves non-negated chains of the same kind.
+         * @param predicates the predicates to combine
+         * @param any whether to combine them with OR, instead of AND
+         * @return the new chain
+         * @throws NullPointerException if {@code predicates} or any of its elements is null
+         */
+        static XCharPredicate of(Collection<? extends XCharPredicate> predicates, boolean any) {
+            Objects.requireNonNull(predicates, "predicates");
+            List<XCharPredicate> flat = new ArrayList<>(predicates.size());
+            for (XCharPredicate p : predicates) {
+                Objects.requireNonNull(p, "predicates can't contain null elements.");
+                if (p instanceof CharChain && ((CharChain) p).any == any && !((CharChain) p).negated) {
+                    flat.addAll(Arrays.asList(((CharChain) p).terms));
+                } else {
+                    flat.add(p);
+                }
+            }
+            return new CharChain(flat.toArray(new XCharPredicate[0]), any, false);
+        }
+
+        @Override
+        public boolean test(char value) throws Throwable {
+            for (XCharPredicate p : terms) {
+                if (p.test(value) == any) return any != negated;
+            }
+            return any == negated;
+        }
+
+        @Override
+        public XCharPredicate and(CharPredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (any || negated) return of(Arrays.<XCharPredicate>asList(this, other::test), false);
+            return new CharChain(append(terms, other::test), false, false);
+        }
+
+        @Override
+        public XCharPredicate or(CharPredicate other) {
+            Objects.requireNonNull(other, "other");
+            if (!any || negated) return of(Arrays.<XCharPredicate>asList(this, other::test), true);
+            return new CharChain(append(terms, other::test), true, false);
+        }
+
+        @Override
+        public XCharPredicate negate() {
+            return new CharChain(terms, any, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "not " : "") + (any ? "anyOf" : "allOf") + Arrays.toString(terms);
+        }
+    }
+
+    /**
+     * Copies an array of terms with one more term at the end.
+     * @param <E> the type of the terms
+     * @param terms the terms
+     * @param last the term to add
+     * @return the new array of terms
+     */
+    private static <E> E[] append(E[] terms, E last) {
+        E[] result = Arrays.copyOf(terms, terms.length + 1);
+        result[terms.length] = last;
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A token bucket limiting the rate of calls.
+ *
+ * <p>The bucket holds up to {@code burst} permits and is refilled at
+ * {@code permitsPerSecond}. Each call takes one permit. Instead of a counter
+ * refilled by a timer, the bucket is kept as the single instant at which it
+ * would become full again, which is advanced by a compare-and-set on each
+ * permit taken, so there are neither locks nor background threads.</p>
+ *
+ * <p>By default, a call that finds the bucket empty is rejected right away
+ * with a preallocated {@link CallRejectedException}. With
+ * {@link #maxWait(Duration)}, the call instead waits for a permit, as long as
+ * the wait is not longer than the given time. Rejections are counted in the
+ * {@code <name>.rejected} counter and waits are timed in the
+ * {@code <name>.wait} timer of the {@linkplain #withMetrics(MetricsProvider, String)
+ * given metrics}, if any.</p>
+ *
+ * @see CallGuard
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+public final class RateLimiter implements CallGuard {
+
+    /**
+     * How long, in nanoseconds, the bucket takes to get one permit back.
+     */
+    private final long intervalNanos;
+
+    /**
+     * How many permits the bucket holds.
+     */
+    private final int burst;
+
+    /**
+     * How long, in nanoseconds, a full bucket takes to be refilled from empty.
+     */
+    private final long toleranceNanos;
+
+    /**
+     * For how long, in nanoseconds, a call might wait for a permit. Zero means no waiting at all.
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * Where the rejections and waits are reported.
+     */
+    private final MetricsProvider metrics;
+
+    /**
+     * The name under which the rejections and waits are reported.
+     */
+    private final String name;
+
+    /**
+     * Counts the rejections.
+     */
+    private final MetricsProvider.Counter rejections;
+
+    /**
+     * Times the waits.
+     */
+    private final MetricsProvider.Timer waits;
+
+    /**
+     * The instant, as given by {@link System#nanoTime()}, at which the last taken permit
+     * is paid back. The bucket is full whenever this is in the past.
+     */
+    private final AtomicLong paidUntil;
+
+    /**
+     * Thrown when a call is rejected.
+     */
+    private final CallRejectedException rejection;
+
+    /**
+     * Sole constructor.
+     * @param intervalNanos how long the bucket takes to get one permit back
+     * @param burst how many permits the bucket holds
+     * @param maxWaitNanos for how long a call might wait for a permit
+     * @param metrics where the rejections and waits are reported
+     * @param name the name under which the rejections and waits are reported
+     */
+    private RateLimiter(long intervalNanos, int burst, long maxWaitNanos, MetricsProvider metrics, String name) {
+        this.intervalNanos = intervalNanos;
+        this.burst = burst;
+        this.toleranceNanos = intervalNanos > (Long.MAX_VALUE >> 2) / burst ? Long.MAX_VALUE >> 2 : intervalNanos * burst;
+        this.maxWaitNanos = maxWaitNanos;
+        this.metrics = metrics;
+        this.name = name;
+        this.rejections = metrics.counter(name + ".rejected");
+        this.waits = metrics.timer(name + ".wait");
+        this.paidUntil = new AtomicLong(System.nanoTime());
+        this.rejection = new CallRejectedException("The rate limit of " + name + " was exceeded.");
+    }
+
+    /**
+     * Creates a rate limiter, initially full, which rejects calls right away if there is no permit.
+     *
+     * @param permitsPerSecond how many permits are put back in the bucket per second
+     * @param burst how many permits the bucket holds
+     * @return the new rate limiter
+     * @throws IllegalArgumentException if any parameter is not positive
+     */
+    public static RateLimiter of(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0.0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive.");
+        }
+        if (burst <= 0) throw new IllegalArgumentException("burst must be positive.");
+        long interval = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        return new RateLimiter(interval, burst, 0L, MetricsProvider.disabled(), "rateLimiter");
+    }
+
+    /**
+     * Returns a new full rate limiter like this one, but in which a call
+     * waits for a permit as long as the wait is not longer than the given time.
+     *
+     * @param maxWait for how long a call might wait for a permit
+     * @return the new rate limiter
+     * @throws NullPointerException if {@code maxWait} is null
+     * @throws IllegalArgumentException if {@code maxWait} is negative
+     */
+    public RateLimiter maxWait(Duration maxWait) {
+        Objects.requireNonNull(maxWait, "maxWait");
+        if (maxWait.isNegative()) throw new IllegalArgumentException("maxWait can't be negative.");
+        long nanos = maxWait.compareTo(Duration.ofNanos(Long.MAX_VALUE >> 1)) >= 0 ? Long.MAX_VALUE >> 1 : maxWait.toNanos();
+        return new RateLimiter(intervalNanos, burst, nanos, metrics, name);
+    }
+
+    /**
+     * Returns a new full rate limiter like this one, but which reports the
+     * rejections and waits under the given name.
+     *
+     * @param metrics where the rejections and waits are reported
+     * @param name the name under which the rejections and waits are reported
+     * @return the new rate limiter
+     * @throws NullPointerException if any parameter is null
+     */
+    public RateLimiter withMetrics(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        return new RateLimiter(intervalNanos, burst, maxWaitNanos, metrics, name);
+    }
+
+    /**
+     * Takes a permit, if one is available within the given time.
+     * @param maxWait for how long the caller might wait for the permit, in nanoseconds
+     * @return for how long the caller must wait until the permit is really available, or {@code -1} if it can't be taken
+     */
+    private long reserve(long maxWait) {
+        long now = System.nanoTime();
+        while (true) {
+            long current = paidUntil.get();
+            long next = (current - now < 0L ? now : current) + intervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > maxWait) return -1L;
+            if (paidUntil.compareAndSet(current, next)) return Math.max(0L, wait);
+        }
+    }
+
+    /**
+     * Takes a permit if one is available right now, without counting a rejection otherwise.
+     *
+     * @return whether the permit was taken
+     */
+    public boolean tryAcquire() {
+        return reserve(0L) >= 0L;
+    }
+
+    /**
+     * Takes a permit, waiting for it if allowed.
+     *
+     * @throws CallRejectedException if no permit is available in time
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    @Override
+    public void enter() throws InterruptedException {
+        long wait = reserve(maxWaitNanos);
+        if (wait < 0L) {
+            rejections.increment();
+            throw rejection;
+        }
+        if (wait > 0L) {
+            waits.record(wait);
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter[name=" + name
+                + ", intervalNanos=" + intervalNanos
+                + ", burst=" + burst
+                + ", maxWaitNanos=" + maxWaitNanos + "]";
+    }
+}
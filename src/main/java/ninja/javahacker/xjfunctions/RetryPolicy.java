@@ -0,0 +1,425 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Describes how a failed call is retried.
+ *
+ * <p>Instances are immutable. Each of the {@code with}-like methods returns
+ * a new instance differing only in the changed setting:</p>
+ * <pre>{@code
+ * XSupplier<Document> robust = fetch.retrying(
+ *         RetryPolicy.of(5)
+ *                 .retryOn(IOException.class)
+ *                 .backoff(Duration.ofMillis(100), Duration.ofSeconds(5))
+ *                 .jitter(0.5)
+ *                 .deadline(Duration.ofSeconds(30)));
+ * }</pre>
+ *
+ * <p>By default, every {@link Exception} is retried, but no {@link Error} is,
+ * and there is neither delay between attempts nor a deadline.</p>
+ *
+ * <p>A failure matches a class if it is an instance of that class or if it
+ * is a {@link WrapperException} whose cause is an instance of that class,
+ * just like in {@link WrapperException#rethrow(Class)}. Failures matching
+ * any of the classes given to {@link #abortOn(Class)} and
+ * {@link InterruptedException}s are never retried.
+ * Otherwise, failures matching any of the classes given to
+ * {@link #retryOn(Class)} are retried.</p>
+ *
+ * <p>Once the attempts are exhausted, the deadline would be exceeded by
+ * waiting for the next attempt or the failure should not be retried, the
+ * failure of the last attempt is thrown unchanged. If the waiting thread is
+ * interrupted, an {@link InterruptedException} is thrown instead, with the
+ * last failure added as suppressed.</p>
+ *
+ * @see XRunnable#retrying(RetryPolicy)
+ * @see XSupplier#retrying(RetryPolicy)
+ * @see XFunction#retrying(RetryPolicy)
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@Immutable
+public final class RetryPolicy {
+
+    /**
+     * Used when no class was given to {@link #retryOn(Class)}.
+     */
+    private static final Class<?>[] DEFAULT_RETRY_ON = {Exception.class};
+
+    /**
+     * Used when no class was given to {@link #abortOn(Class)}.
+     */
+    private static final Class<?>[] NONE = {};
+
+    /**
+     * The failures which are never retried, whatever the policy says.
+     */
+    private static final Class<?>[] INTERRUPTIONS = {InterruptedException.class};
+
+    /**
+     * The maximum number of attempts, including the first one.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The failures which are retried. Empty means every {@link Exception}.
+     */
+    private final Class<?>[] retryOn;
+
+    /**
+     * The failures which are never retried.
+     */
+    private final Class<?>[] abortOn;
+
+    /**
+     * The delay, in nanoseconds, before the second attempt.
+     */
+    private final long initialDelayNanos;
+
+    /**
+     * The maximum delay, in nanoseconds, between two attempts.
+     */
+    private final long maxDelayNanos;
+
+    /**
+     * By how much the delay is multiplied after each attempt.
+     */
+    private final double multiplier;
+
+    /**
+     * Which fraction of each delay might be randomly cut off.
+     */
+    private final double jitter;
+
+    /**
+     * For how long, in nanoseconds, attempts might be made since the first one. Zero means forever.
+     */
+    private final long deadlineNanos;
+
+    /**
+     * Sole constructor.
+     * @param maxAttempts the maximum number of attempts, including the first one
+     * @param retryOn the failures which are retried, empty means every {@link Exception}
+     * @param abortOn the failures which are never retried
+     * @param initialDelayNanos the delay before the second attempt
+     * @param maxDelayNanos the maximum delay between two attempts
+     * @param multiplier by how much the delay is multiplied after each attempt
+     * @param jitter which fraction of each delay might be randomly cut off
+     * @param deadlineNanos for how long attempts might be made since the first one, zero means forever
+     */
+    private RetryPolicy(
+            int maxAttempts,
+            Class<?>[] retryOn,
+            Class<?>[] abortOn,
+            long initialDelayNanos,
+            long maxDelayNanos,
+            double multiplier,
+            double jitter,
+            long deadlineNanos)
+    {
+        this.maxAttempts = maxAttempts;
+        this.retryOn = retryOn;
+        this.abortOn = abortOn;
+        this.initialDelayNanos = initialDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a policy making at most {@code maxAttempts} attempts, without any delay between them.
+     *
+     * @param maxAttempts the maximum number of attempts, including the first one
+     * @return the new policy
+     * @throws IllegalArgumentException if {@code maxAttempts} is not positive
+     */
+    public static RetryPolicy of(int maxAttempts) {
+        if (maxAttempts <= 0) throw new IllegalArgumentException("maxAttempts must be positive.");
+        return new RetryPolicy(maxAttempts, NONE, NONE, 0L, 0L, 1.0, 0.0, 0L);
+    }
+
+    /**
+     * Converts a duration to nanoseconds, saturating on overflow.
+     * @param d the duration
+     * @return the duration in nanoseconds
+     */
+    private static long toNanos(Duration d) {
+        return d.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : d.toNanos();
+    }
+
+    /**
+     * Adds a class to an array of classes.
+     * @param classes the array of classes
+     * @param type the class to be added
+     * @return a new array with the added class
+     */
+    private static Class<?>[] add(Class<?>[] classes, Class<? extends Throwable> type) {
+        Class<?>[] added = Arrays.copyOf(classes, classes.length + 1);
+        added[classes.length] = type;
+        return added;
+    }
+
+    /**
+     * Returns a policy like this one, but which also retries the failures of the given class.
+     * Once this method is used, only the failures of the given classes are retried,
+     * instead of every {@link Exception}.
+     *
+     * @param type the class of the failures to be retried
+     * @return the new policy
+     * @throws NullPointerException if {@code type} is null
+     */
+    public RetryPolicy retryOn(Class<? extends Throwable> type) {
+        Objects.requireNonNull(type, "type");
+        return new RetryPolicy(maxAttempts, add(retryOn, type), abortOn,
+                initialDelayNanos, maxDelayNanos, multiplier, jitter, deadlineNanos);
+    }
+
+    /**
+     * Returns a policy like this one, but which never retries the failures of the given class,
+     * even if they would be retried otherwise.
+     *
+     * <p>An {@link InterruptedException} is never retried, whatever was given here
+     * or to {@link #retryOn(Class)}, since the attempt was cancelled. It is thrown
+     * at once, and if it came wrapped in a {@link WrapperException}, the interrupt
+     * flag of the thread is set again before throwing.</p>
+     *
+     * @param type the class of the failures not to be retried
+     * @return the new policy
+     * @throws NullPointerException if {@code type} is null
+     */
+    public RetryPolicy abortOn(Class<? extends Throwable> type) {
+        Objects.requireNonNull(type, "type");
+        return new RetryPolicy(maxAttempts, retryOn, add(abortOn, type),
+                initialDelayNanos, maxDelayNanos, multiplier, jitter, deadlineNanos);
+    }
+
+    /**
+     * Returns a policy like this one, but waiting {@code initialDelay} before
+     * the second attempt and doubling the delay after each further attempt,
+     * up to {@code maxDelay}.
+     *
+     * @param initialDelay the delay before the second attempt
+     * @param maxDelay the maximum delay between two attempts
+     * @return the new policy
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if any delay is negative or if {@code maxDelay} is smaller than {@code initialDelay}
+     */
+    public RetryPolicy backoff(Duration initialDelay, Duration maxDelay) {
+        return backoff(initialDelay, maxDelay, 2.0);
+    }
+
+    /**
+     * Returns a policy like this one, but waiting {@code initialDelay} before
+     * the second attempt and multiplying the delay by {@code multiplier} after
+     * each further attempt, up to {@code maxDelay}.
+     *
+     * @param initialDelay the delay before the second attempt
+     * @param maxDelay the maximum delay between two attempts
+     * @param multiplier by how much the delay is multiplied after each attempt
+     * @return the new policy
+     * @throws NullPointerException if any delay is null
+     * @throws IllegalArgumentException if any delay is negative, if {@code maxDelay}
+     *     is smaller than {@code initialDelay} or if {@code multiplier} is smaller than {@code 1}
+     */
+    public RetryPolicy backoff(Duration initialDelay, Duration maxDelay, double multiplier) {
+        Objects.requireNonNull(initialDelay, "initialDelay");
+        Objects.requireNonNull(maxDelay, "maxDelay");
+        if (initialDelay.isNegative()) throw new IllegalArgumentException("initialDelay can't be negative.");
+        if (maxDelay.compareTo(initialDelay) < 0) throw new IllegalArgumentException("maxDelay can't be smaller than initialDelay.");
+        if (!(multiplier >= 1.0) || Double.isInfinite(multiplier)) throw new IllegalArgumentException("multiplier must be at least 1.");
+        return new RetryPolicy(maxAttempts, retryOn, abortOn,
+                toNanos(initialDelay), toNanos(maxDelay), multiplier, jitter, deadlineNanos);
+    }
+
+    /**
+     * Returns a policy like this one, but with a fixed delay between attempts.
+     *
+     * @param delay the delay between attempts
+     * @return the new policy
+     * @throws NullPointerException if {@code delay} is null
+     * @throws IllegalArgumentException if {@code delay} is negative
+     */
+    public RetryPolicy fixedDelay(Duration delay) {
+        return backoff(delay, delay, 1.0);
+    }
+
+    /**
+     * Returns a policy like this one, but which randomly cuts off up to the given
+     * fraction of each delay, so that many callers failing together don't retry
+     * all at the same time.
+     *
+     * @param jitter the fraction of each delay that might be cut off, from {@code 0} to {@code 1}
+     * @return the new policy
+     * @throws IllegalArgumentException if {@code jitter} is not between {@code 0} and {@code 1}
+     */
+    public RetryPolicy jitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0)) throw new IllegalArgumentException("jitter must be between 0 and 1.");
+        return new RetryPolicy(maxAttempts, retryOn, abortOn,
+                initialDelayNanos, maxDelayNanos, multiplier, jitter, deadlineNanos);
+    }
+
+    /**
+     * Returns a policy like this one, but which gives up once the given amount
+     * of time is elapsed since the first attempt started. No attempt is started
+     * if waiting for it would exceed the deadline, but an attempt that is already
+     * running is never interrupted.
+     *
+     * @param deadline for how long attempts might be made since the first one
+     * @return the new policy
+     * @throws NullPointerException if {@code deadline} is null
+     * @throws IllegalArgumentException if {@code deadline} is not positive
+     */
+    public RetryPolicy deadline(Duration deadline) {
+        Objects.requireNonNull(deadline, "deadline");
+        if (deadline.isNegative() || deadline.isZero()) throw new IllegalArgumentException("deadline must be positive.");
+        return new RetryPolicy(maxAttempts, retryOn, abortOn,
+                initialDelayNanos, maxDelayNanos, multiplier, jitter, toNanos(deadline));
+    }
+
+    /**
+     * Returns the maximum number of attempts, including the first one.
+     *
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the delay, in nanoseconds, before the second attempt.
+     *
+     * @return the delay before the second attempt
+     */
+    public long getInitialDelayNanos() {
+        return initialDelayNanos;
+    }
+
+    /**
+     * Returns the maximum delay, in nanoseconds, between two attempts.
+     *
+     * @return the maximum delay between two attempts
+     */
+    public long getMaxDelayNanos() {
+        return maxDelayNanos;
+    }
+
+    /**
+     * Returns by how much the delay is multiplied after each attempt.
+     *
+     * @return by how much the delay is multiplied after each attempt
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Returns which fraction of each delay might be randomly cut off.
+     *
+     * @return which fraction of each delay might be randomly cut off
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Returns for how long, in nanoseconds, attempts might be made since the first one.
+     *
+     * @return for how long attempts might be made, or zero if there is no deadline
+     */
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Tells whether a failure matches any of the given classes.
+     * @param x the failure
+     * @param classes the classes
+     * @return whether {@code x} or the cause of {@code x}, if it is a {@link WrapperException}, is an instance of any of the classes
+     */
+    private static boolean matches(Throwable x, Class<?>[] classes) {
+        Throwable cause = x instanceof WrapperException ? x.getCause() : null;
+        for (Class<?> c : classes) {
+            if (c.isInstance(x) || c.isInstance(cause)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether a failure should be retried.
+     *
+     * @param x the failure
+     * @return whether {@code x} should be retried, which is never the case for an {@link InterruptedException}
+     * @throws NullPointerException if {@code x} is null
+     */
+    public boolean isRetried(Throwable x) {
+        Objects.requireNonNull(x, "x");
+        return !matches(x, INTERRUPTIONS) && !matches(x, abortOn) && matches(x, retryOn.length == 0 ? DEFAULT_RETRY_ON : retryOn);
+    }
+
+    /**
+     * Gives the delay before a further attempt, including the jitter.
+     * @param failed the number of attempts that already failed
+     * @return the delay in nanoseconds
+     */
+    private long delayAfter(int failed) {
+        if (initialDelayNanos == 0L) return 0L;
+        // Capped before the jitter, so saturated delays are still spread. Math.min also tames an infinite Math.pow.
+        double d = Math.min(initialDelayNanos * Math.pow(multiplier, failed - 1), maxDelayNanos);
+        if (jitter != 0.0) d -= d * jitter * ThreadLocalRandom.current().nextDouble();
+        return (long) d;
+    }
+
+    /**
+     * Applies a function, retrying according to this policy. No allocation happens
+     * while attempts succeed.
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     * @param f the function to be applied
+     * @param t the input of the function
+     * @return the result of the first successful attempt
+     * @throws Throwable the failure of the last attempt or an {@link InterruptedException}
+     */
+    <T, R> R execute(XFunction<? super T, ? extends R> f, T t) throws Throwable {
+        long start = deadlineNanos == 0L ? 0L : System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return f.apply(t);
+            } catch (Throwable x) {
+                if (x instanceof WrapperException && x.getCause() instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                if (attempt >= maxAttempts || !isRetried(x)) throw x;
+                long delay = delayAfter(attempt);
+                if (deadlineNanos != 0L && System.nanoTime() - start > deadlineNanos - delay) throw x;
+                if (delay > 0L) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                    } catch (InterruptedException e) {
+                        e.addSuppressed(x);
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy[maxAttempts=" + maxAttempts
+                + ", retryOn=" + Arrays.toString(retryOn.length == 0 ? DEFAULT_RETRY_ON : retryOn)
+                + ", abortOn=" + Arrays.toString(abortOn)
+                + ", initialDelayNanos=" + initialDelayNanos
+                + ", maxDelayNanos=" + maxDelayNanos
+                + ", multiplier=" + multiplier
+                + ", jitter=" + jitter
+                + ", deadlineNanos=" + deadlineNanos + "]";
+    }
+}
@@ -0,0 +1,42 @@
+package ninja.javahacker.xjfunctions;
+
+/**
+ * Internal helpers to propagate arbitrary {@link Throwable}s.
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+final class Throwables {
+
+    /**
+     * Prevents instantiation.
+     */
+    private Throwables() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws the given {@link Throwable} unchanged, even if it is a checked
+     * exception, without declaring it. The declared return type only exists
+     * to allow callers to write {@code throw Throwables.sneakyThrow(x);} so
+     * the compiler knows that the statement does not complete normally.
+     * @param x the {@link Throwable} to be thrown
+     * @return never returns normally
+     * @throws NullPointerException if {@code x} is null
+     */
+    static RuntimeException sneakyThrow(Throwable x) {
+        return Throwables.<RuntimeException>sneakyThrow0(x);
+    }
+
+    /**
+     * Relies on type erasure to throw {@code x} as if it was an instance of {@code X}.
+     * @param <X> the type that {@code x} is pretended to be
+     * @param x the {@link Throwable} to be thrown
+     * @return never returns normally
+     * @throws X always
+     */
+    @SuppressWarnings("unchecked")
+    private static <X extends Throwable> RuntimeException sneakyThrow0(Throwable x) throws X {
+        throw (X) x;
+    }
+}
@@ -0,0 +1,93 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the bodies of the {@code withTimeout(Duration)} decorators.
+ *
+ * <p>Each call runs in the {@link BlockingExecutor}.</p>
+ *
+ * @see XRunnable#withTimeout(Duration)
+ * @see XSupplier#withTimeout(Duration)
+ * @see XFunction#withTimeout(Duration)
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+final class Timeouts {
+
+    /**
+     * Prevents instantiation.
+     */
+    private Timeouts() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Converts a timeout to nanoseconds, checking that it is valid.
+     * @param timeout the timeout
+     * @return the timeout in nanoseconds
+     * @throws NullPointerException if {@code timeout} is null
+     * @throws IllegalArgumentException if {@code timeout} is not positive
+     */
+    static long toNanos(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        if (timeout.isNegative() || timeout.isZero()) throw new IllegalArgumentException("timeout must be positive.");
+        return timeout.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : timeout.toNanos();
+    }
+
+    /**
+     * Applies a function in another thread, waiting at most the given time for it to finish.
+     * If the time is exceeded or the waiting thread is interrupted, the other thread is interrupted.
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     * @param f the function to be applied
+     * @param t the input of the function
+     * @param nanos the maximum time to wait, in nanoseconds
+     * @return the result of the function
+     * @throws TimeoutException if the function didn't finish in time
+     * @throws InterruptedException if the waiting thread was interrupted
+     * @throws Throwable whatever the function throws
+     */
+    static <T, R> R call(XFunction<? super T, ? extends R> f, T t, long nanos) throws Throwable {
+        FutureTask<R> task = new FutureTask<>(() -> {
+            try {
+                return f.apply(t);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        });
+        BlockingExecutor.INSTANCE.execute(task);
+        try {
+            return task.get(nanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            if (!task.cancel(true)) return outcome(task);
+            throw new TimeoutException("Timed out after " + nanos + " nanoseconds.");
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Gives the outcome of a task that is already done.
+     * @param <R> the type of the result
+     * @param task the task
+     * @return the result of the task
+     * @throws Throwable whatever the task threw
+     */
+    private static <R> R outcome(FutureTask<R> task) throws Throwable {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+}
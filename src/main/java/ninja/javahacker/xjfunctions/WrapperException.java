@@ -5,6 +5,14 @@ import java.util.Objects;
 /**
  * Exception used to wrap-up other exceptions thrown by functional operations.
  *
+ * <p>Since the interesting stack trace is the one from the cause, instances
+ * created by the {@code unchecked()} adapters through {@link #of(Throwable)}
+ * may skip filling in their own stack trace. This is controlled globally by
+ * {@link #setStackTraceEnabled(boolean)}, whose initial value is {@code true}
+ * unless the {@code ninja.javahacker.xjfunctions.stacklessWrapper} system
+ * property is set to {@code true}. Use {@link #stackless(Throwable)} to
+ * pick the cheap mode on a per call basis.</p>
+ *
  * @since XJFunctions 1.0
  * @author Victor Williams Stafusa da Silva
  */
@@ -16,13 +24,72 @@ public class WrapperException extends RuntimeException {
     private static final long serialVersionUID = 1L;
 
     /**
-     * Sole constructor with a cause.
+     * Whether {@link #of(Throwable)} creates instances with a stack trace.
+     */
+    private static volatile boolean stackTraceEnabled = !Boolean.getBoolean("ninja.javahacker.xjfunctions.stacklessWrapper");
+
+    /**
+     * Constructor with a cause. The created instance has a stack trace
+     * and supports suppressed exceptions.
      * @param cause The cause of this exception
      */
     public WrapperException(Throwable cause) {
         super(cause);
     }
 
+    /**
+     * Constructor with a cause which might skip the stack trace.
+     * If {@code writableStackTrace} is {@code false}, neither the stack
+     * trace is filled in nor suppressed exceptions are recorded, which
+     * makes the creation of the instance considerably cheaper.
+     * @param cause The cause of this exception
+     * @param writableStackTrace Whether the stack trace should be writable
+     */
+    protected WrapperException(Throwable cause, boolean writableStackTrace) {
+        super(cause == null ? null : cause.toString(), cause, writableStackTrace, writableStackTrace);
+    }
+
+    /**
+     * Creates an instance wrapping the given cause, with or without a
+     * stack trace according to the global setting.
+     * This is the factory used by all of the {@code unchecked()} adapters.
+     * @param cause The cause of the exception
+     * @return The newly created {@code WrapperException}
+     * @see #setStackTraceEnabled(boolean)
+     */
+    public static WrapperException of(Throwable cause) {
+        return new WrapperException(cause, stackTraceEnabled);
+    }
+
+    /**
+     * Creates an instance wrapping the given cause, without a stack trace
+     * and without support for suppressed exceptions, regardless of the
+     * global setting.
+     * @param cause The cause of the exception
+     * @return The newly created {@code WrapperException}
+     */
+    public static WrapperException stackless(Throwable cause) {
+        return new WrapperException(cause, false);
+    }
+
+    /**
+     * Globally defines whether instances created by {@link #of(Throwable)}
+     * have their stack traces filled in.
+     * @param enabled {@code true} to fill in stack traces, {@code false} to skip them
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    /**
+     * Tells whether instances created by {@link #of(Throwable)}
+     * have their stack traces filled in.
+     * @return {@code true} if stack traces are filled in, {@code false} otherwise
+     */
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
+
     /**
      * Unwraps and rethrow the cause exception if it matches the given class type.
      * @param <T> The type of the exception that might be rethrown
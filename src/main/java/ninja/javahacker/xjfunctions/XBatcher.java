@@ -0,0 +1,282 @@
+package ninja.javahacker.xjfunctions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Gathers single elements into batches for a function that works on many
+ * elements at once, which is useful for backends that prefer batch requests.
+ *
+ * <p>A batch is dispatched once it holds {@code maxBatchSize} elements or once
+ * {@code maxDelay} is elapsed since its first element arrived, whichever comes
+ * first. The batch function runs in the given executor and must give exactly
+ * one result per element, in the same order. If it fails, every element of
+ * the batch fails with the very same {@link Throwable}.</p>
+ * <pre>{@code
+ * XBatcher<Long, User> users = XBatcher.of(dao::findAllById, 100, Duration.ofMillis(5));
+ * CompletableFuture<User> alice = users.submit(1L);
+ * CompletableFuture<User> bob = users.submit(2L);
+ * }</pre>
+ *
+ * @param <T> the type of the elements
+ * @param <R> the type of the results
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@ThreadSafe
+public final class XBatcher<T, R> {
+
+    /**
+     * Dispatches the batches whose time window is over.
+     */
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    /**
+     * The function applied to each batch.
+     */
+    private final XFunction<? super List<T>, ? extends List<? extends R>> batchFunction;
+
+    /**
+     * The maximum number of elements in a batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The maximum time, in nanoseconds, that an element waits for its batch to be dispatched.
+     */
+    private final long maxDelayNanos;
+
+    /**
+     * Where the batch function runs.
+     */
+    private final Executor executor;
+
+    /**
+     * The elements of the batch being gathered.
+     */
+    @GuardedBy("this")
+    private List<T> elements;
+
+    /**
+     * The futures of the elements of the batch being gathered.
+     */
+    @GuardedBy("this")
+    private List<CompletableFuture<R>> futures;
+
+    /**
+     * Dispatches the batch being gathered once its time window is over.
+     */
+    @GuardedBy("this")
+    private Future<?> timer;
+
+    /**
+     * Sole constructor.
+     * @param batchFunction the function applied to each batch
+     * @param maxBatchSize the maximum number of elements in a batch
+     * @param maxDelayNanos the maximum time that an element waits for its batch to be dispatched
+     * @param executor where the batch function runs
+     */
+    private XBatcher(
+            XFunction<? super List<T>, ? extends List<? extends R>> batchFunction,
+            int maxBatchSize,
+            long maxDelayNanos,
+            Executor executor)
+    {
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.executor = executor;
+        this.elements = new ArrayList<>(maxBatchSize);
+        this.futures = new ArrayList<>(maxBatchSize);
+    }
+
+    /**
+     * Creates the scheduler of the time windows.
+     * @return the scheduler of the time windows
+     */
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "xjfunctions-batcher");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Creates a batcher whose batch function runs on virtual threads if the
+     * running JDK has them, or on pooled daemon platform threads otherwise.
+     *
+     * @param <T> the type of the elements
+     * @param <R> the type of the results
+     * @param batchFunction the function applied to each batch
+     * @param maxBatchSize the maximum number of elements in a batch
+     * @param maxDelay the maximum time that an element waits for its batch to be dispatched
+     * @return the new batcher
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} or {@code maxDelay} is not positive
+     */
+    public static <T, R> XBatcher<T, R> of(
+            XFunction<? super List<T>, ? extends List<? extends R>> batchFunction,
+            int maxBatchSize,
+            Duration maxDelay)
+    {
+        return of(batchFunction, maxBatchSize, maxDelay, BlockingExecutor.INSTANCE);
+    }
+
+    /**
+     * Creates a batcher whose batch function runs in the given executor.
+     *
+     * @param <T> the type of the elements
+     * @param <R> the type of the results
+     * @param batchFunction the function applied to each batch
+     * @param maxBatchSize the maximum number of elements in a batch
+     * @param maxDelay the maximum time that an element waits for its batch to be dispatched
+     * @param executor where the batch function runs
+     * @return the new batcher
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} or {@code maxDelay} is not positive
+     */
+    public static <T, R> XBatcher<T, R> of(
+            XFunction<? super List<T>, ? extends List<? extends R>> batchFunction,
+            int maxBatchSize,
+            Duration maxDelay,
+            Executor executor)
+    {
+        Objects.requireNonNull(batchFunction, "batchFunction");
+        Objects.requireNonNull(maxDelay, "maxDelay");
+        Objects.requireNonNull(executor, "executor");
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("maxBatchSize must be positive.");
+        if (maxDelay.isNegative() || maxDelay.isZero()) throw new IllegalArgumentException("maxDelay must be positive.");
+        long nanos = maxDelay.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : maxDelay.toNanos();
+        return new XBatcher<>(batchFunction, maxBatchSize, nanos, executor);
+    }
+
+    /**
+     * Adds an element to the batch being gathered.
+     *
+     * @param element the element
+     * @return a future completed with the result of the element once its batch is done
+     */
+    public CompletableFuture<R> submit(T element) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        List<T> fullElements;
+        List<CompletableFuture<R>> fullFutures;
+        synchronized (this) {
+            elements.add(element);
+            futures.add(future);
+            if (elements.size() < maxBatchSize) {
+                if (timer == null) {
+                    List<T> scheduled = elements;
+                    timer = SCHEDULER.schedule(() -> flush(scheduled), maxDelayNanos, TimeUnit.NANOSECONDS);
+                }
+                return future;
+            }
+            fullElements = elements;
+            fullFutures = futures;
+            reset();
+        }
+        dispatch(fullElements, fullFutures);
+        return future;
+    }
+
+    /**
+     * Dispatches the batch being gathered right now, if it has any element.
+     */
+    public void flush() {
+        flush(null);
+    }
+
+    /**
+     * Dispatches the batch being gathered right now, if it has any element and if it is the expected one.
+     * A timer which already fired might only get the lock after its batch was dispatched for being full,
+     * so it must not dispatch the next batch before its own time window is over.
+     * @param scheduled the elements of the batch whose time window is over, or {@code null} for any batch
+     */
+    private void flush(List<T> scheduled) {
+        List<T> batchElements;
+        List<CompletableFuture<R>> batchFutures;
+        synchronized (this) {
+            if (elements.isEmpty() || (scheduled != null && elements != scheduled)) return;
+            batchElements = elements;
+            batchFutures = futures;
+            reset();
+        }
+        dispatch(batchElements, batchFutures);
+    }
+
+    /**
+     * Starts gathering a new batch.
+     */
+    @GuardedBy("this")
+    private void reset() {
+        elements = new ArrayList<>(maxBatchSize);
+        futures = new ArrayList<>(maxBatchSize);
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    /**
+     * Runs the batch function in the executor and completes the futures with its outcome.
+     * @param batchElements the elements of the batch
+     * @param batchFutures the futures of the elements of the batch
+     */
+    private void dispatch(List<T> batchElements, List<CompletableFuture<R>> batchFutures) {
+        try {
+            executor.execute(() -> run(batchElements, batchFutures));
+        } catch (RuntimeException | Error e) {
+            for (CompletableFuture<R> f : batchFutures) {
+                f.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the batch function and completes the futures with its outcome.
+     * @param batchElements the elements of the batch
+     * @param batchFutures the futures of the elements of the batch
+     */
+    private void run(List<T> batchElements, List<CompletableFuture<R>> batchFutures) {
+        List<? extends R> results;
+        try {
+            results = batchFunction.apply(batchElements);
+            if (results == null || results.size() != batchFutures.size()) {
+                throw new IllegalStateException("The batch function gave "
+                        + (results == null ? "null" : results.size() + " results")
+                        + " for " + batchFutures.size() + " elements.");
+            }
+        } catch (Throwable x) {
+            for (CompletableFuture<R> f : batchFutures) {
+                f.completeExceptionally(x);
+            }
+            return;
+        }
+        for (int i = 0; i < batchFutures.size(); i++) {
+            batchFutures.get(i).complete(results.get(i));
+        }
+    }
+
+    /**
+     * Returns a function that submits its argument to this batcher and waits for its result.
+     * Since the calling thread blocks until the batch is done, this is meant to be used
+     * from many threads at once, such as virtual threads.
+     *
+     * @return a function that submits its argument to this batcher and waits for its result
+     */
+    public XFunction<T, R> asFunction() {
+        return t -> XFutures.await(submit(t));
+    }
+}
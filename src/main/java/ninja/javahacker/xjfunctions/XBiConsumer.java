@@ -68,7 +68,118 @@ public interface XBiConsumer<T, U> {
             try {
                 accept(t, u);
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link BiConsumer}.
+     * Any exception which might be thrown by the returned consumer
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link BiConsumer}
+     */
+    public default BiConsumer<T, U> sneaky() {
+        return (t, u) -> {
+            try {
+                accept(t, u);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a consumer that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this consumer, or this very consumer if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBiConsumer<T, U> timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return (t, u) -> {
+            long start = System.nanoTime();
+            try {
+                accept(t, u);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a consumer that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this consumer, or this very consumer if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBiConsumer<T, U> counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return (t, u) -> {
+            counter.increment();
+            accept(t, u);
+        };
+    }
+
+    /**
+     * Returns a consumer that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this consumer, or this very consumer if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBiConsumer<T, U> failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return (t, u) -> {
+            try {
+                accept(t, u);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a consumer that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this consumer is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this consumer
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XBiConsumer<T, U> guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return (t, u) -> {
+            guard.enter();
+            try {
+                accept(t, u);
+            } finally {
+                guard.exit();
             }
         };
     }
@@ -1,6 +1,9 @@
 package ninja.javahacker.xjfunctions;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 
 /**
@@ -65,7 +68,173 @@ public interface XBiFunction<T, U, R> {
             try {
                 return apply(t, u);
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link BiFunction}.
+     * Any exception which might be thrown by the returned function
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link BiFunction}
+     */
+    public default BiFunction<T, U, R> sneaky() {
+        return (t, u) -> {
+            try {
+                return apply(t, u);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that caches the results of this function according
+     * to the given policy. Concurrent callers are allowed.
+     *
+     * <p>If this function throws, the exception is relayed to the caller and,
+     * unless the policy says that failures should be cached, nothing is
+     * cached, so the next call with equal arguments tries again.</p>
+     *
+     * <p>Arguments are compared by {@link Object#equals(Object)} and
+     * {@link Object#hashCode()}. Both {@code null} arguments and
+     * {@code null} results are supported.</p>
+     *
+     * @param policy how the results are cached
+     * @return a memoized version of this function
+     * @throws NullPointerException if {@code policy} is null
+     */
+    public default XBiFunction<T, U, R> memoize(CachePolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        MemoCache<MemoCache.Pair<T, U>, R> cache = new MemoCache<>(policy);
+        XFunction<MemoCache.Pair<T, U>, R> loader = p -> apply(p.first, p.second);
+        return (t, u) -> cache.get(new MemoCache.Pair<>(t, u), loader);
+    }
+
+    /**
+     * Returns a function that starts applying this one in the
+     * {@linkplain ForkJoinPool#commonPool() common pool} and immediately
+     * gives a future of its result.
+     *
+     * <p>If this function throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @return an asynchronous version of this function
+     * @see XFutures
+     */
+    public default BiFunction<T, U, CompletableFuture<R>> async() {
+        return asyncOn(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a function that starts applying this one in the given executor
+     * and immediately gives a future of its result.
+     *
+     * <p>If this function throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @param executor where this function is applied
+     * @return an asynchronous version of this function
+     * @throws NullPointerException if {@code executor} is null
+     * @see XFutures
+     */
+    public default BiFunction<T, U, CompletableFuture<R>> asyncOn(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return (t, u) -> XFutures.start(executor, this, t, u);
+    }
+
+    /**
+     * Returns a function that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBiFunction<T, U, R> timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return (t, u) -> {
+            long start = System.nanoTime();
+            try {
+                return apply(t, u);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBiFunction<T, U, R> counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return (t, u) -> {
+            counter.increment();
+            return apply(t, u);
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBiFunction<T, U, R> failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return (t, u) -> {
+            try {
+                return apply(t, u);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a function that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this function is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this function
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XBiFunction<T, U, R> guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return (t, u) -> {
+            guard.enter();
+            try {
+                return apply(t, u);
+            } finally {
+                guard.exit();
             }
         };
     }
@@ -43,7 +43,118 @@ public interface XBooleanSupplier {
             try {
                 return getAsBoolean();
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link BooleanSupplier}.
+     * Any exception which might be thrown by the returned supplier
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link BooleanSupplier}
+     */
+    public default BooleanSupplier sneaky() {
+        return () -> {
+            try {
+                return getAsBoolean();
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this supplier, or this very supplier if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBooleanSupplier timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return getAsBoolean();
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this supplier, or this very supplier if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBooleanSupplier counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return () -> {
+            counter.increment();
+            return getAsBoolean();
+        };
+    }
+
+    /**
+     * Returns a supplier that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this supplier, or this very supplier if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XBooleanSupplier failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return () -> {
+            try {
+                return getAsBoolean();
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this supplier is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this supplier
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XBooleanSupplier guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return () -> {
+            guard.enter();
+            try {
+                return getAsBoolean();
+            } finally {
+                guard.exit();
             }
         };
     }
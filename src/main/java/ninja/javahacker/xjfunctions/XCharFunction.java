@@ -43,11 +43,209 @@ public interface XCharFunction<R> {
             try {
                 return apply(value);
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
             }
         };
     }
 
+    /**
+     * Unwraps this object into a standard {@link CharFunction}.
+     * Any exception which might be thrown by the returned function
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link CharFunction}
+     */
+    public default CharFunction<R> sneaky() {
+        return value -> {
+            try {
+                return apply(value);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharFunction<R> timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return value -> {
+            long start = System.nanoTime();
+            try {
+                return apply(value);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharFunction<R> counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            counter.increment();
+            return apply(value);
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharFunction<R> failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            try {
+                return apply(value);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a function that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this function is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this function
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XCharFunction<R> guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return value -> {
+            guard.enter();
+            try {
+                return apply(value);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The {@code char} input is never boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param <V> the type of output of the {@code after} function, and of the
+     *           composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default <V> XCharFunction<V> andThen(XFunction<? super R, ? extends V> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.apply(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the {@code char} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharUnaryOperator andThenAsChar(XToCharFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsChar(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the {@code int} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToIntFunction andThenAsInt(XToIntFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsInt(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the {@code long} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToLongFunction andThenAsLong(XToLongFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsLong(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the {@code double} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToDoubleFunction andThenAsDouble(XToDoubleFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsDouble(apply(value));
+    }
+
     /**
      * Wraps a standard {@link CharFunction} into a {@code XCharFunction}.
      * @param toWrap the {@link CharFunction} which will be wrapped
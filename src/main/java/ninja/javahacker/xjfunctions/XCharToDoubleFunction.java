@@ -0,0 +1,256 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+
+/**
+ * Represents a function that accepts a {@code char}-valued argument and produces a
+ * {@code double}-valued result and might throw any exception. This is both the
+ * {@code char}-to-{@code double} primitive specialization for {@link XFunction}
+ * and the exception-friendly specialization for {@link CharToDoubleFunction}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsDouble(char)}.</p>
+ *
+ * @see XFunction
+ * @see CharToDoubleFunction
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface XCharToDoubleFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable the exception that might be propagated
+     */
+    public double applyAsDouble(char value) throws Throwable;
+
+    /**
+     * Unwraps this object into a standard {@link CharToDoubleFunction}.
+     * Any exception which might be thrown by the returned function
+     * will be wrapped up into an {@link WrapperException}.
+     * @return An unwrapped standard {@link CharToDoubleFunction}
+     */
+    public default CharToDoubleFunction unchecked() {
+        return value -> {
+            try {
+                return applyAsDouble(value);
+            } catch (Throwable x) {
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link CharToDoubleFunction}.
+     * Any exception which might be thrown by the returned function
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link CharToDoubleFunction}
+     */
+    public default CharToDoubleFunction sneaky() {
+        return value -> {
+            try {
+                return applyAsDouble(value);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharToDoubleFunction timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return value -> {
+            long start = System.nanoTime();
+            try {
+                return applyAsDouble(value);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharToDoubleFunction counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            counter.increment();
+            return applyAsDouble(value);
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharToDoubleFunction failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            try {
+                return applyAsDouble(value);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a function that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this function is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this function
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XCharToDoubleFunction guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return value -> {
+            guard.enter();
+            try {
+                return applyAsDouble(value);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the intermediate {@code double} is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param <V> the type of output of the {@code after} function, and of the
+     *           composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default <V> XCharFunction<V> andThen(XDoubleFunction<? extends V> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.apply(applyAsDouble(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input, the intermediate {@code double} nor the {@code int} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToIntFunction andThenAsInt(XDoubleToIntFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsInt(applyAsDouble(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input, the intermediate {@code double} nor the {@code long} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToLongFunction andThenAsLong(XDoubleToLongFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsLong(applyAsDouble(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input, the intermediate {@code double} nor the {@code double} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToDoubleFunction andThenAsDouble(XDoubleUnaryOperator after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsDouble(applyAsDouble(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input, the intermediate {@code double} nor the {@code char} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharUnaryOperator andThenAsChar(XDoubleToCharFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsChar(applyAsDouble(value));
+    }
+
+    /**
+     * Wraps a standard {@link CharToDoubleFunction} into a {@code XCharToDoubleFunction}.
+     * @param toWrap the {@link CharToDoubleFunction} which will be wrapped
+     * @return {@code toWrap} wrapped as a {@code XCharToDoubleFunction}.
+     * @throws NullPointerException if {@code toWrap} is null
+     */
+    public static XCharToDoubleFunction wrap(CharToDoubleFunction toWrap) {
+        Objects.requireNonNull(toWrap, "toWrap");
+        return toWrap::applyAsDouble;
+    }
+}
@@ -0,0 +1,283 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+
+/**
+ * Represents an operation on a single {@code char}-valued operand that produces
+ * a {@code char}-valued result and might throw any exception. This is both the
+ * {@code char} primitive specialization of
+ * {@link java.util.function.UnaryOperator UnaryOperator} and the
+ * exception-friendly specialization of {@link CharUnaryOperator}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsChar(char)}.</p>
+ *
+ * @see java.util.function.UnaryOperator
+ * @see CharUnaryOperator
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface XCharUnaryOperator {
+
+    /**
+     * Applies this operator to the given operand.
+     *
+     * @param operand the operand
+     * @return the operator result
+     * @throws Throwable the exception that might be propagated
+     */
+    public char applyAsChar(char operand) throws Throwable;
+
+    /**
+     * Returns a composed operator that first applies the {@code before}
+     * operator to its input, and then applies this operator to the result.
+     * If evaluation of either operator throws an exception, it is relayed to
+     * the caller of the composed operator.
+     *
+     * @param before the operator to apply before this operator is applied
+     * @return a composed operator that first applies the {@code before}
+     *     operator and then applies this operator
+     * @throws NullPointerException if before is null
+     *
+     * @see #andThen(CharUnaryOperator)
+     */
+    public default XCharUnaryOperator compose(CharUnaryOperator before) {
+        Objects.requireNonNull(before, "before");
+        return (char v) -> applyAsChar(before.applyAsChar(v));
+    }
+
+    /**
+     * Returns a composed operator that first applies this operator to
+     * its input, and then applies the {@code after} operator to the result.
+     * If evaluation of either operator throws an exception, it is relayed to
+     * the caller of the composed operator.
+     *
+     * @param after the operator to apply after this operator is applied
+     * @return a composed operator that first applies this operator and then
+     *     applies the {@code after} operator
+     * @throws NullPointerException if after is null
+     *
+     * @see #compose(CharUnaryOperator)
+     */
+    public default XCharUnaryOperator andThen(CharUnaryOperator after) {
+        Objects.requireNonNull(after, "after");
+        return (char t) -> after.applyAsChar(applyAsChar(t));
+    }
+
+    /**
+     * Returns a unary operator that always returns its input argument.
+     *
+     * @return a unary operator that always returns its input argument
+     */
+    public static XCharUnaryOperator identity() {
+        return t -> t;
+    }
+
+    /**
+     * Unwraps this object into a standard {@link CharUnaryOperator}.
+     * Any exception which might be thrown by the returned operator
+     * will be wrapped up into an {@link WrapperException}.
+     * @return An unwrapped standard {@link CharUnaryOperator}
+     */
+    public default CharUnaryOperator unchecked() {
+        return operand -> {
+            try {
+                return applyAsChar(operand);
+            } catch (Throwable x) {
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link CharUnaryOperator}.
+     * Any exception which might be thrown by the returned operator
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link CharUnaryOperator}
+     */
+    public default CharUnaryOperator sneaky() {
+        return operand -> {
+            try {
+                return applyAsChar(operand);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns an operator that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharUnaryOperator timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return operand -> {
+            long start = System.nanoTime();
+            try {
+                return applyAsChar(operand);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns an operator that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharUnaryOperator counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return operand -> {
+            counter.increment();
+            return applyAsChar(operand);
+        };
+    }
+
+    /**
+     * Returns an operator that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XCharUnaryOperator failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return operand -> {
+            try {
+                return applyAsChar(operand);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a operator that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this operator is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this operator
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XCharUnaryOperator guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return operand -> {
+            guard.enter();
+            try {
+                return applyAsChar(operand);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * No {@code char} is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharUnaryOperator andThenAsChar(XCharUnaryOperator after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsChar(applyAsChar(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the {@code int} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToIntFunction andThenAsInt(XCharToIntFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsInt(applyAsChar(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the {@code long} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToLongFunction andThenAsLong(XCharToLongFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsLong(applyAsChar(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code char} input nor the {@code double} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XCharToDoubleFunction andThenAsDouble(XCharToDoubleFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsDouble(applyAsChar(value));
+    }
+
+    /**
+     * Wraps a standard {@link CharUnaryOperator} into a {@code XCharUnaryOperator}.
+     * @param toWrap the {@link CharUnaryOperator} which will be wrapped
+     * @return {@code toWrap} wrapped as a {@code XCharUnaryOperator}.
+     * @throws NullPointerException if {@code toWrap} is null
+     */
+    public static XCharUnaryOperator wrap(CharUnaryOperator toWrap) {
+        Objects.requireNonNull(toWrap, "toWrap");
+        return toWrap::applyAsChar;
+    }
+}
@@ -44,11 +44,237 @@ public interface XDoubleFunction<R> {
             try {
                 return apply(value);
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
             }
         };
     }
 
+    /**
+     * Unwraps this object into a standard {@link DoubleFunction}.
+     * Any exception which might be thrown by the returned function
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link DoubleFunction}
+     */
+    public default DoubleFunction<R> sneaky() {
+        return value -> {
+            try {
+                return apply(value);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that caches the results of this function according
+     * to the given policy. Concurrent callers are allowed.
+     *
+     * <p>The arguments are kept in an open-addressing table of primitive
+     * {@code long}s, so they are never boxed. The arguments are compared by their
+     * {@linkplain Double#doubleToLongBits(double) bit patterns}, so all the
+     * {@code NaN}s are the same argument, but {@code 0.0} and {@code -0.0} are not. Since each argument might
+     * only be stored among a few slots near its hash position, eviction is made
+     * by the CLOCK approximation of LRU within those slots, and the
+     * {@linkplain CachePolicy#getEviction() eviction} of the policy is ignored.</p>
+     *
+     * <p>If this function throws, the exception is relayed to the caller and,
+     * unless the policy says that failures should be cached, nothing is
+     * cached, so the next call with the same argument tries again.
+     * {@code null} results are supported.</p>
+     *
+     * @param policy how the results are cached
+     * @return a memoized version of this function
+     * @throws NullPointerException if {@code policy} is null
+     */
+    public default XDoubleFunction<R> memoize(CachePolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        LongKeyedCache<R> cache = new LongKeyedCache<>(policy);
+        XLongFunction<R> loader = bits -> apply(Double.longBitsToDouble(bits));
+        return value -> cache.get(Double.doubleToLongBits(value), loader);
+    }
+
+    /**
+     * Returns a function that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleFunction<R> timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return value -> {
+            long start = System.nanoTime();
+            try {
+                return apply(value);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleFunction<R> counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            counter.increment();
+            return apply(value);
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleFunction<R> failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            try {
+                return apply(value);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a function that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this function is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this function
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XDoubleFunction<R> guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return value -> {
+            guard.enter();
+            try {
+                return apply(value);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The {@code double} input is never boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param <V> the type of output of the {@code after} function, and of the
+     *           composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default <V> XDoubleFunction<V> andThen(XFunction<? super R, ? extends V> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.apply(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the {@code int} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToIntFunction andThenAsInt(XToIntFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsInt(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the {@code long} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToLongFunction andThenAsLong(XToLongFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsLong(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the {@code double} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleUnaryOperator andThenAsDouble(XToDoubleFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsDouble(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the {@code char} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToCharFunction andThenAsChar(XToCharFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsChar(apply(value));
+    }
+
     /**
      * Wraps a standard {@link DoubleFunction} into a {@code XDoubleFunction}.
      * @param toWrap the {@link DoubleFunction} which will be wrapped
@@ -0,0 +1,498 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
+
+/**
+ * A facade over a {@link DoubleStream} whose operations accept the exception-friendly
+ * functional interfaces of this package directly.
+ * This is the {@code double} primitive specialization of {@link XStream}.
+ *
+ * <p>All the stages of a pipeline, including the ones reached through
+ * {@link #mapToObj(XDoubleFunction)} or {@link #boxed()}, share a single
+ * failure channel. When any lambda given to the pipeline throws, the failure is
+ * recorded, the remaining elements are skipped and the terminal operation
+ * rethrows the original {@link Throwable}, unchanged.</p>
+ *
+ * <p>Like {@link DoubleStream}, a {@code XDoubleStream} should be operated on only once.</p>
+ *
+ * @see DoubleStream
+ * @see XStream
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class XDoubleStream implements AutoCloseable {
+
+    /**
+     * The underlying stream.
+     */
+    private final DoubleStream stream;
+
+    /**
+     * The failure channel shared by every stage of this pipeline.
+     */
+    private final FailureChannel channel;
+
+    /**
+     * Sole constructor.
+     * @param stream the underlying stream
+     * @param channel the failure channel shared by every stage of the pipeline
+     */
+    XDoubleStream(DoubleStream stream, FailureChannel channel) {
+        this.stream = stream;
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a {@code XDoubleStream} backed by the given {@link DoubleStream}.
+     *
+     * @param stream the underlying stream
+     * @return the new stream
+     * @throws NullPointerException if {@code stream} is null
+     */
+    public static XDoubleStream from(DoubleStream stream) {
+        Objects.requireNonNull(stream, "stream");
+        return new XDoubleStream(stream, new FailureChannel());
+    }
+
+    /**
+     * Returns a sequential ordered stream whose elements are the specified values.
+     *
+     * @param values the elements of the new stream
+     * @return the new stream
+     * @throws NullPointerException if {@code values} is null
+     */
+    public static XDoubleStream of(double... values) {
+        Objects.requireNonNull(values, "values");
+        return from(DoubleStream.of(values));
+    }
+
+    /**
+     * Runs a terminal operation on the underlying stream.
+     * @param <R> the type of the result
+     * @param op the terminal operation
+     * @return the result of the terminal operation
+     * @throws Throwable the original failure of any stage of the pipeline
+     */
+    private <R> R terminal(Function<DoubleStream, R> op) throws Throwable {
+        try {
+            return op.apply(stream);
+        } catch (RuntimeException e) {
+            throw channel.unwrap(e);
+        }
+    }
+
+    /**
+     * Returns whether the terminal operation would execute in parallel.
+     *
+     * @return {@code true} if this stream is parallel
+     */
+    public boolean isParallel() {
+        return stream.isParallel();
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel.
+     *
+     * @return a parallel stream
+     */
+    public XDoubleStream parallel() {
+        return new XDoubleStream(stream.parallel(), channel);
+    }
+
+    /**
+     * Returns an equivalent stream that is sequential.
+     *
+     * @return a sequential stream
+     */
+    public XDoubleStream sequential() {
+        return new XDoubleStream(stream.sequential(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream that match the given predicate.
+     *
+     * @param predicate the predicate to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code predicate} is null
+     * @see DoubleStream#filter(java.util.function.DoublePredicate)
+     */
+    public XDoubleStream filter(XDoublePredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new XDoubleStream(stream.filter(channel.doublePredicate(predicate)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given operator
+     * to the elements of this stream.
+     *
+     * @param mapper the operator to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see DoubleStream#map(java.util.function.DoubleUnaryOperator)
+     */
+    public XDoubleStream map(XDoubleUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XDoubleStream(stream.map(channel.doubleUnaryOperator(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XIntStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see DoubleStream#mapToInt(java.util.function.DoubleToIntFunction)
+     */
+    public XIntStream mapToInt(XDoubleToIntFunction mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XIntStream(stream.mapToInt(channel.doubleToInt(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XLongStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see DoubleStream#mapToLong(java.util.function.DoubleToLongFunction)
+     */
+    public XLongStream mapToLong(XDoubleToLongFunction mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XLongStream(stream.mapToLong(channel.doubleToLong(mapper)), channel);
+    }
+
+    /**
+     * Returns an object-valued {@link XStream} consisting of the results of
+     * applying the given function to the elements of this stream.
+     *
+     * @param <U> the element type of the new stream
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see DoubleStream#mapToObj(java.util.function.DoubleFunction)
+     */
+    public <U> XStream<U> mapToObj(XDoubleFunction<? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XStream<>(stream.<U>mapToObj(channel.doubleFunction(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XStream} consisting of the elements of this stream, boxed.
+     *
+     * @return the new stream
+     * @see DoubleStream#boxed()
+     */
+    public XStream<Double> boxed() {
+        return new XStream<>(stream.boxed(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * performing the provided action on each element as elements are consumed.
+     *
+     * @param action the action to perform on the elements
+     * @return the new stream
+     * @throws NullPointerException if {@code action} is null
+     * @see DoubleStream#peek(java.util.function.DoubleConsumer)
+     */
+    public XDoubleStream peek(XDoubleConsumer action) {
+        Objects.requireNonNull(action, "action");
+        return new XDoubleStream(stream.peek(channel.doubleConsumer(action)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the distinct elements of this stream.
+     *
+     * @return the new stream
+     * @see DoubleStream#distinct()
+     */
+    public XDoubleStream distinct() {
+        return new XDoubleStream(stream.distinct(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream in sorted order.
+     *
+     * @return the new stream
+     * @see DoubleStream#sorted()
+     */
+    public XDoubleStream sorted() {
+        return new XDoubleStream(stream.sorted(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, truncated
+     * to be no longer than {@code maxSize} in length.
+     *
+     * @param maxSize the number of elements the stream should be limited to
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     * @see DoubleStream#limit(long)
+     */
+    public XDoubleStream limit(long maxSize) {
+        return new XDoubleStream(stream.limit(maxSize), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the remaining elements of this stream
+     * after discarding the first {@code n} elements of the stream.
+     *
+     * @param n the number of leading elements to skip
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @see DoubleStream#skip(long)
+     */
+    public XDoubleStream skip(long n) {
+        return new XDoubleStream(stream.skip(n), channel);
+    }
+
+    /**
+     * Performs an action for each element of this stream.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#forEach(java.util.function.DoubleConsumer)
+     */
+    public void forEach(XDoubleConsumer action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEach(channel.doubleConsumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs an action for each element of this stream, guaranteeing that
+     * each element is processed in encounter order for streams that have a
+     * defined encounter order.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#forEachOrdered(java.util.function.DoubleConsumer)
+     */
+    public void forEachOrdered(XDoubleConsumer action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEachOrdered(channel.doubleConsumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using the provided
+     * identity value and an associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param identity the identity value for the accumulating function
+     * @param op an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#reduce(double, java.util.function.DoubleBinaryOperator)
+     */
+    public double reduce(double identity, XDoubleBinaryOperator op) throws Throwable {
+        Objects.requireNonNull(op, "op");
+        return terminal(s -> s.reduce(identity, channel.doubleBinaryOperator(op)));
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using an
+     * associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param op an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return an {@link OptionalDouble} describing the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#reduce(java.util.function.DoubleBinaryOperator)
+     */
+    public OptionalDouble reduce(XDoubleBinaryOperator op) throws Throwable {
+        Objects.requireNonNull(op, "op");
+        return terminal(s -> s.reduce(channel.doubleBinaryOperator(op)));
+    }
+
+    /**
+     * Returns an array containing the elements of this stream.
+     * This is a terminal operation.
+     *
+     * @return an array containing the elements of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#toArray()
+     */
+    public double[] toArray() throws Throwable {
+        return terminal(DoubleStream::toArray);
+    }
+
+    /**
+     * Returns the sum of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the sum of elements in this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#sum()
+     */
+    public double sum() throws Throwable {
+        return terminal(DoubleStream::sum);
+    }
+
+    /**
+     * Returns an {@link OptionalDouble} describing the minimum element of this
+     * stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalDouble} containing the minimum element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#min()
+     */
+    public OptionalDouble min() throws Throwable {
+        return terminal(DoubleStream::min);
+    }
+
+    /**
+     * Returns an {@link OptionalDouble} describing the maximum element of this
+     * stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalDouble} containing the maximum element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#max()
+     */
+    public OptionalDouble max() throws Throwable {
+        return terminal(DoubleStream::max);
+    }
+
+    /**
+     * Returns the count of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the count of elements in this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#count()
+     */
+    public long count() throws Throwable {
+        return terminal(DoubleStream::count);
+    }
+
+    /**
+     * Returns an {@link OptionalDouble} describing the arithmetic mean of the
+     * elements of this stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalDouble} containing the average element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#average()
+     */
+    public OptionalDouble average() throws Throwable {
+        return terminal(DoubleStream::average);
+    }
+
+    /**
+     * Returns a {@link DoubleSummaryStatistics} describing various summary data about the
+     * elements of this stream.
+     * This is a terminal operation.
+     *
+     * @return a {@link DoubleSummaryStatistics} describing various summary data about the
+     *     elements of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#summaryStatistics()
+     */
+    public DoubleSummaryStatistics summaryStatistics() throws Throwable {
+        return terminal(DoubleStream::summaryStatistics);
+    }
+
+    /**
+     * Returns whether any element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if any element matches the predicate, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#anyMatch(java.util.function.DoublePredicate)
+     */
+    public boolean anyMatch(XDoublePredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.anyMatch(channel.doublePredicate(predicate)));
+    }
+
+    /**
+     * Returns whether all elements of this stream match the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if all the elements match the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#allMatch(java.util.function.DoublePredicate)
+     */
+    public boolean allMatch(XDoublePredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.allMatch(channel.doublePredicate(predicate)));
+    }
+
+    /**
+     * Returns whether no element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if no element matches the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#noneMatch(java.util.function.DoublePredicate)
+     */
+    public boolean noneMatch(XDoublePredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.noneMatch(channel.doublePredicate(predicate)));
+    }
+
+    /**
+     * Returns an {@link OptionalDouble} describing the first element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link OptionalDouble} describing the first element of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#findFirst()
+     */
+    public OptionalDouble findFirst() throws Throwable {
+        return terminal(DoubleStream::findFirst);
+    }
+
+    /**
+     * Returns an {@link OptionalDouble} describing some element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link OptionalDouble} describing some element of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see DoubleStream#findAny()
+     */
+    public OptionalDouble findAny() throws Throwable {
+        return terminal(DoubleStream::findAny);
+    }
+
+    /**
+     * Closes the underlying stream, causing all of its close handlers to be called.
+     * @see DoubleStream#close()
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,257 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+import java.util.function.DoubleToIntFunction;
+
+/**
+ * Represents a function that accepts a {@code double}-valued argument and produces a
+ * {@code int}-valued result and might throw any exception. This is both the
+ * {@code double}-to-{@code int} primitive specialization for {@link XFunction}
+ * and the exception-friendly specialization for {@link DoubleToIntFunction}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsInt(double)}.</p>
+ *
+ * @see XFunction
+ * @see DoubleToIntFunction
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface XDoubleToIntFunction {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     * @throws Throwable the exception that might be propagated
+     */
+    public int applyAsInt(double value) throws Throwable;
+
+    /**
+     * Unwraps this object into a standard {@link DoubleToIntFunction}.
+     * Any exception which might be thrown by the returned function
+     * will be wrapped up into an {@link WrapperException}.
+     * @return An unwrapped standard {@link DoubleToIntFunction}
+     */
+    public default DoubleToIntFunction unchecked() {
+        return value -> {
+            try {
+                return applyAsInt(value);
+            } catch (Throwable x) {
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link DoubleToIntFunction}.
+     * Any exception which might be thrown by the returned function
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link DoubleToIntFunction}
+     */
+    public default DoubleToIntFunction sneaky() {
+        return value -> {
+            try {
+                return applyAsInt(value);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleToIntFunction timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return value -> {
+            long start = System.nanoTime();
+            try {
+                return applyAsInt(value);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleToIntFunction counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            counter.increment();
+            return applyAsInt(value);
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleToIntFunction failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            try {
+                return applyAsInt(value);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a function that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this function is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this function
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XDoubleToIntFunction guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return value -> {
+            guard.enter();
+            try {
+                return applyAsInt(value);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the intermediate {@code int} is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param <V> the type of output of the {@code after} function, and of the
+     *           composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default <V> XDoubleFunction<V> andThen(XIntFunction<? extends V> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.apply(applyAsInt(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input, the intermediate {@code int} nor the {@code int} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToIntFunction andThenAsInt(XIntUnaryOperator after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsInt(applyAsInt(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input, the intermediate {@code int} nor the {@code long} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToLongFunction andThenAsLong(XIntToLongFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsLong(applyAsInt(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input, the intermediate {@code int} nor the {@code double} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleUnaryOperator andThenAsDouble(XIntToDoubleFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsDouble(applyAsInt(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input, the intermediate {@code int} nor the {@code char} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToCharFunction andThenAsChar(XIntToCharFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsChar(applyAsInt(value));
+    }
+
+    /**
+     * Wraps a standard {@link DoubleToIntFunction} into a {@code XDoubleToIntFunction}.
+     * @param toWrap the {@link DoubleToIntFunction} which will be wrapped
+     * @return {@code toWrap} wrapped as a {@code XDoubleToIntFunction}.
+     * @throws NullPointerException if {@code toWrap} is null
+     */
+    public static XDoubleToIntFunction wrap(DoubleToIntFunction toWrap) {
+        Objects.requireNonNull(toWrap, "toWrap");
+        return toWrap::applyAsInt;
+    }
+}
@@ -0,0 +1,284 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Represents an operation on a single {@code double}-valued operand that produces
+ * a {@code double}-valued result and might throw any exception. This is both the
+ * {@code double} primitive specialization of
+ * {@link java.util.function.UnaryOperator UnaryOperator} and the
+ * exception-friendly specialization of {@link DoubleUnaryOperator}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsDouble(double)}.</p>
+ *
+ * @see java.util.function.UnaryOperator
+ * @see DoubleUnaryOperator
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface XDoubleUnaryOperator {
+
+    /**
+     * Applies this operator to the given operand.
+     *
+     * @param operand the operand
+     * @return the operator result
+     * @throws Throwable the exception that might be propagated
+     */
+    public double applyAsDouble(double operand) throws Throwable;
+
+    /**
+     * Returns a composed operator that first applies the {@code before}
+     * operator to its input, and then applies this operator to the result.
+     * If evaluation of either operator throws an exception, it is relayed to
+     * the caller of the composed operator.
+     *
+     * @param before the operator to apply before this operator is applied
+     * @return a composed operator that first applies the {@code before}
+     *     operator and then applies this operator
+     * @throws NullPointerException if before is null
+     *
+     * @see #andThen(DoubleUnaryOperator)
+     */
+    public default XDoubleUnaryOperator compose(DoubleUnaryOperator before) {
+        Objects.requireNonNull(before, "before");
+        return (double v) -> applyAsDouble(before.applyAsDouble(v));
+    }
+
+    /**
+     * Returns a composed operator that first applies this operator to
+     * its input, and then applies the {@code after} operator to the result.
+     * If evaluation of either operator throws an exception, it is relayed to
+     * the caller of the composed operator.
+     *
+     * @param after the operator to apply after this operator is applied
+     * @return a composed operator that first applies this operator and then
+     *     applies the {@code after} operator
+     * @throws NullPointerException if after is null
+     *
+     * @see #compose(DoubleUnaryOperator)
+     */
+    public default XDoubleUnaryOperator andThen(DoubleUnaryOperator after) {
+        Objects.requireNonNull(after, "after");
+        return (double t) -> after.applyAsDouble(applyAsDouble(t));
+    }
+
+    /**
+     * Returns a unary operator that always returns its input argument.
+     *
+     * @return a unary operator that always returns its input argument
+     */
+    public static XDoubleUnaryOperator identity() {
+        return t -> t;
+    }
+
+    /**
+     * Unwraps this object into a standard {@link DoubleUnaryOperator}.
+     * Any exception which might be thrown by the returned operator
+     * will be wrapped up into an {@link WrapperException}.
+     * @return An unwrapped standard {@link DoubleUnaryOperator}
+     */
+    public default DoubleUnaryOperator unchecked() {
+        return operand -> {
+            try {
+                return applyAsDouble(operand);
+            } catch (Throwable x) {
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link DoubleUnaryOperator}.
+     * Any exception which might be thrown by the returned operator
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link DoubleUnaryOperator}
+     */
+    public default DoubleUnaryOperator sneaky() {
+        return operand -> {
+            try {
+                return applyAsDouble(operand);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns an operator that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleUnaryOperator timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return operand -> {
+            long start = System.nanoTime();
+            try {
+                return applyAsDouble(operand);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns an operator that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleUnaryOperator counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return operand -> {
+            counter.increment();
+            return applyAsDouble(operand);
+        };
+    }
+
+    /**
+     * Returns an operator that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XDoubleUnaryOperator failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return operand -> {
+            try {
+                return applyAsDouble(operand);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a operator that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this operator is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this operator
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XDoubleUnaryOperator guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return operand -> {
+            guard.enter();
+            try {
+                return applyAsDouble(operand);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the {@code int} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToIntFunction andThenAsInt(XDoubleToIntFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsInt(applyAsDouble(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the {@code long} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToLongFunction andThenAsLong(XDoubleToLongFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsLong(applyAsDouble(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * No {@code double} is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleUnaryOperator andThenAsDouble(XDoubleUnaryOperator after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsDouble(applyAsDouble(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code double} input nor the {@code char} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XDoubleToCharFunction andThenAsChar(XDoubleToCharFunction after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsChar(applyAsDouble(value));
+    }
+
+    /**
+     * Wraps a standard {@link DoubleUnaryOperator} into a {@code XDoubleUnaryOperator}.
+     * @param toWrap the {@link DoubleUnaryOperator} which will be wrapped
+     * @return {@code toWrap} wrapped as a {@code XDoubleUnaryOperator}.
+     * @throws NullPointerException if {@code toWrap} is null
+     */
+    public static XDoubleUnaryOperator wrap(DoubleUnaryOperator toWrap) {
+        Objects.requireNonNull(toWrap, "toWrap");
+        return toWrap::applyAsDouble;
+    }
+}
@@ -1,7 +1,11 @@
 package ninja.javahacker.xjfunctions;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 /**
@@ -94,11 +98,314 @@ public interface XFunction<T, R> {
             try {
                 return apply(t);
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
             }
         };
     }
 
+    /**
+     * Unwraps this object into a standard {@link Function}.
+     * Any exception which might be thrown by the returned function
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link Function}
+     */
+    public default Function<T, R> sneaky() {
+        return t -> {
+            try {
+                return apply(t);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that caches the results of this function according
+     * to the given policy. Concurrent callers are allowed.
+     *
+     * <p>If this function throws, the exception is relayed to the caller and,
+     * unless the policy says that failures should be cached, nothing is
+     * cached, so the next call with an equal argument tries again.</p>
+     *
+     * <p>Arguments are compared by {@link Object#equals(Object)} and
+     * {@link Object#hashCode()}. Both {@code null} arguments and
+     * {@code null} results are supported.</p>
+     *
+     * @param policy how the results are cached
+     * @return a memoized version of this function
+     * @throws NullPointerException if {@code policy} is null
+     */
+    public default XFunction<T, R> memoize(CachePolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        MemoCache<T, R> cache = new MemoCache<>(policy);
+        return t -> cache.get(t, this);
+    }
+
+    /**
+     * Returns a function that applies this one, retrying it with the same
+     * argument according to the given policy when it fails.
+     *
+     * @param policy how the failures are retried
+     * @return a retrying version of this function
+     * @throws NullPointerException if {@code policy} is null
+     */
+    public default XFunction<T, R> retrying(RetryPolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        return t -> policy.execute(this, t);
+    }
+
+    /**
+     * Returns a function that applies this one in another thread, waiting at
+     * most the given time for it to finish.
+     *
+     * <p>The body runs on a virtual thread if the running JDK has them, or on a
+     * pooled daemon platform thread otherwise. If it doesn't finish in time, its
+     * thread is interrupted and a {@link java.util.concurrent.TimeoutException}
+     * is thrown. If the calling thread is interrupted while waiting, the body is
+     * interrupted as well and an {@link InterruptedException} is thrown. Any
+     * failure of the body is rethrown unchanged.</p>
+     *
+     * @param timeout for how long the caller waits for the body to finish
+     * @return a time limited version of this function
+     * @throws NullPointerException if {@code timeout} is null
+     * @throws IllegalArgumentException if {@code timeout} is not positive
+     */
+    public default XFunction<T, R> withTimeout(Duration timeout) {
+        long nanos = Timeouts.toNanos(timeout);
+        return t -> Timeouts.call(this, t, nanos);
+    }
+
+    /**
+     * Returns a function that starts applying this one in the
+     * {@linkplain ForkJoinPool#commonPool() common pool} and immediately
+     * gives a future of its result.
+     *
+     * <p>If this function throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @return an asynchronous version of this function
+     * @see XFutures
+     */
+    public default Function<T, CompletableFuture<R>> async() {
+        return asyncOn(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a function that starts applying this one in the given executor
+     * and immediately gives a future of its result.
+     *
+     * <p>If this function throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @param executor where this function is applied
+     * @return an asynchronous version of this function
+     * @throws NullPointerException if {@code executor} is null
+     * @see XFutures
+     */
+    public default Function<T, CompletableFuture<R>> asyncOn(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        XBiFunction<T, Object, R> body = (t, ignored) -> apply(t);
+        return t -> XFutures.start(executor, body, t, null);
+    }
+
+    /**
+     * Returns a function that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XFunction<T, R> timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return t -> {
+            long start = System.nanoTime();
+            try {
+                return apply(t);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XFunction<T, R> counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return t -> {
+            counter.increment();
+            return apply(t);
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XFunction<T, R> failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return t -> {
+            try {
+                return apply(t);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a function that applies this one only if the given circuit breaker
+     * lets the call through, recording the outcome in the breaker.
+     *
+     * @param breaker the circuit breaker
+     * @return a guarded version of this function, which throws a
+     *     {@link CircuitBreakerOpenException} instead of applying this one while the breaker is open
+     * @throws NullPointerException if {@code breaker} is null
+     */
+    public default XFunction<T, R> withCircuitBreaker(CircuitBreaker breaker) {
+        Objects.requireNonNull(breaker, "breaker");
+        return t -> breaker.execute(this, t);
+    }
+
+    /**
+     * Returns a function that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this function is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this function
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XFunction<T, R> guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return t -> {
+            guard.enter();
+            try {
+                return apply(t);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a function that coalesces concurrent calls with equal arguments
+     * into a single call of this one. While a call is in flight, every other
+     * call with an equal argument waits for it and gets the very same result,
+     * or the very same {@link Throwable}, instead of calling this function
+     * again. Once the call finishes, nothing about it is retained, so the next
+     * call with an equal argument calls this function again.
+     *
+     * <p>Arguments are compared by {@link Object#equals(Object)} and
+     * {@link Object#hashCode()}. Calls with a {@code null} argument are never
+     * coalesced. A waiting caller that is interrupted gets an
+     * {@link InterruptedException}, without affecting the call in flight.</p>
+     *
+     * @return a coalescing version of this function
+     * @see #memoize(CachePolicy)
+     */
+    public default XFunction<T, R> coalescing() {
+        Coalescer<T, R> coalescer = new Coalescer<>(this);
+        return coalescer::apply;
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The {@code int} result is never boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XToIntFunction<T> andThenAsInt(XToIntFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return t -> after.applyAsInt(apply(t));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The {@code long} result is never boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XToLongFunction<T> andThenAsLong(XToLongFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return t -> after.applyAsLong(apply(t));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The {@code double} result is never boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XToDoubleFunction<T> andThenAsDouble(XToDoubleFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return t -> after.applyAsDouble(apply(t));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The {@code char} result is never boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XToCharFunction<T> andThenAsChar(XToCharFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return t -> after.applyAsChar(apply(t));
+    }
+
     /**
      * Wraps a standard {@link Function} into a {@code XFunction}.
      * @param toWrap the {@link Function} which will be wrapped
@@ -0,0 +1,240 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for chaining exception-friendly functional interfaces onto
+ * {@link CompletionStage}s.
+ *
+ * <p>The {@link CompletableFuture}s returned by the methods of this class and
+ * by the {@code async()} adapters of the X* interfaces complete exceptionally
+ * with the original {@link Throwable} thrown by the lambda, which is never
+ * wrapped into a {@link WrapperException}. Failures coming from upstream
+ * stages are relayed after removing the {@link CompletionException} that
+ * {@link CompletableFuture} adds to the failures of dependent stages.</p>
+ *
+ * @see XSupplier#async()
+ * @see XFunction#async()
+ * @see XBiFunction#async()
+ * @see XRunnable#async()
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class XFutures {
+
+    /**
+     * Prevents instantiation.
+     */
+    private XFutures() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Removes the wrappers that {@link CompletableFuture} puts around failures.
+     * @param x the failure, possibly wrapped
+     * @return the original failure
+     */
+    private static Throwable unwrap(Throwable x) {
+        Throwable t = x;
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+
+    /**
+     * Starts applying a function in an executor.
+     * @param <T> the type of the first argument
+     * @param <U> the type of the second argument
+     * @param <R> the type of the result
+     * @param executor where the function is applied
+     * @param f the function
+     * @param t the first argument
+     * @param u the second argument
+     * @return a future completed with the outcome of the function
+     */
+    static <T, U, R> CompletableFuture<R> start(Executor executor, XBiFunction<? super T, ? super U, ? extends R> f, T t, U u) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) return;
+            try {
+                future.complete(f.apply(t, u));
+            } catch (Throwable x) {
+                future.completeExceptionally(x);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns a new stage which is completed with the result of the given function
+     * applied to the result of the given stage.
+     *
+     * @param <T> the type of the result of {@code stage}
+     * @param <U> the type of the result of the returned stage
+     * @param stage the stage to be chained
+     * @param fn the function applied once {@code stage} completes normally
+     * @return the new stage, completed exceptionally with the original failure
+     *     if either {@code stage} or {@code fn} fails
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T, U> CompletableFuture<U> thenApplyX(
+            CompletionStage<? extends T> stage,
+            XFunction<? super T, ? extends U> fn)
+    {
+        Objects.requireNonNull(stage, "stage");
+        Objects.requireNonNull(fn, "fn");
+        CompletableFuture<U> result = new CompletableFuture<>();
+        stage.whenComplete((v, x) -> {
+            if (x != null) {
+                result.completeExceptionally(unwrap(x));
+                return;
+            }
+            try {
+                result.complete(fn.apply(v));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns a new stage which is completed after the given consumer
+     * accepts the result of the given stage.
+     *
+     * @param <T> the type of the result of {@code stage}
+     * @param stage the stage to be chained
+     * @param action the consumer applied once {@code stage} completes normally
+     * @return the new stage, completed exceptionally with the original failure
+     *     if either {@code stage} or {@code action} fails
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T> CompletableFuture<Void> thenAcceptX(CompletionStage<? extends T> stage, XConsumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        return thenApplyX(stage, v -> {
+            action.accept(v);
+            return null;
+        });
+    }
+
+    /**
+     * Returns a new stage which is completed after the given task runs,
+     * once the given stage completes normally.
+     *
+     * @param stage the stage to be chained
+     * @param action the task run once {@code stage} completes normally
+     * @return the new stage, completed exceptionally with the original failure
+     *     if either {@code stage} or {@code action} fails
+     * @throws NullPointerException if any parameter is null
+     */
+    public static CompletableFuture<Void> thenRunX(CompletionStage<?> stage, XRunnable action) {
+        Objects.requireNonNull(action, "action");
+        return thenApplyX(stage, v -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns a new stage which is completed with the same outcome as the stage
+     * given by the function applied to the result of the given stage.
+     *
+     * @param <T> the type of the result of {@code stage}
+     * @param <U> the type of the result of the returned stage
+     * @param stage the stage to be chained
+     * @param fn the function giving the next stage once {@code stage} completes normally
+     * @return the new stage, completed exceptionally with the original failure
+     *     if {@code stage}, {@code fn} or the stage given by {@code fn} fails
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T, U> CompletableFuture<U> thenComposeX(
+            CompletionStage<? extends T> stage,
+            XFunction<? super T, ? extends CompletionStage<? extends U>> fn)
+    {
+        Objects.requireNonNull(stage, "stage");
+        Objects.requireNonNull(fn, "fn");
+        CompletableFuture<U> result = new CompletableFuture<>();
+        stage.whenComplete((v, x) -> {
+            if (x != null) {
+                result.completeExceptionally(unwrap(x));
+                return;
+            }
+            CompletionStage<? extends U> next;
+            try {
+                next = Objects.requireNonNull(fn.apply(v), "The function gave a null stage.");
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            next.whenComplete((u, y) -> {
+                if (y != null) {
+                    result.completeExceptionally(unwrap(y));
+                } else {
+                    result.complete(u);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Returns a new stage which is completed with the result of the given stage if
+     * it completes normally, or with the result of the given function applied to
+     * the original failure otherwise.
+     *
+     * @param <T> the type of the result of {@code stage}
+     * @param stage the stage to be chained
+     * @param fn the function applied to the failure if {@code stage} fails
+     * @return the new stage, completed exceptionally with the original failure if {@code fn} fails
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T> CompletableFuture<T> exceptionallyX(
+            CompletionStage<? extends T> stage,
+            XFunction<? super Throwable, ? extends T> fn)
+    {
+        Objects.requireNonNull(stage, "stage");
+        Objects.requireNonNull(fn, "fn");
+        CompletableFuture<T> result = new CompletableFuture<>();
+        stage.whenComplete((v, x) -> {
+            if (x == null) {
+                result.complete(v);
+                return;
+            }
+            try {
+                result.complete(fn.apply(unwrap(x)));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for a future to complete and gives its result, throwing the original
+     * failure instead of an {@link ExecutionException} or a {@link CompletionException}.
+     *
+     * @param <T> the type of the result
+     * @param future the future
+     * @return the result of the future
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     * @throws java.util.concurrent.CancellationException if the future was cancelled
+     * @throws Throwable the original failure of the future
+     * @throws NullPointerException if {@code future} is null
+     */
+    public static <T> T await(Future<? extends T> future) throws Throwable {
+        Objects.requireNonNull(future, "future");
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Represents an operation upon two {@code int}-valued operands and producing a
+ * {@code int}-valued result that might throw any exception. This is both the
+ * {@code int} primitive specialization of
+ * {@link java.util.function.BinaryOperator BinaryOperator} and the
+ * exception-friendly specialization of {@link IntBinaryOperator}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #applyAsInt(int, int)}.</p>
+ *
+ * @see java.util.function.BinaryOperator
+ * @see IntBinaryOperator
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+@FunctionalInterface
+public interface XIntBinaryOperator {
+
+    /**
+     * Applies this operator to the given operands.
+     *
+     * @param left the first operand
+     * @param right the second operand
+     * @return the operator result
+     * @throws Throwable the exception that might be propagated
+     */
+    public int applyAsInt(int left, int right) throws Throwable;
+
+    /**
+     * Unwraps this object into a standard {@link IntBinaryOperator}.
+     * Any exception which might be thrown by the returned operator
+     * will be wrapped up into an {@link WrapperException}.
+     * @return An unwrapped standard {@link IntBinaryOperator}
+     */
+    public default IntBinaryOperator unchecked() {
+        return (left, right) -> {
+            try {
+                return applyAsInt(left, right);
+            } catch (Throwable x) {
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link IntBinaryOperator}.
+     * Any exception which might be thrown by the returned operator
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link IntBinaryOperator}
+     */
+    public default IntBinaryOperator sneaky() {
+        return (left, right) -> {
+            try {
+                return applyAsInt(left, right);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns an operator that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntBinaryOperator timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return (left, right) -> {
+            long start = System.nanoTime();
+            try {
+                return applyAsInt(left, right);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns an operator that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntBinaryOperator counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return (left, right) -> {
+            counter.increment();
+            return applyAsInt(left, right);
+        };
+    }
+
+    /**
+     * Returns an operator that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this operator, or this very operator if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntBinaryOperator failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return (left, right) -> {
+            try {
+                return applyAsInt(left, right);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a operator that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this operator is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this operator
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XIntBinaryOperator guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return (left, right) -> {
+            guard.enter();
+            try {
+                return applyAsInt(left, right);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Wraps a standard {@link IntBinaryOperator} into a {@code XIntBinaryOperator}.
+     * @param toWrap the {@link IntBinaryOperator} which will be wrapped
+     * @return {@code toWrap} wrapped as a {@code XIntBinaryOperator}.
+     * @throws NullPointerException if {@code toWrap} is null
+     */
+    public static XIntBinaryOperator wrap(IntBinaryOperator toWrap) {
+        Objects.requireNonNull(toWrap, "toWrap");
+        return toWrap::applyAsInt;
+    }
+}
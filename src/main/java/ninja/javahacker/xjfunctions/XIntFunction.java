@@ -44,11 +44,279 @@ public interface XIntFunction<R> {
             try {
                 return apply(value);
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
             }
         };
     }
 
+    /**
+     * Unwraps this object into a standard {@link IntFunction}.
+     * Any exception which might be thrown by the returned function
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link IntFunction}
+     */
+    public default IntFunction<R> sneaky() {
+        return value -> {
+            try {
+                return apply(value);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that caches the results of this function according
+     * to the given policy. Concurrent callers are allowed.
+     *
+     * <p>The arguments are kept in an open-addressing table of primitive
+     * {@code int}s, so they are never boxed. Since each argument might only be
+     * stored among a few slots near its hash position, eviction is made by the
+     * CLOCK approximation of LRU within those slots, and the
+     * {@linkplain CachePolicy#getEviction() eviction} of the policy is ignored.</p>
+     *
+     * <p>If this function throws, the exception is relayed to the caller and,
+     * unless the policy says that failures should be cached, nothing is
+     * cached, so the next call with the same argument tries again.
+     * {@code null} results are supported.</p>
+     *
+     * @param policy how the results are cached
+     * @return a memoized version of this function
+     * @throws NullPointerException if {@code policy} is null
+     * @see #memoizeDense(int, int)
+     */
+    public default XIntFunction<R> memoize(CachePolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        IntKeyedCache<R> cache = new IntKeyedCache<>(policy);
+        return value -> cache.get(value, this);
+    }
+
+    /**
+     * Returns a function that caches the results of this function for every
+     * argument in a small contiguous range, using a plain array indexed by the
+     * argument. Concurrent callers are allowed. Nothing is ever evicted, and
+     * arguments outside of the range are passed through to this function
+     * without being cached.
+     *
+     * <p>If this function throws, the exception is relayed to the caller and
+     * nothing is cached. {@code null} results are supported.</p>
+     *
+     * @param fromInclusive the smallest cached argument
+     * @param toExclusive the largest cached argument, plus one
+     * @return a memoized version of this function
+     * @throws IllegalArgumentException if the range is empty or too large to fit in an array
+     */
+    public default XIntFunction<R> memoizeDense(int fromInclusive, int toExclusive) {
+        long size = (long) toExclusive - fromInclusive;
+        if (size <= 0L) throw new IllegalArgumentException("The range is empty.");
+        if (size > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("The range is too large.");
+        DenseIntCache<R> cache = new DenseIntCache<>(fromInclusive, toExclusive);
+        return value -> cache.get(value, this);
+    }
+
+    /**
+     * Applies this function to each element of the given array, in order.
+     * The arguments are read straight from the primitive array, so nothing is boxed.
+     *
+     * @param values the function arguments
+     * @param generator creates the array of the results, given its length
+     * @return a new array with the function results, in the same order as {@code values}
+     * @throws NullPointerException if any parameter is null
+     * @throws Throwable the first exception propagated by this function, which
+     *     is not applied to the remaining elements
+     */
+    public default R[] applyAll(int[] values, IntFunction<R[]> generator) throws Throwable {
+        Objects.requireNonNull(values, "values");
+        Objects.requireNonNull(generator, "generator");
+        R[] results = generator.apply(values.length);
+        for (int i = 0; i < values.length; i++) {
+            results[i] = apply(values[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Returns a function that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntFunction<R> timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return value -> {
+            long start = System.nanoTime();
+            try {
+                return apply(value);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntFunction<R> counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            counter.increment();
+            return apply(value);
+        };
+    }
+
+    /**
+     * Returns a function that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this function, or this very function if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntFunction<R> failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            try {
+                return apply(value);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a function that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this function is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this function
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XIntFunction<R> guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return value -> {
+            guard.enter();
+            try {
+                return apply(value);
+            } finally {
+                guard.exit();
+            }
+        };
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The {@code int} input is never boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param <V> the type of output of the {@code after} function, and of the
+     *           composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default <V> XIntFunction<V> andThen(XFunction<? super R, ? extends V> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.apply(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code int} input nor the {@code int} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XIntUnaryOperator andThenAsInt(XToIntFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsInt(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code int} input nor the {@code long} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XIntToLongFunction andThenAsLong(XToLongFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsLong(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code int} input nor the {@code double} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XIntToDoubleFunction andThenAsDouble(XToDoubleFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsDouble(apply(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * Neither the {@code int} input nor the {@code char} result is ever boxed.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     *     applies the {@code after} function
+     * @throws NullPointerException if {@code after} is null
+     */
+    public default XIntToCharFunction andThenAsChar(XToCharFunction<? super R> after) {
+        Objects.requireNonNull(after, "after");
+        return value -> after.applyAsChar(apply(value));
+    }
+
     /**
      * Wraps a standard {@link IntFunction} into a {@code XIntFunction}.
      * @param toWrap the {@link IntFunction} which will be wrapped
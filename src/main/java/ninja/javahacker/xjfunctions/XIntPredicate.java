@@ -1,5 +1,7 @@
 package ninja.javahacker.xjfunctions;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.function.IntPredicate;
 
@@ -50,7 +52,7 @@ public interface XIntPredicate {
      */
     public default XIntPredicate and(IntPredicate other) {
         Objects.requireNonNull(other, "other");
-        return (value) -> test(value) && other.test(value);
+        return allOf(this, other::test);
     }
 
     /**
@@ -82,7 +84,7 @@ public interface XIntPredicate {
      */
     public default XIntPredicate or(IntPredicate other) {
         Objects.requireNonNull(other);
-        return (value) -> test(value) || other.test(value);
+        return anyOf(this, other::test);
     }
 
     /**
@@ -96,7 +98,118 @@ public interface XIntPredicate {
             try {
                 return test(value);
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link IntPredicate}.
+     * Any exception which might be thrown by the returned predicate
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link IntPredicate}
+     */
+    public default IntPredicate sneaky() {
+        return value -> {
+            try {
+                return test(value);
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a predicate that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this predicate, or this very predicate if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntPredicate timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return value -> {
+            long start = System.nanoTime();
+            try {
+                return test(value);
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a predicate that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this predicate, or this very predicate if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntPredicate counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            counter.increment();
+            return test(value);
+        };
+    }
+
+    /**
+     * Returns a predicate that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this predicate, or this very predicate if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XIntPredicate failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return value -> {
+            try {
+                return test(value);
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a predicate that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this predicate is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this predicate
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XIntPredicate guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return value -> {
+            guard.enter();
+            try {
+                return test(value);
+            } finally {
+                guard.exit();
             }
         };
     }
@@ -111,4 +224,74 @@ public interface XIntPredicate {
         Objects.requireNonNull(toWrap, "toWrap");
         return toWrap::test;
     }
+
+    /**
+     * Returns a predicate that represents the short-circuiting logical AND
+     * of the given predicates, evaluated in the given order. If there are no
+     * predicates, the returned predicate is always {@code true}.
+     *
+     * <p>Differently from a chain of {@link #and(IntPredicate)} calls built
+     * from lambdas, which nests one level deeper for each predicate, the
+     * returned predicate keeps all of them in a single array evaluated by a
+     * single loop. Predicates built by this method are spliced in instead of
+     * nested, further calls to {@code and} on the returned predicate keep it
+     * flat and its {@link #negate()} just flips a flag, so long rule chains
+     * don't turn into deep call trees.</p>
+     *
+     * @param predicates the predicates to combine
+     * @return the short-circuiting logical AND of the given predicates
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     */
+    public static XIntPredicate allOf(XIntPredicate... predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+        return PredicateChains.IntChain.of(Arrays.asList(predicates), false);
+    }
+
+    /**
+     * Returns a predicate that represents the short-circuiting logical AND
+     * of the given predicates, evaluated in iteration order.
+     *
+     * @param predicates the predicates to combine
+     * @return the short-circuiting logical AND of the given predicates
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     * @see #allOf(XIntPredicate...)
+     */
+    public static XIntPredicate allOf(Collection<? extends XIntPredicate> predicates) {
+        return PredicateChains.IntChain.of(predicates, false);
+    }
+
+    /**
+     * Returns a predicate that represents the short-circuiting logical OR
+     * of the given predicates, evaluated in the given order. If there are no
+     * predicates, the returned predicate is always {@code false}.
+     *
+     * <p>Differently from a chain of {@link #or(IntPredicate)} calls built
+     * from lambdas, which nests one level deeper for each predicate, the
+     * returned predicate keeps all of them in a single array evaluated by a
+     * single loop. Predicates built by this method are spliced in instead of
+     * nested, further calls to {@code or} on the returned predicate keep it
+     * flat and its {@link #negate()} just flips a flag, so long rule chains
+     * don't turn into deep call trees.</p>
+     *
+     * @param predicates the predicates to combine
+     * @return the short-circuiting logical OR of the given predicates
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     */
+    public static XIntPredicate anyOf(XIntPredicate... predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+        return PredicateChains.IntChain.of(Arrays.asList(predicates), true);
+    }
+
+    /**
+     * Returns a predicate that represents the short-circuiting logical OR
+     * of the given predicates, evaluated in iteration order.
+     *
+     * @param predicates the predicates to combine
+     * @return the short-circuiting logical OR of the given predicates
+     * @throws NullPointerException if {@code predicates} or any of its elements is null
+     * @see #anyOf(XIntPredicate...)
+     */
+    public static XIntPredicate anyOf(Collection<? extends XIntPredicate> predicates) {
+        return PredicateChains.IntChain.of(predicates, true);
+    }
 }
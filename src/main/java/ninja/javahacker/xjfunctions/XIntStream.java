@@ -0,0 +1,545 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.IntSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * A facade over a {@link IntStream} whose operations accept the exception-friendly
+ * functional interfaces of this package directly.
+ * This is the {@code int} primitive specialization of {@link XStream}.
+ *
+ * <p>All the stages of a pipeline, including the ones reached through
+ * {@link #mapToObj(XIntFunction)} or {@link #boxed()}, share a single
+ * failure channel. When any lambda given to the pipeline throws, the failure is
+ * recorded, the remaining elements are skipped and the terminal operation
+ * rethrows the original {@link Throwable}, unchanged.</p>
+ *
+ * <p>Like {@link IntStream}, a {@code XIntStream} should be operated on only once.</p>
+ *
+ * @see IntStream
+ * @see XStream
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class XIntStream implements AutoCloseable {
+
+    /**
+     * The underlying stream.
+     */
+    private final IntStream stream;
+
+    /**
+     * The failure channel shared by every stage of this pipeline.
+     */
+    private final FailureChannel channel;
+
+    /**
+     * Sole constructor.
+     * @param stream the underlying stream
+     * @param channel the failure channel shared by every stage of the pipeline
+     */
+    XIntStream(IntStream stream, FailureChannel channel) {
+        this.stream = stream;
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a {@code XIntStream} backed by the given {@link IntStream}.
+     *
+     * @param stream the underlying stream
+     * @return the new stream
+     * @throws NullPointerException if {@code stream} is null
+     */
+    public static XIntStream from(IntStream stream) {
+        Objects.requireNonNull(stream, "stream");
+        return new XIntStream(stream, new FailureChannel());
+    }
+
+    /**
+     * Returns a sequential ordered stream whose elements are the specified values.
+     *
+     * @param values the elements of the new stream
+     * @return the new stream
+     * @throws NullPointerException if {@code values} is null
+     */
+    public static XIntStream of(int... values) {
+        Objects.requireNonNull(values, "values");
+        return from(IntStream.of(values));
+    }
+
+    /**
+     * Returns a sequential ordered stream from {@code startInclusive}
+     * (inclusive) to {@code endExclusive} (exclusive) by an incremental step of {@code 1}.
+     *
+     * @param startInclusive the (inclusive) initial value
+     * @param endExclusive the exclusive upper bound
+     * @return the new stream
+     * @see IntStream#range(int, int)
+     */
+    public static XIntStream range(int startInclusive, int endExclusive) {
+        return from(IntStream.range(startInclusive, endExclusive));
+    }
+
+    /**
+     * Returns a sequential ordered stream from {@code startInclusive}
+     * (inclusive) to {@code endInclusive} (inclusive) by an incremental step of {@code 1}.
+     *
+     * @param startInclusive the (inclusive) initial value
+     * @param endInclusive the inclusive upper bound
+     * @return the new stream
+     * @see IntStream#rangeClosed(int, int)
+     */
+    public static XIntStream rangeClosed(int startInclusive, int endInclusive) {
+        return from(IntStream.rangeClosed(startInclusive, endInclusive));
+    }
+
+    /**
+     * Runs a terminal operation on the underlying stream.
+     * @param <R> the type of the result
+     * @param op the terminal operation
+     * @return the result of the terminal operation
+     * @throws Throwable the original failure of any stage of the pipeline
+     */
+    private <R> R terminal(Function<IntStream, R> op) throws Throwable {
+        try {
+            return op.apply(stream);
+        } catch (RuntimeException e) {
+            throw channel.unwrap(e);
+        }
+    }
+
+    /**
+     * Returns whether the terminal operation would execute in parallel.
+     *
+     * @return {@code true} if this stream is parallel
+     */
+    public boolean isParallel() {
+        return stream.isParallel();
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel.
+     *
+     * @return a parallel stream
+     */
+    public XIntStream parallel() {
+        return new XIntStream(stream.parallel(), channel);
+    }
+
+    /**
+     * Returns an equivalent stream that is sequential.
+     *
+     * @return a sequential stream
+     */
+    public XIntStream sequential() {
+        return new XIntStream(stream.sequential(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream that match the given predicate.
+     *
+     * @param predicate the predicate to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code predicate} is null
+     * @see IntStream#filter(java.util.function.IntPredicate)
+     */
+    public XIntStream filter(XIntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new XIntStream(stream.filter(channel.intPredicate(predicate)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given operator
+     * to the elements of this stream.
+     *
+     * @param mapper the operator to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see IntStream#map(java.util.function.IntUnaryOperator)
+     */
+    public XIntStream map(XIntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XIntStream(stream.map(channel.intUnaryOperator(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XLongStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see IntStream#mapToLong(java.util.function.IntToLongFunction)
+     */
+    public XLongStream mapToLong(XIntToLongFunction mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XLongStream(stream.mapToLong(channel.intToLong(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XDoubleStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see IntStream#mapToDouble(java.util.function.IntToDoubleFunction)
+     */
+    public XDoubleStream mapToDouble(XIntToDoubleFunction mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XDoubleStream(stream.mapToDouble(channel.intToDouble(mapper)), channel);
+    }
+
+    /**
+     * Returns an object-valued {@link XStream} consisting of the results of
+     * applying the given function to the elements of this stream.
+     *
+     * @param <U> the element type of the new stream
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see IntStream#mapToObj(java.util.function.IntFunction)
+     */
+    public <U> XStream<U> mapToObj(XIntFunction<? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XStream<>(stream.<U>mapToObj(channel.intFunction(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XStream} consisting of the elements of this stream, boxed.
+     *
+     * @return the new stream
+     * @see IntStream#boxed()
+     */
+    public XStream<Integer> boxed() {
+        return new XStream<>(stream.boxed(), channel);
+    }
+
+    /**
+     * Returns a {@link XLongStream} consisting of the elements of this stream, converted to {@code long}.
+     *
+     * @return the new stream
+     * @see IntStream#asLongStream()
+     */
+    public XLongStream asLongStream() {
+        return new XLongStream(stream.asLongStream(), channel);
+    }
+
+    /**
+     * Returns a {@link XDoubleStream} consisting of the elements of this stream, converted to {@code double}.
+     *
+     * @return the new stream
+     * @see IntStream#asDoubleStream()
+     */
+    public XDoubleStream asDoubleStream() {
+        return new XDoubleStream(stream.asDoubleStream(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * performing the provided action on each element as elements are consumed.
+     *
+     * @param action the action to perform on the elements
+     * @return the new stream
+     * @throws NullPointerException if {@code action} is null
+     * @see IntStream#peek(java.util.function.IntConsumer)
+     */
+    public XIntStream peek(XIntConsumer action) {
+        Objects.requireNonNull(action, "action");
+        return new XIntStream(stream.peek(channel.intConsumer(action)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the distinct elements of this stream.
+     *
+     * @return the new stream
+     * @see IntStream#distinct()
+     */
+    public XIntStream distinct() {
+        return new XIntStream(stream.distinct(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream in sorted order.
+     *
+     * @return the new stream
+     * @see IntStream#sorted()
+     */
+    public XIntStream sorted() {
+        return new XIntStream(stream.sorted(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, truncated
+     * to be no longer than {@code maxSize} in length.
+     *
+     * @param maxSize the number of elements the stream should be limited to
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     * @see IntStream#limit(long)
+     */
+    public XIntStream limit(long maxSize) {
+        return new XIntStream(stream.limit(maxSize), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the remaining elements of this stream
+     * after discarding the first {@code n} elements of the stream.
+     *
+     * @param n the number of leading elements to skip
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @see IntStream#skip(long)
+     */
+    public XIntStream skip(long n) {
+        return new XIntStream(stream.skip(n), channel);
+    }
+
+    /**
+     * Performs an action for each element of this stream.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#forEach(java.util.function.IntConsumer)
+     */
+    public void forEach(XIntConsumer action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEach(channel.intConsumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs an action for each element of this stream, guaranteeing that
+     * each element is processed in encounter order for streams that have a
+     * defined encounter order.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#forEachOrdered(java.util.function.IntConsumer)
+     */
+    public void forEachOrdered(XIntConsumer action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEachOrdered(channel.intConsumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using the provided
+     * identity value and an associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param identity the identity value for the accumulating function
+     * @param op an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#reduce(int, java.util.function.IntBinaryOperator)
+     */
+    public int reduce(int identity, XIntBinaryOperator op) throws Throwable {
+        Objects.requireNonNull(op, "op");
+        return terminal(s -> s.reduce(identity, channel.intBinaryOperator(op)));
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using an
+     * associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param op an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return an {@link OptionalInt} describing the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#reduce(java.util.function.IntBinaryOperator)
+     */
+    public OptionalInt reduce(XIntBinaryOperator op) throws Throwable {
+        Objects.requireNonNull(op, "op");
+        return terminal(s -> s.reduce(channel.intBinaryOperator(op)));
+    }
+
+    /**
+     * Returns an array containing the elements of this stream.
+     * This is a terminal operation.
+     *
+     * @return an array containing the elements of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#toArray()
+     */
+    public int[] toArray() throws Throwable {
+        return terminal(IntStream::toArray);
+    }
+
+    /**
+     * Returns the sum of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the sum of elements in this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#sum()
+     */
+    public int sum() throws Throwable {
+        return terminal(IntStream::sum);
+    }
+
+    /**
+     * Returns an {@link OptionalInt} describing the minimum element of this
+     * stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalInt} containing the minimum element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#min()
+     */
+    public OptionalInt min() throws Throwable {
+        return terminal(IntStream::min);
+    }
+
+    /**
+     * Returns an {@link OptionalInt} describing the maximum element of this
+     * stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalInt} containing the maximum element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#max()
+     */
+    public OptionalInt max() throws Throwable {
+        return terminal(IntStream::max);
+    }
+
+    /**
+     * Returns the count of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the count of elements in this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#count()
+     */
+    public long count() throws Throwable {
+        return terminal(IntStream::count);
+    }
+
+    /**
+     * Returns an {@link OptionalDouble} describing the arithmetic mean of the
+     * elements of this stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalDouble} containing the average element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#average()
+     */
+    public OptionalDouble average() throws Throwable {
+        return terminal(IntStream::average);
+    }
+
+    /**
+     * Returns a {@link IntSummaryStatistics} describing various summary data about the
+     * elements of this stream.
+     * This is a terminal operation.
+     *
+     * @return a {@link IntSummaryStatistics} describing various summary data about the
+     *     elements of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#summaryStatistics()
+     */
+    public IntSummaryStatistics summaryStatistics() throws Throwable {
+        return terminal(IntStream::summaryStatistics);
+    }
+
+    /**
+     * Returns whether any element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if any element matches the predicate, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#anyMatch(java.util.function.IntPredicate)
+     */
+    public boolean anyMatch(XIntPredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.anyMatch(channel.intPredicate(predicate)));
+    }
+
+    /**
+     * Returns whether all elements of this stream match the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if all the elements match the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#allMatch(java.util.function.IntPredicate)
+     */
+    public boolean allMatch(XIntPredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.allMatch(channel.intPredicate(predicate)));
+    }
+
+    /**
+     * Returns whether no element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if no element matches the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#noneMatch(java.util.function.IntPredicate)
+     */
+    public boolean noneMatch(XIntPredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.noneMatch(channel.intPredicate(predicate)));
+    }
+
+    /**
+     * Returns an {@link OptionalInt} describing the first element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link OptionalInt} describing the first element of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#findFirst()
+     */
+    public OptionalInt findFirst() throws Throwable {
+        return terminal(IntStream::findFirst);
+    }
+
+    /**
+     * Returns an {@link OptionalInt} describing some element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link OptionalInt} describing some element of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see IntStream#findAny()
+     */
+    public OptionalInt findAny() throws Throwable {
+        return terminal(IntStream::findAny);
+    }
+
+    /**
+     * Closes the underlying stream, causing all of its close handlers to be called.
+     * @see IntStream#close()
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,535 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+/**
+ * A facade over a {@link LongStream} whose operations accept the exception-friendly
+ * functional interfaces of this package directly.
+ * This is the {@code long} primitive specialization of {@link XStream}.
+ *
+ * <p>All the stages of a pipeline, including the ones reached through
+ * {@link #mapToObj(XLongFunction)} or {@link #boxed()}, share a single
+ * failure channel. When any lambda given to the pipeline throws, the failure is
+ * recorded, the remaining elements are skipped and the terminal operation
+ * rethrows the original {@link Throwable}, unchanged.</p>
+ *
+ * <p>Like {@link LongStream}, a {@code XLongStream} should be operated on only once.</p>
+ *
+ * @see LongStream
+ * @see XStream
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class XLongStream implements AutoCloseable {
+
+    /**
+     * The underlying stream.
+     */
+    private final LongStream stream;
+
+    /**
+     * The failure channel shared by every stage of this pipeline.
+     */
+    private final FailureChannel channel;
+
+    /**
+     * Sole constructor.
+     * @param stream the underlying stream
+     * @param channel the failure channel shared by every stage of the pipeline
+     */
+    XLongStream(LongStream stream, FailureChannel channel) {
+        this.stream = stream;
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a {@code XLongStream} backed by the given {@link LongStream}.
+     *
+     * @param stream the underlying stream
+     * @return the new stream
+     * @throws NullPointerException if {@code stream} is null
+     */
+    public static XLongStream from(LongStream stream) {
+        Objects.requireNonNull(stream, "stream");
+        return new XLongStream(stream, new FailureChannel());
+    }
+
+    /**
+     * Returns a sequential ordered stream whose elements are the specified values.
+     *
+     * @param values the elements of the new stream
+     * @return the new stream
+     * @throws NullPointerException if {@code values} is null
+     */
+    public static XLongStream of(long... values) {
+        Objects.requireNonNull(values, "values");
+        return from(LongStream.of(values));
+    }
+
+    /**
+     * Returns a sequential ordered stream from {@code startInclusive}
+     * (inclusive) to {@code endExclusive} (exclusive) by an incremental step of {@code 1}.
+     *
+     * @param startInclusive the (inclusive) initial value
+     * @param endExclusive the exclusive upper bound
+     * @return the new stream
+     * @see LongStream#range(long, long)
+     */
+    public static XLongStream range(long startInclusive, long endExclusive) {
+        return from(LongStream.range(startInclusive, endExclusive));
+    }
+
+    /**
+     * Returns a sequential ordered stream from {@code startInclusive}
+     * (inclusive) to {@code endInclusive} (inclusive) by an incremental step of {@code 1}.
+     *
+     * @param startInclusive the (inclusive) initial value
+     * @param endInclusive the inclusive upper bound
+     * @return the new stream
+     * @see LongStream#rangeClosed(long, long)
+     */
+    public static XLongStream rangeClosed(long startInclusive, long endInclusive) {
+        return from(LongStream.rangeClosed(startInclusive, endInclusive));
+    }
+
+    /**
+     * Runs a terminal operation on the underlying stream.
+     * @param <R> the type of the result
+     * @param op the terminal operation
+     * @return the result of the terminal operation
+     * @throws Throwable the original failure of any stage of the pipeline
+     */
+    private <R> R terminal(Function<LongStream, R> op) throws Throwable {
+        try {
+            return op.apply(stream);
+        } catch (RuntimeException e) {
+            throw channel.unwrap(e);
+        }
+    }
+
+    /**
+     * Returns whether the terminal operation would execute in parallel.
+     *
+     * @return {@code true} if this stream is parallel
+     */
+    public boolean isParallel() {
+        return stream.isParallel();
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel.
+     *
+     * @return a parallel stream
+     */
+    public XLongStream parallel() {
+        return new XLongStream(stream.parallel(), channel);
+    }
+
+    /**
+     * Returns an equivalent stream that is sequential.
+     *
+     * @return a sequential stream
+     */
+    public XLongStream sequential() {
+        return new XLongStream(stream.sequential(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream that match the given predicate.
+     *
+     * @param predicate the predicate to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code predicate} is null
+     * @see LongStream#filter(java.util.function.LongPredicate)
+     */
+    public XLongStream filter(XLongPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new XLongStream(stream.filter(channel.longPredicate(predicate)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given operator
+     * to the elements of this stream.
+     *
+     * @param mapper the operator to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see LongStream#map(java.util.function.LongUnaryOperator)
+     */
+    public XLongStream map(XLongUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XLongStream(stream.map(channel.longUnaryOperator(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XIntStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see LongStream#mapToInt(java.util.function.LongToIntFunction)
+     */
+    public XIntStream mapToInt(XLongToIntFunction mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XIntStream(stream.mapToInt(channel.longToInt(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XDoubleStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see LongStream#mapToDouble(java.util.function.LongToDoubleFunction)
+     */
+    public XDoubleStream mapToDouble(XLongToDoubleFunction mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XDoubleStream(stream.mapToDouble(channel.longToDouble(mapper)), channel);
+    }
+
+    /**
+     * Returns an object-valued {@link XStream} consisting of the results of
+     * applying the given function to the elements of this stream.
+     *
+     * @param <U> the element type of the new stream
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see LongStream#mapToObj(java.util.function.LongFunction)
+     */
+    public <U> XStream<U> mapToObj(XLongFunction<? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XStream<>(stream.<U>mapToObj(channel.longFunction(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XStream} consisting of the elements of this stream, boxed.
+     *
+     * @return the new stream
+     * @see LongStream#boxed()
+     */
+    public XStream<Long> boxed() {
+        return new XStream<>(stream.boxed(), channel);
+    }
+
+    /**
+     * Returns a {@link XDoubleStream} consisting of the elements of this stream, converted to {@code double}.
+     *
+     * @return the new stream
+     * @see LongStream#asDoubleStream()
+     */
+    public XDoubleStream asDoubleStream() {
+        return new XDoubleStream(stream.asDoubleStream(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * performing the provided action on each element as elements are consumed.
+     *
+     * @param action the action to perform on the elements
+     * @return the new stream
+     * @throws NullPointerException if {@code action} is null
+     * @see LongStream#peek(java.util.function.LongConsumer)
+     */
+    public XLongStream peek(XLongConsumer action) {
+        Objects.requireNonNull(action, "action");
+        return new XLongStream(stream.peek(channel.longConsumer(action)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the distinct elements of this stream.
+     *
+     * @return the new stream
+     * @see LongStream#distinct()
+     */
+    public XLongStream distinct() {
+        return new XLongStream(stream.distinct(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream in sorted order.
+     *
+     * @return the new stream
+     * @see LongStream#sorted()
+     */
+    public XLongStream sorted() {
+        return new XLongStream(stream.sorted(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, truncated
+     * to be no longer than {@code maxSize} in length.
+     *
+     * @param maxSize the number of elements the stream should be limited to
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     * @see LongStream#limit(long)
+     */
+    public XLongStream limit(long maxSize) {
+        return new XLongStream(stream.limit(maxSize), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the remaining elements of this stream
+     * after discarding the first {@code n} elements of the stream.
+     *
+     * @param n the number of leading elements to skip
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @see LongStream#skip(long)
+     */
+    public XLongStream skip(long n) {
+        return new XLongStream(stream.skip(n), channel);
+    }
+
+    /**
+     * Performs an action for each element of this stream.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#forEach(java.util.function.LongConsumer)
+     */
+    public void forEach(XLongConsumer action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEach(channel.longConsumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs an action for each element of this stream, guaranteeing that
+     * each element is processed in encounter order for streams that have a
+     * defined encounter order.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#forEachOrdered(java.util.function.LongConsumer)
+     */
+    public void forEachOrdered(XLongConsumer action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEachOrdered(channel.longConsumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using the provided
+     * identity value and an associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param identity the identity value for the accumulating function
+     * @param op an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#reduce(long, java.util.function.LongBinaryOperator)
+     */
+    public long reduce(long identity, XLongBinaryOperator op) throws Throwable {
+        Objects.requireNonNull(op, "op");
+        return terminal(s -> s.reduce(identity, channel.longBinaryOperator(op)));
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using an
+     * associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param op an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return an {@link OptionalLong} describing the result of the reduction
+     * @throws NullPointerException if {@code op} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#reduce(java.util.function.LongBinaryOperator)
+     */
+    public OptionalLong reduce(XLongBinaryOperator op) throws Throwable {
+        Objects.requireNonNull(op, "op");
+        return terminal(s -> s.reduce(channel.longBinaryOperator(op)));
+    }
+
+    /**
+     * Returns an array containing the elements of this stream.
+     * This is a terminal operation.
+     *
+     * @return an array containing the elements of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#toArray()
+     */
+    public long[] toArray() throws Throwable {
+        return terminal(LongStream::toArray);
+    }
+
+    /**
+     * Returns the sum of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the sum of elements in this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#sum()
+     */
+    public long sum() throws Throwable {
+        return terminal(LongStream::sum);
+    }
+
+    /**
+     * Returns an {@link OptionalLong} describing the minimum element of this
+     * stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalLong} containing the minimum element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#min()
+     */
+    public OptionalLong min() throws Throwable {
+        return terminal(LongStream::min);
+    }
+
+    /**
+     * Returns an {@link OptionalLong} describing the maximum element of this
+     * stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalLong} containing the maximum element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#max()
+     */
+    public OptionalLong max() throws Throwable {
+        return terminal(LongStream::max);
+    }
+
+    /**
+     * Returns the count of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the count of elements in this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#count()
+     */
+    public long count() throws Throwable {
+        return terminal(LongStream::count);
+    }
+
+    /**
+     * Returns an {@link OptionalDouble} describing the arithmetic mean of the
+     * elements of this stream, or an empty optional if this stream is empty.
+     * This is a terminal operation.
+     *
+     * @return an {@link OptionalDouble} containing the average element of this
+     *     stream, or an empty optional if the stream is empty
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#average()
+     */
+    public OptionalDouble average() throws Throwable {
+        return terminal(LongStream::average);
+    }
+
+    /**
+     * Returns a {@link LongSummaryStatistics} describing various summary data about the
+     * elements of this stream.
+     * This is a terminal operation.
+     *
+     * @return a {@link LongSummaryStatistics} describing various summary data about the
+     *     elements of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#summaryStatistics()
+     */
+    public LongSummaryStatistics summaryStatistics() throws Throwable {
+        return terminal(LongStream::summaryStatistics);
+    }
+
+    /**
+     * Returns whether any element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if any element matches the predicate, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#anyMatch(java.util.function.LongPredicate)
+     */
+    public boolean anyMatch(XLongPredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.anyMatch(channel.longPredicate(predicate)));
+    }
+
+    /**
+     * Returns whether all elements of this stream match the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if all the elements match the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#allMatch(java.util.function.LongPredicate)
+     */
+    public boolean allMatch(XLongPredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.allMatch(channel.longPredicate(predicate)));
+    }
+
+    /**
+     * Returns whether no element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if no element matches the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#noneMatch(java.util.function.LongPredicate)
+     */
+    public boolean noneMatch(XLongPredicate predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.noneMatch(channel.longPredicate(predicate)));
+    }
+
+    /**
+     * Returns an {@link OptionalLong} describing the first element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link OptionalLong} describing the first element of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#findFirst()
+     */
+    public OptionalLong findFirst() throws Throwable {
+        return terminal(LongStream::findFirst);
+    }
+
+    /**
+     * Returns an {@link OptionalLong} describing some element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link OptionalLong} describing some element of this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see LongStream#findAny()
+     */
+    public OptionalLong findAny() throws Throwable {
+        return terminal(LongStream::findAny);
+    }
+
+    /**
+     * Closes the underlying stream, causing all of its close handlers to be called.
+     * @see LongStream#close()
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -1,6 +1,10 @@
 package ninja.javahacker.xjfunctions;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents a tasks that might throw any exception.
@@ -34,7 +38,192 @@ public interface XRunnable {
             try {
                 run();
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link Runnable}.
+     * Any exception which might be thrown by the returned runnable
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link Runnable}
+     */
+    public default Runnable sneaky() {
+        return () -> {
+            try {
+                run();
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a task that runs this one, retrying it according to the
+     * given policy when it fails.
+     *
+     * @param policy how the failures are retried
+     * @return a retrying version of this task
+     * @throws NullPointerException if {@code policy} is null
+     */
+    public default XRunnable retrying(RetryPolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        XFunction<Object, Object> attempt = ignored -> {
+            run();
+            return null;
+        };
+        return () -> policy.execute(attempt, null);
+    }
+
+    /**
+     * Returns a task that runs this one in another thread, waiting at most
+     * the given time for it to finish.
+     *
+     * <p>The body runs on a virtual thread if the running JDK has them, or on a
+     * pooled daemon platform thread otherwise. If it doesn't finish in time, its
+     * thread is interrupted and a {@link java.util.concurrent.TimeoutException}
+     * is thrown. If the calling thread is interrupted while waiting, the body is
+     * interrupted as well and an {@link InterruptedException} is thrown. Any
+     * failure of the body is rethrown unchanged.</p>
+     *
+     * @param timeout for how long the caller waits for the body to finish
+     * @return a time limited version of this task
+     * @throws NullPointerException if {@code timeout} is null
+     * @throws IllegalArgumentException if {@code timeout} is not positive
+     */
+    public default XRunnable withTimeout(Duration timeout) {
+        long nanos = Timeouts.toNanos(timeout);
+        XFunction<Object, Object> body = ignored -> {
+            run();
+            return null;
+        };
+        return () -> Timeouts.call(body, null, nanos);
+    }
+
+    /**
+     * Starts running this task in the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * <p>If this task throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @return a future completed once this task finishes
+     * @see XFutures
+     */
+    public default CompletableFuture<Void> async() {
+        return asyncOn(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Starts running this task in the given executor.
+     *
+     * <p>If this task throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @param executor where this task runs
+     * @return a future completed once this task finishes
+     * @throws NullPointerException if {@code executor} is null
+     * @see XFutures
+     */
+    public default CompletableFuture<Void> asyncOn(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return XFutures.start(executor, (a, b) -> {
+            run();
+            return null;
+        }, null, null);
+    }
+
+    /**
+     * Returns a task that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this task, or this very task if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XRunnable timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                run();
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a task that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this task, or this very task if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XRunnable counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return () -> {
+            counter.increment();
+            run();
+        };
+    }
+
+    /**
+     * Returns a task that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this task, or this very task if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XRunnable failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return () -> {
+            try {
+                run();
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a task that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this task is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this task
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XRunnable guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return () -> {
+            guard.enter();
+            try {
+                run();
+            } finally {
+                guard.exit();
             }
         };
     }
@@ -0,0 +1,531 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A facade over a {@link Stream} whose operations accept the exception-friendly
+ * functional interfaces of this package directly.
+ *
+ * <p>All the stages of a pipeline share a single failure channel. When any
+ * lambda given to the pipeline throws, the failure is recorded, the remaining
+ * elements are skipped and the terminal operation rethrows the original
+ * {@link Throwable}, unchanged. Differently from {@code stream.map(f.unchecked())},
+ * no {@link WrapperException} is created per failing element and the caller
+ * does not need to unwrap anything. If the stream is parallel, only the first
+ * recorded failure is rethrown.</p>
+ *
+ * <p>Like {@link Stream}, a {@code XStream} should be operated on only once.</p>
+ *
+ * @param <T> the type of the stream elements
+ *
+ * @see Stream
+ * @see XIntStream
+ * @see XLongStream
+ * @see XDoubleStream
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class XStream<T> implements AutoCloseable {
+
+    /**
+     * The underlying stream.
+     */
+    private final Stream<T> stream;
+
+    /**
+     * The failure channel shared by every stage of this pipeline.
+     */
+    private final FailureChannel channel;
+
+    /**
+     * Sole constructor.
+     * @param stream the underlying stream
+     * @param channel the failure channel shared by every stage of the pipeline
+     */
+    XStream(Stream<T> stream, FailureChannel channel) {
+        this.stream = stream;
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a {@code XStream} backed by the given {@link Stream}.
+     *
+     * @param <T> the type of the stream elements
+     * @param stream the underlying stream
+     * @return the new stream
+     * @throws NullPointerException if {@code stream} is null
+     */
+    public static <T> XStream<T> from(Stream<T> stream) {
+        Objects.requireNonNull(stream, "stream");
+        return new XStream<>(stream, new FailureChannel());
+    }
+
+    /**
+     * Returns a sequential ordered stream whose elements are the specified values.
+     *
+     * @param <T> the type of the stream elements
+     * @param values the elements of the new stream
+     * @return the new stream
+     * @throws NullPointerException if {@code values} is null
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> XStream<T> of(T... values) {
+        Objects.requireNonNull(values, "values");
+        return from(Arrays.stream(values));
+    }
+
+    /**
+     * Runs a terminal operation on the underlying stream.
+     * @param <R> the type of the result
+     * @param op the terminal operation
+     * @return the result of the terminal operation
+     * @throws Throwable the original failure of any stage of the pipeline
+     */
+    private <R> R terminal(Function<Stream<T>, R> op) throws Throwable {
+        try {
+            return op.apply(stream);
+        } catch (RuntimeException e) {
+            throw channel.unwrap(e);
+        }
+    }
+
+    /**
+     * Returns whether the terminal operation would execute in parallel.
+     *
+     * @return {@code true} if this stream is parallel
+     */
+    public boolean isParallel() {
+        return stream.isParallel();
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel.
+     *
+     * @return a parallel stream
+     */
+    public XStream<T> parallel() {
+        return new XStream<>(stream.parallel(), channel);
+    }
+
+    /**
+     * Returns an equivalent stream that is sequential.
+     *
+     * @return a sequential stream
+     */
+    public XStream<T> sequential() {
+        return new XStream<>(stream.sequential(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream that match the given predicate.
+     *
+     * @param predicate the predicate to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code predicate} is null
+     * @see Stream#filter(java.util.function.Predicate)
+     */
+    public XStream<T> filter(XPredicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new XStream<>(stream.filter(channel.predicate(predicate)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given function
+     * to the elements of this stream.
+     *
+     * @param <R> the element type of the new stream
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see Stream#map(Function)
+     */
+    public <R> XStream<R> map(XFunction<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XStream<>(stream.<R>map(channel.function(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XIntStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see Stream#mapToInt(java.util.function.ToIntFunction)
+     */
+    public XIntStream mapToInt(XToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XIntStream(stream.mapToInt(channel.toInt(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XLongStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see Stream#mapToLong(java.util.function.ToLongFunction)
+     */
+    public XLongStream mapToLong(XToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XLongStream(stream.mapToLong(channel.toLong(mapper)), channel);
+    }
+
+    /**
+     * Returns a {@link XDoubleStream} consisting of the results of applying the
+     * given function to the elements of this stream.
+     *
+     * @param mapper the function to apply to each element
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see Stream#mapToDouble(java.util.function.ToDoubleFunction)
+     */
+    public XDoubleStream mapToDouble(XToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XDoubleStream(stream.mapToDouble(channel.toDouble(mapper)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the results of replacing each element of
+     * this stream with the contents of a mapped stream produced by applying
+     * the provided mapping function to each element.
+     *
+     * @param <R> the element type of the new stream
+     * @param mapper the function to apply to each element, which produces a
+     *     stream of new values
+     * @return the new stream
+     * @throws NullPointerException if {@code mapper} is null
+     * @see Stream#flatMap(Function)
+     */
+    public <R> XStream<R> flatMap(XFunction<? super T, ? extends Stream<? extends R>> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new XStream<>(stream.<R>flatMap(channel.function(mapper)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * performing the provided action on each element as elements are consumed.
+     *
+     * @param action the action to perform on the elements
+     * @return the new stream
+     * @throws NullPointerException if {@code action} is null
+     * @see Stream#peek(java.util.function.Consumer)
+     */
+    public XStream<T> peek(XConsumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        return new XStream<>(stream.peek(channel.consumer(action)), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the distinct elements of this stream.
+     *
+     * @return the new stream
+     * @see Stream#distinct()
+     */
+    public XStream<T> distinct() {
+        return new XStream<>(stream.distinct(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, sorted
+     * according to natural order.
+     *
+     * @return the new stream
+     * @see Stream#sorted()
+     */
+    public XStream<T> sorted() {
+        return new XStream<>(stream.sorted(), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, sorted
+     * according to the provided {@link Comparator}.
+     *
+     * @param comparator the comparator used to compare the elements
+     * @return the new stream
+     * @throws NullPointerException if {@code comparator} is null
+     * @see Stream#sorted(Comparator)
+     */
+    public XStream<T> sorted(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return new XStream<>(stream.sorted(comparator), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, truncated
+     * to be no longer than {@code maxSize} in length.
+     *
+     * @param maxSize the number of elements the stream should be limited to
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     * @see Stream#limit(long)
+     */
+    public XStream<T> limit(long maxSize) {
+        return new XStream<>(stream.limit(maxSize), channel);
+    }
+
+    /**
+     * Returns a stream consisting of the remaining elements of this stream
+     * after discarding the first {@code n} elements of the stream.
+     *
+     * @param n the number of leading elements to skip
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @see Stream#skip(long)
+     */
+    public XStream<T> skip(long n) {
+        return new XStream<>(stream.skip(n), channel);
+    }
+
+    /**
+     * Performs an action for each element of this stream.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#forEach(java.util.function.Consumer)
+     */
+    public void forEach(XConsumer<? super T> action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEach(channel.consumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs an action for each element of this stream, in the encounter
+     * order of the stream if the stream has a defined encounter order.
+     * This is a terminal operation.
+     *
+     * @param action the action to perform on the elements
+     * @throws NullPointerException if {@code action} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#forEachOrdered(java.util.function.Consumer)
+     */
+    public void forEachOrdered(XConsumer<? super T> action) throws Throwable {
+        Objects.requireNonNull(action, "action");
+        terminal(s -> {
+            s.forEachOrdered(channel.consumer(action));
+            return null;
+        });
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using the provided
+     * identity value and an associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param identity the identity value for the accumulating function
+     * @param accumulator an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return the result of the reduction
+     * @throws NullPointerException if {@code accumulator} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#reduce(Object, java.util.function.BinaryOperator)
+     */
+    public T reduce(T identity, XBiFunction<T, T, T> accumulator) throws Throwable {
+        Objects.requireNonNull(accumulator, "accumulator");
+        return terminal(s -> s.reduce(identity, channel.binaryOperator(accumulator)));
+    }
+
+    /**
+     * Performs a reduction on the elements of this stream, using an
+     * associative accumulation function.
+     * This is a terminal operation.
+     *
+     * @param accumulator an associative, non-interfering and stateless
+     *     function for combining two values
+     * @return an {@link Optional} describing the result of the reduction
+     * @throws NullPointerException if {@code accumulator} is null or the result of the reduction is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#reduce(java.util.function.BinaryOperator)
+     */
+    public Optional<T> reduce(XBiFunction<T, T, T> accumulator) throws Throwable {
+        Objects.requireNonNull(accumulator, "accumulator");
+        return terminal(s -> s.reduce(channel.binaryOperator(accumulator)));
+    }
+
+    /**
+     * Performs a mutable reduction operation on the elements of this stream
+     * using a {@link Collector}.
+     * This is a terminal operation.
+     *
+     * @param <R> the type of the result
+     * @param <A> the intermediate accumulation type of the {@link Collector}
+     * @param collector the {@link Collector} describing the reduction
+     * @return the result of the reduction
+     * @throws NullPointerException if {@code collector} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#collect(Collector)
+     */
+    public <R, A> R collect(Collector<? super T, A, R> collector) throws Throwable {
+        Objects.requireNonNull(collector, "collector");
+        return terminal(s -> s.collect(collector));
+    }
+
+    /**
+     * Accumulates the elements of this stream into a {@link List}.
+     * This is a terminal operation.
+     *
+     * @return a {@link List} containing the stream elements
+     * @throws Throwable the original failure of any stage of the pipeline
+     */
+    public List<T> toList() throws Throwable {
+        return terminal(s -> s.collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns an array containing the elements of this stream, using the
+     * provided {@code generator} function to allocate the returned array.
+     * This is a terminal operation.
+     *
+     * @param <A> the element type of the resulting array
+     * @param generator a function which produces a new array of the desired type and the provided length
+     * @return an array containing the elements in this stream
+     * @throws NullPointerException if {@code generator} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#toArray(IntFunction)
+     */
+    public <A> A[] toArray(IntFunction<A[]> generator) throws Throwable {
+        Objects.requireNonNull(generator, "generator");
+        return terminal(s -> s.toArray(generator));
+    }
+
+    /**
+     * Returns the minimum element of this stream according to the provided {@link Comparator}.
+     * This is a terminal operation.
+     *
+     * @param comparator the comparator used to compare the elements
+     * @return an {@link Optional} describing the minimum element of this stream
+     * @throws NullPointerException if {@code comparator} is null or the minimum element is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#min(Comparator)
+     */
+    public Optional<T> min(Comparator<? super T> comparator) throws Throwable {
+        Objects.requireNonNull(comparator, "comparator");
+        return terminal(s -> s.min(comparator));
+    }
+
+    /**
+     * Returns the maximum element of this stream according to the provided {@link Comparator}.
+     * This is a terminal operation.
+     *
+     * @param comparator the comparator used to compare the elements
+     * @return an {@link Optional} describing the maximum element of this stream
+     * @throws NullPointerException if {@code comparator} is null or the maximum element is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#max(Comparator)
+     */
+    public Optional<T> max(Comparator<? super T> comparator) throws Throwable {
+        Objects.requireNonNull(comparator, "comparator");
+        return terminal(s -> s.max(comparator));
+    }
+
+    /**
+     * Returns the count of elements in this stream.
+     * This is a terminal operation.
+     *
+     * @return the count of elements in this stream
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#count()
+     */
+    public long count() throws Throwable {
+        return terminal(Stream::count);
+    }
+
+    /**
+     * Returns whether any element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if any element matches the predicate, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#anyMatch(java.util.function.Predicate)
+     */
+    public boolean anyMatch(XPredicate<? super T> predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.anyMatch(channel.predicate(predicate)));
+    }
+
+    /**
+     * Returns whether all elements of this stream match the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if all the elements match the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#allMatch(java.util.function.Predicate)
+     */
+    public boolean allMatch(XPredicate<? super T> predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.allMatch(channel.predicate(predicate)));
+    }
+
+    /**
+     * Returns whether no element of this stream matches the provided predicate.
+     * This is a short-circuiting terminal operation.
+     *
+     * @param predicate the predicate to apply to the elements
+     * @return {@code true} if no element matches the predicate or the
+     *     stream is empty, {@code false} otherwise
+     * @throws NullPointerException if {@code predicate} is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#noneMatch(java.util.function.Predicate)
+     */
+    public boolean noneMatch(XPredicate<? super T> predicate) throws Throwable {
+        Objects.requireNonNull(predicate, "predicate");
+        return terminal(s -> s.noneMatch(channel.predicate(predicate)));
+    }
+
+    /**
+     * Returns an {@link Optional} describing the first element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link Optional} describing the first element of this stream
+     * @throws NullPointerException if the element selected is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#findFirst()
+     */
+    public Optional<T> findFirst() throws Throwable {
+        return terminal(Stream::findFirst);
+    }
+
+    /**
+     * Returns an {@link Optional} describing some element of this stream.
+     * This is a short-circuiting terminal operation.
+     *
+     * @return an {@link Optional} describing some element of this stream
+     * @throws NullPointerException if the element selected is null
+     * @throws Throwable the original failure of any stage of the pipeline
+     * @see Stream#findAny()
+     */
+    public Optional<T> findAny() throws Throwable {
+        return terminal(Stream::findAny);
+    }
+
+    /**
+     * Closes the underlying stream, causing all of its close handlers to be called.
+     * @see Stream#close()
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
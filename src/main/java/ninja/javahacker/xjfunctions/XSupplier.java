@@ -1,6 +1,10 @@
 package ninja.javahacker.xjfunctions;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 /**
@@ -41,7 +45,198 @@ public interface XSupplier<T> {
             try {
                 return get();
             } catch (Throwable x) {
-                throw new WrapperException(x);
+                throw WrapperException.of(x);
+            }
+        };
+    }
+
+    /**
+     * Unwraps this object into a standard {@link Supplier}.
+     * Any exception which might be thrown by the returned supplier
+     * is propagated unchanged, even if it is a checked exception.
+     * Differently from {@link #unchecked()}, nothing is wrapped up,
+     * so there is no need to unwrap anything on the catching side.
+     * @return An unwrapped standard {@link Supplier}
+     */
+    public default Supplier<T> sneaky() {
+        return () -> {
+            try {
+                return get();
+            } catch (Throwable x) {
+                throw Throwables.sneakyThrow(x);
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier that calls this one, retrying it according to the
+     * given policy when it fails.
+     *
+     * @param policy how the failures are retried
+     * @return a retrying version of this supplier
+     * @throws NullPointerException if {@code policy} is null
+     */
+    public default XSupplier<T> retrying(RetryPolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        XFunction<Object, T> attempt = ignored -> get();
+        return () -> policy.execute(attempt, null);
+    }
+
+    /**
+     * Returns a supplier that calls this one in another thread, waiting at
+     * most the given time for it to finish.
+     *
+     * <p>The body runs on a virtual thread if the running JDK has them, or on a
+     * pooled daemon platform thread otherwise. If it doesn't finish in time, its
+     * thread is interrupted and a {@link java.util.concurrent.TimeoutException}
+     * is thrown. If the calling thread is interrupted while waiting, the body is
+     * interrupted as well and an {@link InterruptedException} is thrown. Any
+     * failure of the body is rethrown unchanged.</p>
+     *
+     * @param timeout for how long the caller waits for the body to finish
+     * @return a time limited version of this supplier
+     * @throws NullPointerException if {@code timeout} is null
+     * @throws IllegalArgumentException if {@code timeout} is not positive
+     */
+    public default XSupplier<T> withTimeout(Duration timeout) {
+        long nanos = Timeouts.toNanos(timeout);
+        XFunction<Object, T> body = ignored -> get();
+        return () -> Timeouts.call(body, null, nanos);
+    }
+
+    /**
+     * Starts calling this supplier in the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * <p>If this supplier throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @return a future completed with the outcome of this supplier
+     * @see XFutures
+     */
+    public default CompletableFuture<T> async() {
+        return asyncOn(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Starts calling this supplier in the given executor.
+     *
+     * <p>If this supplier throws, the future completes exceptionally with
+     * the very same {@link Throwable}, not wrapped into anything.</p>
+     *
+     * @param executor where this supplier is called
+     * @return a future completed with the outcome of this supplier
+     * @throws NullPointerException if {@code executor} is null
+     * @see XFutures
+     */
+    public default CompletableFuture<T> asyncOn(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return XFutures.start(executor, (a, b) -> get(), null, null);
+    }
+
+    /**
+     * Returns a supplier that records the duration of each call of this one,
+     * whether it succeeds or fails, in the timer with the given name.
+     *
+     * @param metrics where the durations are recorded
+     * @param name the name of the timer
+     * @return a timed version of this supplier, or this very supplier if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XSupplier<T> timed(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Timer timer = metrics.timer(name);
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return get();
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier that counts each call of this one in the counter with the given name.
+     *
+     * @param metrics where the calls are counted
+     * @param name the name of the counter
+     * @return a counted version of this supplier, or this very supplier if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XSupplier<T> counted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return () -> {
+            counter.increment();
+            return get();
+        };
+    }
+
+    /**
+     * Returns a supplier that counts each call of this one that fails in the
+     * counter with the given name. The failure is then rethrown unchanged.
+     *
+     * @param metrics where the failures are counted
+     * @param name the name of the counter
+     * @return a failure counted version of this supplier, or this very supplier if {@code metrics} is not enabled
+     * @throws NullPointerException if any parameter is null
+     * @see MetricsProvider
+     */
+    public default XSupplier<T> failureCounted(MetricsProvider metrics, String name) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(name, "name");
+        if (!metrics.isEnabled()) return this;
+        MetricsProvider.Counter counter = metrics.counter(name);
+        return () -> {
+            try {
+                return get();
+            } catch (Throwable x) {
+                counter.increment();
+                throw x;
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier that calls this one only if the given circuit breaker
+     * lets the call through, recording the outcome in the breaker.
+     *
+     * @param breaker the circuit breaker
+     * @return a guarded version of this supplier, which throws a
+     *     {@link CircuitBreakerOpenException} instead of calling this one while the breaker is open
+     * @throws NullPointerException if {@code breaker} is null
+     */
+    public default XSupplier<T> withCircuitBreaker(CircuitBreaker breaker) {
+        Objects.requireNonNull(breaker, "breaker");
+        XFunction<Object, T> body = ignored -> get();
+        return () -> breaker.execute(body, null);
+    }
+
+    /**
+     * Returns a supplier that enters the given guard before each call of this one
+     * and exits it once the call is over, whatever its outcome. If the guard
+     * rejects the call, this supplier is not called at all.
+     *
+     * @param guard decides whether the calls might go through
+     * @return a guarded version of this supplier
+     * @throws NullPointerException if {@code guard} is null
+     * @see RateLimiter
+     * @see Bulkhead
+     */
+    public default XSupplier<T> guardedBy(CallGuard guard) {
+        Objects.requireNonNull(guard, "guard");
+        return () -> {
+            guard.enter();
+            try {
+                return get();
+            } finally {
+                guard.exit();
             }
         };
     }
@@ -0,0 +1,358 @@
+package ninja.javahacker.xjfunctions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs many {@link XSupplier}s concurrently and collects their outcomes.
+ *
+ * <p>Unless an executor is given, the suppliers run on virtual threads if the
+ * running JDK has them, or on pooled daemon platform threads otherwise. At
+ * most {@code maxConcurrency} suppliers run at the same time; the others wait
+ * for their turn in the order they were given.</p>
+ *
+ * <p>Failures are never wrapped: the very same {@link Throwable} thrown by a
+ * supplier is rethrown to the caller. Suppliers that are cancelled because
+ * the outcome is already known are interrupted if running, and never started
+ * otherwise.</p>
+ *
+ * @since XJFunctions 1.0
+ * @author Victor Williams Stafusa da Silva
+ */
+public final class XSuppliers {
+
+    /**
+     * Prevents instantiation.
+     */
+    private XSuppliers() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Calls all the given suppliers concurrently and gives their results.
+     *
+     * @param <T> the type of the results
+     * @param tasks the suppliers to be called
+     * @return the results, in the same order as {@code tasks}
+     * @throws InterruptedException if the current thread is interrupted while waiting,
+     *     in which case all the suppliers are cancelled
+     * @throws Throwable the first failure of any supplier, in which case all the others are cancelled
+     * @throws NullPointerException if {@code tasks} or any of its elements is null
+     */
+    public static <T> List<T> invokeAll(List<? extends XSupplier<? extends T>> tasks) throws Throwable {
+        return invokeAll(tasks, BlockingExecutor.INSTANCE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calls all the given suppliers concurrently, at most {@code maxConcurrency}
+     * at the same time, and gives their results.
+     *
+     * @param <T> the type of the results
+     * @param tasks the suppliers to be called
+     * @param maxConcurrency the maximum number of suppliers running at the same time
+     * @return the results, in the same order as {@code tasks}
+     * @throws InterruptedException if the current thread is interrupted while waiting,
+     *     in which case all the suppliers are cancelled
+     * @throws Throwable the first failure of any supplier, in which case all the others are cancelled
+     * @throws NullPointerException if {@code tasks} or any of its elements is null
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive
+     */
+    public static <T> List<T> invokeAll(List<? extends XSupplier<? extends T>> tasks, int maxConcurrency) throws Throwable {
+        return invokeAll(tasks, BlockingExecutor.INSTANCE, maxConcurrency);
+    }
+
+    /**
+     * Calls all the given suppliers concurrently in the given executor, at most
+     * {@code maxConcurrency} at the same time, and gives their results.
+     *
+     * @param <T> the type of the results
+     * @param tasks the suppliers to be called
+     * @param executor where the suppliers are called
+     * @param maxConcurrency the maximum number of suppliers running at the same time
+     * @return the results, in the same order as {@code tasks}
+     * @throws InterruptedException if the current thread is interrupted while waiting,
+     *     in which case all the suppliers are cancelled
+     * @throws Throwable the first failure of any supplier, in which case all the others are cancelled
+     * @throws NullPointerException if any parameter or any element of {@code tasks} is null
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive
+     */
+    public static <T> List<T> invokeAll(
+            List<? extends XSupplier<? extends T>> tasks,
+            Executor executor,
+            int maxConcurrency)
+            throws Throwable
+    {
+        Invocation<T> inv = new Invocation<>(tasks, executor, maxConcurrency, false);
+        inv.await();
+        Throwable failure = inv.failure.get();
+        if (failure != null) throw failure;
+        Object[] results = new Object[inv.calls.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = inv.calls.get(i).result();
+        }
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) Arrays.asList(results);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Calls all the given suppliers concurrently and gives the result of the
+     * first one to succeed.
+     *
+     * @param <T> the type of the results
+     * @param tasks the suppliers to be called
+     * @return the result of the first supplier to succeed, after which all the others are cancelled
+     * @throws InterruptedException if the current thread is interrupted while waiting,
+     *     in which case all the suppliers are cancelled
+     * @throws Throwable the first failure, with the others added as suppressed, if every supplier fails
+     * @throws NullPointerException if {@code tasks} or any of its elements is null
+     * @throws IllegalArgumentException if {@code tasks} is empty
+     */
+    public static <T> T invokeAny(List<? extends XSupplier<? extends T>> tasks) throws Throwable {
+        return invokeAny(tasks, BlockingExecutor.INSTANCE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calls all the given suppliers concurrently, at most {@code maxConcurrency}
+     * at the same time, and gives the result of the first one to succeed.
+     *
+     * @param <T> the type of the results
+     * @param tasks the suppliers to be called
+     * @param maxConcurrency the maximum number of suppliers running at the same time
+     * @return the result of the first supplier to succeed, after which all the others are cancelled
+     * @throws InterruptedException if the current thread is interrupted while waiting,
+     *     in which case all the suppliers are cancelled
+     * @throws Throwable the first failure, with the others added as suppressed, if every supplier fails
+     * @throws NullPointerException if {@code tasks} or any of its elements is null
+     * @throws IllegalArgumentException if {@code tasks} is empty or {@code maxConcurrency} is not positive
+     */
+    public static <T> T invokeAny(List<? extends XSupplier<? extends T>> tasks, int maxConcurrency) throws Throwable {
+        return invokeAny(tasks, BlockingExecutor.INSTANCE, maxConcurrency);
+    }
+
+    /**
+     * Calls all the given suppliers concurrently in the given executor, at most
+     * {@code maxConcurrency} at the same time, and gives the result of the first
+     * one to succeed.
+     *
+     * @param <T> the type of the results
+     * @param tasks the suppliers to be called
+     * @param executor where the suppliers are called
+     * @param maxConcurrency the maximum number of suppliers running at the same time
+     * @return the result of the first supplier to succeed, after which all the others are cancelled
+     * @throws InterruptedException if the current thread is interrupted while waiting,
+     *     in which case all the suppliers are cancelled
+     * @throws Throwable the first failure, with the others added as suppressed, if every supplier fails
+     * @throws NullPointerException if any parameter or any element of {@code tasks} is null
+     * @throws IllegalArgumentException if {@code tasks} is empty or {@code maxConcurrency} is not positive
+     */
+    public static <T> T invokeAny(
+            List<? extends XSupplier<? extends T>> tasks,
+            Executor executor,
+            int maxConcurrency)
+            throws Throwable
+    {
+        if (tasks.isEmpty()) throw new IllegalArgumentException("tasks can't be empty.");
+        Invocation<T> inv = new Invocation<>(tasks, executor, maxConcurrency, true);
+        inv.await();
+        Call<T> winner = inv.winner.get();
+        if (winner != null) return winner.result();
+        Throwable first = null;
+        for (Call<T> call : inv.calls) {
+            Throwable x = call.failure();
+            if (x == null || x == first) continue;
+            if (first == null) {
+                first = x;
+            } else {
+                first.addSuppressed(x);
+            }
+        }
+        throw first;
+    }
+
+    /**
+     * A running {@code invokeAll} or {@code invokeAny}.
+     * @param <T> the type of the results
+     */
+    private static final class Invocation<T> {
+
+        /**
+         * One call per supplier, all created before any of them runs.
+         */
+        final List<Call<T>> calls;
+
+        /**
+         * The index of the next call to be run by a worker.
+         */
+        private final AtomicInteger next;
+
+        /**
+         * Counts the calls not done yet.
+         */
+        private final CountDownLatch remaining;
+
+        /**
+         * Whether this is an {@code invokeAny}.
+         */
+        private final boolean any;
+
+        /**
+         * The first failure, for {@code invokeAll}.
+         */
+        final AtomicReference<Throwable> failure;
+
+        /**
+         * The first successful call, for {@code invokeAny}.
+         */
+        final AtomicReference<Call<T>> winner;
+
+        /**
+         * Creates the calls and starts the workers.
+         * @param tasks the suppliers to be called
+         * @param executor where the workers run
+         * @param maxConcurrency the number of workers
+         * @param any whether this is an {@code invokeAny}
+         */
+        Invocation(List<? extends XSupplier<? extends T>> tasks, Executor executor, int maxConcurrency, boolean any) {
+            Objects.requireNonNull(tasks, "tasks");
+            Objects.requireNonNull(executor, "executor");
+            if (maxConcurrency <= 0) throw new IllegalArgumentException("maxConcurrency must be positive.");
+            int n = tasks.size();
+            this.calls = new ArrayList<>(n);
+            this.next = new AtomicInteger();
+            this.remaining = new CountDownLatch(n);
+            this.any = any;
+            this.failure = new AtomicReference<>();
+            this.winner = new AtomicReference<>();
+            for (XSupplier<? extends T> task : tasks) {
+                calls.add(new Call<>(Objects.requireNonNull(task, "tasks can't contain null elements."), this));
+            }
+            int workers = Math.min(maxConcurrency, n);
+            try {
+                for (int i = 0; i < workers; i++) {
+                    executor.execute(this::work);
+                }
+            } catch (RuntimeException | Error e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        /**
+         * Runs calls until there are no more of them.
+         */
+        private void work() {
+            int n = calls.size();
+            for (int i = next.getAndIncrement(); i < n; i = next.getAndIncrement()) {
+                calls.get(i).run();
+            }
+        }
+
+        /**
+         * Cancels every call, interrupting the running ones.
+         */
+        void cancelAll() {
+            for (Call<T> call : calls) {
+                call.cancel(true);
+            }
+        }
+
+        /**
+         * Waits for every call to be done.
+         * @throws InterruptedException if the current thread is interrupted while waiting
+         */
+        void await() throws InterruptedException {
+            try {
+                remaining.await();
+            } catch (InterruptedException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        /**
+         * Notified once a call is done, either by finishing or by being cancelled.
+         * @param call the call
+         */
+        void done(Call<T> call) {
+            if (!call.isCancelled()) {
+                Throwable x = call.failure();
+                boolean decided = any
+                        ? x == null && winner.compareAndSet(null, call)
+                        : x != null && failure.compareAndSet(null, x);
+                if (decided) cancelAll();
+            }
+            remaining.countDown();
+        }
+    }
+
+    /**
+     * The call of one supplier.
+     * @param <T> the type of the result
+     */
+    private static final class Call<T> extends FutureTask<T> {
+
+        /**
+         * Where the call is notified once done.
+         */
+        private final Invocation<T> owner;
+
+        /**
+         * Sole constructor.
+         * @param task the supplier to be called
+         * @param owner where the call is notified once done
+         */
+        Call(XSupplier<? extends T> task, Invocation<T> owner) {
+            super(() -> {
+                try {
+                    return task.get();
+                } catch (Throwable x) {
+                    throw Throwables.sneakyThrow(x);
+                }
+            });
+            this.owner = owner;
+        }
+
+        @Override
+        protected void done() {
+            owner.done(this);
+        }
+
+        /**
+         * Gives the result of the call, which must be done and have succeeded.
+         * @return the result of the call
+         */
+        T result() {
+            try {
+                return get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        /**
+         * Gives the failure of the call, which must be done.
+         * @return the failure of the call, or {@code null} if it succeeded or was cancelled
+         */
+        Throwable failure() {
+            try {
+                get();
+                return null;
+            } catch (ExecutionException e) {
+                return e.getCause();
+            } catch (CancellationException | InterruptedException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ninja.javahacker.xjfunctions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CircuitBreaker}.
+ * @author Victor Williams Stafusa da Silva
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    public void testOpensAfterResetUnderConcurrentCalls() throws Throwable {
+        for (int round = 0; round < 20; round++) {
+            CircuitBreaker breaker = CircuitBreaker.of(2, 0.5, Duration.ofMinutes(1));
+            XSupplier<String> success = ((XSupplier<String>) () -> "ok").withCircuitBreaker(breaker);
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread t = new Thread(() -> {
+                    while (running.get()) {
+                        success.unchecked().get();
+                    }
+                });
+                t.start();
+                threads.add(t);
+            }
+            for (int i = 0; i < 10_000; i++) {
+                breaker.reset();
+            }
+            running.set(false);
+            for (Thread t : threads) {
+                t.join();
+            }
+            XSupplier<String> failure = ((XSupplier<String>) () -> {
+                throw new IOException();
+            }).withCircuitBreaker(breaker);
+            for (int i = 0; i < 4 && breaker.getState() == CircuitBreaker.State.CLOSED; i++) {
+                try {
+                    failure.get();
+                } catch (IOException expected) {
+                    // Recorded by the breaker.
+                }
+            }
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        }
+    }
+
+    @Test
+    public void testStaleTrialDoesNotCountInTheNextHalfOpenRound() throws Throwable {
+        CircuitBreaker breaker = CircuitBreaker.of(1, 1.0, Duration.ofMillis(5)).halfOpenCalls(2);
+        CountDownLatch latch = new CountDownLatch(1);
+        XSupplier<String> failure = ((XSupplier<String>) () -> {
+            throw new IOException();
+        }).withCircuitBreaker(breaker);
+        XSupplier<String> success = ((XSupplier<String>) () -> "ok").withCircuitBreaker(breaker);
+        XSupplier<String> slow = ((XSupplier<String>) () -> {
+            latch.await();
+            return "slow";
+        }).withCircuitBreaker(breaker);
+        try {
+            failure.get();
+        } catch (IOException expected) {
+            // Opens the breaker.
+        }
+        Thread.sleep(20);
+        Thread stale = new Thread(() -> slow.unchecked().get());
+        stale.start();
+        while (breaker.getState() != CircuitBreaker.State.HALF_OPEN) {
+            Thread.sleep(1);
+        }
+        try {
+            failure.get();
+        } catch (IOException expected) {
+            // Opens the breaker again, while the slow trial is still running.
+        }
+        Thread.sleep(20);
+        success.get();
+        latch.countDown();
+        stale.join();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        success.get();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,59 @@
+package ninja.javahacker.xjfunctions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MappedTextFile}.
+ * @author Victor Williams Stafusa da Silva
+ */
+public class MappedTextFileTest {
+
+    private static final String GRINNING_FACE = new String(Character.toChars(0x1F600));
+
+    private Path file;
+
+    @BeforeEach
+    public void createFile() throws Exception {
+        file = Files.createTempFile("MappedTextFileTest", ".txt");
+    }
+
+    @AfterEach
+    public void deleteFile() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testSurrogatePairAtBufferBoundaryInLine() throws Exception {
+        String first = "a".repeat(15) + GRINNING_FACE + "b".repeat(40);
+        String second = "c".repeat(15) + GRINNING_FACE;
+        Files.writeString(file, first + "\n" + second, StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            MappedTextFile.of(file).bufferSize(16).forEachLine(line -> lines.add(line.toString()));
+        });
+        assertEquals(List.of(first, second), lines);
+    }
+
+    @Test
+    public void testSurrogatePairAtBufferBoundaryInToken() throws Exception {
+        String first = "a".repeat(15) + GRINNING_FACE + "b".repeat(40);
+        String second = "c".repeat(15) + GRINNING_FACE;
+        Files.writeString(file, first + " " + second, StandardCharsets.UTF_8);
+        List<String> tokens = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            MappedTextFile.of(file).bufferSize(16).forEachToken(CharClass.ofChars(' '), token -> tokens.add(token.toString()));
+        });
+        assertEquals(List.of(first, second), tokens);
+    }
+}